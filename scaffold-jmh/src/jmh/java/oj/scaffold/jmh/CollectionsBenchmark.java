@@ -0,0 +1,138 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.collections.IntArrayDeque;
+import oj.scaffold.collections.IntHeap;
+import oj.scaffold.collections.IntIntHashMap;
+import oj.scaffold.collections.IntPair;
+import oj.scaffold.collections.LongHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primitive collections against their boxed JDK equivalents on the same {@code size} operations,
+ * run with {@code -prof gc} to see the boxing allocation.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollectionsBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] keys;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public int countIntIntHashMap() {
+        IntIntHashMap counts = new IntIntHashMap();
+        for (int key : keys) {
+            counts.addTo(key, 1);
+        }
+        return counts.size();
+    }
+
+    @Benchmark
+    public int countHashMap() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int key : keys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts.size();
+    }
+
+    @Benchmark
+    public int visitLongHashSet() {
+        LongHashSet visited = new LongHashSet();
+        for (int i = 1; i < keys.length; i++) {
+            visited.add(IntPair.of(keys[i - 1], keys[i]));
+        }
+        return visited.size();
+    }
+
+    @Benchmark
+    public int visitHashSet() {
+        Set<Long> visited = new HashSet<>();
+        for (int i = 1; i < keys.length; i++) {
+            visited.add(IntPair.of(keys[i - 1], keys[i]));
+        }
+        return visited.size();
+    }
+
+    @Benchmark
+    public long queueIntArrayDeque() {
+        IntArrayDeque queue = new IntArrayDeque();
+        long sum = 0;
+        for (int key : keys) {
+            queue.addLast(key);
+            if (queue.size() > 64) {
+                sum += queue.removeFirst();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long queueArrayDeque() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        long sum = 0;
+        for (int key : keys) {
+            queue.addLast(key);
+            if (queue.size() > 64) {
+                sum += queue.removeFirst();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long heapIntHeap() {
+        IntHeap heap = new IntHeap();
+        for (int key : keys) {
+            heap.add(key);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.poll();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long heapPriorityQueue() {
+        PriorityQueue<Integer> heap = new PriorityQueue<>();
+        for (int key : keys) {
+            heap.add(key);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.poll();
+        }
+        return sum;
+    }
+}
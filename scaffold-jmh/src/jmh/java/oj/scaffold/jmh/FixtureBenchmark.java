@@ -0,0 +1,60 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.BinaryFixture;
+import oj.scaffold.OjUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the same {@code size * size} fixture from a text file and from its binary conversion.
+ *
+ * @author zsmallx
+ * @since 2020/06/08
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixtureBenchmark {
+    @Param({"100", "1000"})
+    public int size;
+
+    private Path textFile;
+    private Path binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        textFile = Files.createTempFile("fixture", ".txt");
+        binaryFile = Files.createTempFile("fixture", ".bin");
+        Files.write(textFile, Inputs.intMatrix(size, size, 42).getBytes(StandardCharsets.UTF_8));
+        BinaryFixture.convert(textFile, BinaryFixture.Kind.INT_ROWS, binaryFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(textFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public int[][] text() throws IOException {
+        return OjUtils.toIntMatrix(textFile);
+    }
+
+    @Benchmark
+    public int[][] binary() throws IOException {
+        return BinaryFixture.readIntMatrix(binaryFile);
+    }
+}
@@ -0,0 +1,112 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.CsrGraph;
+import oj.scaffold.OjUtils;
+import oj.scaffold.collections.IntArrayDeque;
+import oj.scaffold.generator.GraphGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading an undirected edge list into {@link CsrGraph} against the usual {@code toIntMatrix} plus boxed
+ * adjacency lists, and BFS over both, run with {@code -prof gc} to see the boxing allocation.
+ *
+ * @author zsmallx
+ * @since 2020/06/16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphBenchmark {
+    @Param({"10000", "1000000"})
+    public int edges;
+
+    private int nodes;
+    private String text;
+    private CsrGraph csr;
+    private List<List<Integer>> boxed;
+
+    @Setup
+    public void setUp() throws IOException {
+        nodes = edges / 4;
+        StringBuilder builder = new StringBuilder();
+        new GraphGenerator(42).write(nodes, edges, builder);
+        text = builder.toString();
+        csr = loadCsr();
+        boxed = loadBoxed();
+    }
+
+    @Benchmark
+    public CsrGraph loadCsr() {
+        return CsrGraph.parse(text, nodes, false);
+    }
+
+    @Benchmark
+    public List<List<Integer>> loadBoxed() {
+        List<List<Integer>> adjacency = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            adjacency.add(new ArrayList<Integer>());
+        }
+        for (int[] edge : OjUtils.toIntMatrix(text)) {
+            adjacency.get(edge[0]).add(edge[1]);
+            adjacency.get(edge[1]).add(edge[0]);
+        }
+        return adjacency;
+    }
+
+    @Benchmark
+    public long bfsCsr() {
+        int[] distance = new int[nodes];
+        Arrays.fill(distance, -1);
+        IntArrayDeque queue = new IntArrayDeque();
+        distance[0] = 0;
+        queue.addLast(0);
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.removeFirst();
+            sum += distance[u];
+            for (int arc = csr.start(u), end = csr.end(u); arc < end; arc++) {
+                int v = csr.target(arc);
+                if (distance[v] < 0) {
+                    distance[v] = distance[u] + 1;
+                    queue.addLast(v);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long bfsBoxed() {
+        int[] distance = new int[nodes];
+        Arrays.fill(distance, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distance[0] = 0;
+        queue.addLast(0);
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.removeFirst();
+            sum += distance[u];
+            for (int v : boxed.get(u)) {
+                if (distance[v] < 0) {
+                    distance[v] = distance[u] + 1;
+                    queue.addLast(v);
+                }
+            }
+        }
+        return sum;
+    }
+}
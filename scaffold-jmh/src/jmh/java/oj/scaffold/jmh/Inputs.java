@@ -0,0 +1,93 @@
+package oj.scaffold.jmh;
+
+import java.util.Random;
+
+/**
+ * Deterministic LeetCode literals for benchmarks, same seed same text.
+ *
+ * @author zsmallx
+ * @since 2020/05/30
+ */
+final class Inputs {
+    private Inputs() {
+    }
+
+    /**
+     * [[..],[..]] with {@code rows * columns} ints of any sign.
+     */
+    static String intMatrix(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(rows * columns * 7 + 2).append('[');
+        for (int i = 0; i < rows; i++) {
+            builder.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append(random.nextInt(2000001) - 1000000);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * [[..],[..]] with {@code rows * columns} doubles of any sign, printed in their shortest form.
+     */
+    static String doubleMatrix(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(rows * columns * 20 + 2).append('[');
+        for (int i = 0; i < rows; i++) {
+            builder.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append((random.nextDouble() - 0.5) * 2e6);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * [["1","0"],..] grid of quoted chars.
+     */
+    static String charMatrix(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(rows * columns * 4 + 2).append('[');
+        for (int i = 0; i < rows; i++) {
+            builder.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append('"').append(random.nextBoolean() ? '1' : '0').append('"');
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Level order values of a random tree with {@code size} nodes, about a third of the slots null.
+     */
+    static Integer[] treeValues(int size, long seed) {
+        Random random = new Random(seed);
+        Integer[] values = new Integer[size];
+        int open = 1;
+        int nodes = 0;
+        for (int i = 0; i < size; i++) {
+            boolean isNull = i > 0 && open > 1 && random.nextInt(3) == 0;
+            if (isNull) {
+                values[i] = null;
+                open--;
+            } else {
+                values[i] = nodes++;
+                // a node takes one open slot and opens two.
+                open++;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,47 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.OjUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OjUtils.ListListMatcher} on {@code size} inner lists of 4, actual shuffled against the target.
+ *
+ * @author zsmallx
+ * @since 2020/05/30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatcherBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private OjUtils.ListListMatcher matcher;
+    private List<List<Integer>> actual;
+
+    @Setup
+    public void setUp() {
+        List<List<Integer>> target = OjUtils.toListList(Inputs.intMatrix(size, 4, 42), OjUtils.INTEGER_CREATOR);
+        actual = new ArrayList<>(target);
+        Collections.shuffle(actual, new Random(42));
+        matcher = new OjUtils.ListListMatcher(target);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matcher.matches(actual);
+    }
+}
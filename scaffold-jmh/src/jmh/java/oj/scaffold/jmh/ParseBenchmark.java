@@ -0,0 +1,76 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.OjUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Literal parsing, {@code size * size} cells per call.
+ *
+ * @author zsmallx
+ * @since 2020/05/30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private String intText;
+    private String charText;
+    private String doubleText;
+
+    @Setup
+    public void setUp() {
+        intText = Inputs.intMatrix(size, size, 42);
+        charText = Inputs.charMatrix(size, size, 42);
+        doubleText = Inputs.doubleMatrix(size, size, 42);
+    }
+
+    @Benchmark
+    public int[][] toIntMatrix() {
+        return OjUtils.toIntMatrix(intText);
+    }
+
+    @Benchmark
+    public char[][] toCharMatrix() {
+        return OjUtils.toCharMatrix(charText);
+    }
+
+    @Benchmark
+    public List<List<Integer>> toListList() {
+        return OjUtils.toListList(intText, OjUtils.INTEGER_CREATOR);
+    }
+
+    @Benchmark
+    public double[][] toDoubleMatrix() {
+        return OjUtils.toDoubleMatrix(doubleText);
+    }
+
+    /**
+     * Baseline, {@link Double#parseDouble(String)} on every substring.
+     */
+    @Benchmark
+    public double[][] toDoubleMatrixBySubstrings() {
+        String[] rows = doubleText.substring(2, doubleText.length() - 2).split("\\],\\[");
+        double[][] matrix = new double[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            String[] cells = rows[i].split(",");
+            matrix[i] = new double[cells.length];
+            for (int j = 0; j < cells.length; j++) {
+                matrix[i][j] = Double.parseDouble(cells[j]);
+            }
+        }
+        return matrix;
+    }
+}
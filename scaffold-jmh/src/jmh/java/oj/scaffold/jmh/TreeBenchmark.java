@@ -0,0 +1,47 @@
+package oj.scaffold.jmh;
+
+import oj.scaffold.OjUtils;
+import oj.scaffold.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree building and serializing, {@code size} level order slots.
+ *
+ * @author zsmallx
+ * @since 2020/05/30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] values;
+    private TreeNode root;
+
+    @Setup
+    public void setUp() {
+        values = Inputs.treeValues(size, 42);
+        root = OjUtils.newTreeFromArrays(values);
+    }
+
+    @Benchmark
+    public TreeNode newTreeFromArrays() {
+        return OjUtils.newTreeFromArrays(values);
+    }
+
+    @Benchmark
+    public Integer[] convertTreeAsArrays() {
+        return OjUtils.convertTreeAsArrays(root);
+    }
+}
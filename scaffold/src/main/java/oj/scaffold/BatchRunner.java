@@ -0,0 +1,286 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs many {@link Judge.Case}s of one solution in parallel, each under its own timeout,
+ * and reports them in input order with the same {@link Judge.Result}s as {@link Judge}.
+ * <p>
+ * Cases are pulled from the iterator or file only as fast as they are run, at most {@link #parallelism(int)}
+ * at a time, and parsed on the thread that runs them. Virtual threads are used when the runtime has them
+ * and no {@link #memoryLimit(long)} is set.
+ * A case over its timeout is reported as {@link Judge.Verdict#TIME_LIMIT_EXCEEDED} and its thread interrupted;
+ * a solution ignoring the interrupt is abandoned and no longer counts against the parallelism.
+ *
+ * @param <I> solution input.
+ * @param <O> solution output.
+ * @author zsmallx
+ * @since 2020/06/05
+ */
+public final class BatchRunner<I, O> {
+    private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "oj-batch");
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final Function<? super I, ? extends O> solution;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long timeoutNanos = TimeUnit.SECONDS.toNanos(1);
+    private long memoryLimitBytes = Long.MAX_VALUE;
+    private boolean virtualThreads = true;
+
+    /**
+     * @param solution called from several threads at once.
+     */
+    public BatchRunner(Function<? super I, ? extends O> solution) {
+        this.solution = solution;
+    }
+
+    /**
+     * Cases run at the same time, count of processors by default.
+     */
+    public BatchRunner<I, O> parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Bad parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Wall-clock limit of every case, parsing excluded, 1 second by default.
+     */
+    public BatchRunner<I, O> timeout(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("Bad timeout: " + time);
+        }
+        this.timeoutNanos = unit.toNanos(time);
+        return this;
+    }
+
+    /**
+     * Limit of bytes allocated by a single case, unlimited by default, see {@link Judge#memoryLimit(long)}.
+     * Cases then run on platform threads, virtual ones do not count their allocations.
+     */
+    public BatchRunner<I, O> memoryLimit(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Bad memory limit: " + bytes);
+        }
+        this.memoryLimitBytes = bytes;
+        return this;
+    }
+
+    /**
+     * @param enabled false to stay on platform threads even if virtual ones are there, true by default.
+     *                Ignored under a {@link #memoryLimit(long)}.
+     */
+    public BatchRunner<I, O> virtualThreads(boolean enabled) {
+        this.virtualThreads = enabled;
+        return this;
+    }
+
+    /**
+     * Runs cases of a fixture file: every case is two non-blank lines, the input literal then the expected one.
+     *
+     * @param file           UTF-8 fixture file.
+     * @param inputParser    input literal to solution input, like {@code OjUtils::toIntMatrix}.
+     * @param expectedParser expected literal to the expected output, or to a {@link org.hamcrest.Matcher} of it.
+     * @return results in file order.
+     * @throws IOException if the file can not be read.
+     */
+    public List<Judge.Result> run(Path file, final Function<String, ? extends I> inputParser,
+                                  final Function<String, ?> expectedParser) throws IOException {
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return run(new Iterator<Judge.Case<I, Object>>() {
+                private int lineNumber;
+                private String nextLine;
+
+                @Override
+                public boolean hasNext() {
+                    if (nextLine == null) {
+                        nextLine = nextNonBlank();
+                    }
+                    return nextLine != null;
+                }
+
+                @Override
+                public Judge.Case<I, Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final String input = nextLine;
+                    String name = "line " + lineNumber;
+                    nextLine = null;
+                    String expected = nextNonBlank();
+                    if (expected == null) {
+                        throw new IllegalArgumentException("Bad fixture, no expected line for " + name);
+                    }
+                    return new Judge.Case<I, Object>(name, new Supplier<I>() {
+                        @Override
+                        public I get() {
+                            return inputParser.apply(input);
+                        }
+                    }, expectedParser.apply(expected));
+                }
+
+                private String nextNonBlank() {
+                    try {
+                        String line;
+                        do {
+                            line = reader.readLine();
+                            lineNumber++;
+                        } while (line != null && line.trim().isEmpty());
+                        return line;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return results in iteration order.
+     */
+    public List<Judge.Result> run(Iterator<? extends Judge.Case<? extends I, ?>> cases) {
+        ExecutorService executor = newExecutor();
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(DAEMON_THREADS);
+        final Semaphore running = new Semaphore(parallelism);
+        List<CompletableFuture<Judge.Result>> results = new ArrayList<>();
+        try {
+            for (int index = 0; cases.hasNext(); index++) {
+                Judge.Case<? extends I, ?> testCase = cases.next();
+                running.acquire();
+                CompletableFuture<Judge.Result> result = new CompletableFuture<>();
+                result.whenComplete(new BiConsumer<Judge.Result, Throwable>() {
+                    @Override
+                    public void accept(Judge.Result result, Throwable throwable) {
+                        running.release();
+                    }
+                });
+                results.add(result);
+                executor.execute(new CaseTask(index, testCase, result, watchdog));
+            }
+            List<Judge.Result> ordered = new ArrayList<>(results.size());
+            for (CompletableFuture<Judge.Result> result : results) {
+                ordered.add(result.join());
+            }
+            return ordered;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running cases", e);
+        } finally {
+            executor.shutdownNow();
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Same as {@link #run(Iterator)}, then fails the running test with every case not accepted.
+     *
+     * @throws AssertionError if any case is not accepted.
+     */
+    public List<Judge.Result> assertAccepted(Iterator<? extends Judge.Case<? extends I, ?>> cases) {
+        List<Judge.Result> results = run(cases);
+        StringBuilder failures = new StringBuilder();
+        for (Judge.Result result : results) {
+            if (result.verdict != Judge.Verdict.ACCEPTED) {
+                failures.append('\n').append(result);
+            }
+        }
+        if (failures.length() > 0) {
+            Assert.fail("Not accepted:" + failures);
+        }
+        return results;
+    }
+
+    private ExecutorService newExecutor() {
+        if (virtualThreads && memoryLimitBytes == Long.MAX_VALUE) {
+            try {
+                // Java 21+, looked up so the scaffold still builds and runs on Java 8.
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                // falls back to platform threads.
+            }
+        }
+        // unbounded on purpose, abandoned threads must not block the rest, the semaphore bounds the running ones.
+        return Executors.newCachedThreadPool(DAEMON_THREADS);
+    }
+
+    private final class CaseTask implements Runnable {
+        private final int index;
+        private final Judge.Case<? extends I, ?> testCase;
+        private final CompletableFuture<Judge.Result> result;
+        private final ScheduledExecutorService watchdog;
+
+        CaseTask(int index, Judge.Case<? extends I, ?> testCase, CompletableFuture<Judge.Result> result,
+                 ScheduledExecutorService watchdog) {
+            this.index = index;
+            this.testCase = testCase;
+            this.result = result;
+            this.watchdog = watchdog;
+        }
+
+        @Override
+        public void run() {
+            final String name = testCase.name != null ? testCase.name : "case " + index;
+            I input;
+            try {
+                input = testCase.input.get();
+            } catch (Throwable e) {
+                Judge.Measurement measurement = new Judge.Measurement();
+                measurement.verdict = Judge.Verdict.RUNTIME_ERROR;
+                measurement.allocatedBytes = -1;
+                measurement.error = "bad input, " + e;
+                result.complete(Judge.verdict(name, measurement, testCase.expected, timeoutNanos, memoryLimitBytes));
+                return;
+            }
+            final Thread thread = Thread.currentThread();
+            ScheduledFuture<?> alarm = watchdog.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (result.complete(Judge.verdict(name, Judge.Measurement.killed(timeoutNanos),
+                            testCase.expected, timeoutNanos, memoryLimitBytes))) {
+                        thread.interrupt();
+                    }
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+            try {
+                Judge.Measurement measurement = Judge.measureHere(solution, input);
+                result.complete(Judge.verdict(name, measurement, testCase.expected, timeoutNanos, memoryLimitBytes));
+            } finally {
+                alarm.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package oj.scaffold;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Compact binary fixtures, converted once from LeetCode text and then loaded without parsing any text.
+ * <p>
+ * Layout, every count is an unsigned LEB128 varint and every value a zigzag varint, so small values of
+ * either sign take one byte:
+ * <pre>
+ * "OJFX" version:byte kind:byte
+ * INT_ROWS: rows layout:byte (RECTANGULAR columns | RAGGED rowSize*) value*
+ * TREE:     length nullBitmap:byte[(length + 7) / 8] value* (non-null slots only)
+ * </pre>
+ * The null bitmap is little-endian per slot, the same bit order as {@link BitSet#valueOf(ByteBuffer)}.
+ * Loading memory-maps the file and decodes straight into the result arrays.
+ *
+ * @author zsmallx
+ * @since 2020/06/08
+ */
+public final class BinaryFixture {
+    private static final int MAGIC = 'O' << 24 | 'J' << 16 | 'F' << 8 | 'X';
+    private static final int VERSION = 1;
+    private static final int RECTANGULAR = 1;
+    private static final int RAGGED = 2;
+
+    private BinaryFixture() {
+    }
+
+    public enum Kind {
+        /**
+         * int rows, like [[1,2],[3]], loaded as int[][], {@link IntListList} or {@link IntMatrix}.
+         */
+        INT_ROWS(1),
+        /**
+         * LeetCode level order tree, like [1,null,2], loaded as {@link LevelOrderArray} or {@link TreeNode}.
+         */
+        TREE(2);
+
+        final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+    }
+
+    /**
+     * Converts a UTF-8 LeetCode text fixture, parsed through the same scanner as {@link OjUtils}.
+     *
+     * @param textFile   input text.
+     * @param kind       what the text holds.
+     * @param binaryFile output, replaced if it exists.
+     * @throws IllegalArgumentException if the text is blank or not of {@code kind}.
+     */
+    public static void convert(Path textFile, Kind kind, Path binaryFile) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(OjUtils.map(textFile)));
+        try {
+            if (scanner.atEnd()) {
+                throw new IllegalArgumentException("Blank fixture: " + textFile);
+            }
+            if (kind == Kind.TREE) {
+                write(scanner.readLevelOrder(), binaryFile);
+            } else {
+                write(scanner.readIntListList(), binaryFile);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static void write(int[][] rows, Path file) throws IOException {
+        write(IntListList.of(rows), file);
+    }
+
+    public static void write(IntListList rows, Path file) throws IOException {
+        int size = rows.size();
+        int[] offsets = rows.offsets();
+        int[] values = rows.values();
+        boolean rectangular = size > 0;
+        for (int i = 1; i < size && rectangular; i++) {
+            rectangular = rows.rowSize(i) == rows.rowSize(0);
+        }
+        try (Output out = new Output(file, Kind.INT_ROWS)) {
+            out.unsigned(size);
+            if (rectangular) {
+                out.raw(RECTANGULAR);
+                out.unsigned(rows.rowSize(0));
+            } else {
+                out.raw(RAGGED);
+                for (int i = 0; i < size; i++) {
+                    out.unsigned(rows.rowSize(i));
+                }
+            }
+            for (int i = 0, end = offsets[size]; i < end; i++) {
+                out.signed(values[i]);
+            }
+        }
+    }
+
+    public static void write(TreeNode root, Path file) throws IOException {
+        write(TreeSerializer.toLevelOrder(root), file);
+    }
+
+    public static void write(LevelOrderArray levelOrder, Path file) throws IOException {
+        int length = levelOrder.length();
+        int[] values = levelOrder.values();
+        BitSet nulls = levelOrder.nulls();
+        try (Output out = new Output(file, Kind.TREE)) {
+            out.unsigned(length);
+            byte[] bitmap = nulls.toByteArray();
+            for (int i = 0, bytes = (length + 7) >>> 3; i < bytes; i++) {
+                out.raw(i < bitmap.length ? bitmap[i] : 0);
+            }
+            for (int i = 0; i < length; i++) {
+                if (!nulls.get(i)) {
+                    out.signed(values[i]);
+                }
+            }
+        }
+    }
+
+    public static int[][] readIntMatrix(Path file) throws IOException {
+        ByteBuffer in = open(file, Kind.INT_ROWS);
+        try {
+            int rows = count(in);
+            int[][] result = new int[rows][];
+            if (in.get() == RECTANGULAR) {
+                int columns = count(in);
+                checkValues(in, (long) rows * columns);
+                for (int i = 0; i < rows; i++) {
+                    result[i] = new int[columns];
+                }
+            } else {
+                long total = 0;
+                for (int i = 0; i < rows; i++) {
+                    result[i] = new int[count(in)];
+                    total += result[i].length;
+                }
+                checkValues(in, total);
+            }
+            for (int[] row : result) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = signed(in);
+                }
+            }
+            expectEnd(in);
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw truncated(file);
+        }
+    }
+
+    public static IntListList readIntListList(Path file) throws IOException {
+        ByteBuffer in = open(file, Kind.INT_ROWS);
+        try {
+            int rows = count(in);
+            int[] offsets = new int[rows + 1];
+            if (in.get() == RECTANGULAR) {
+                int columns = count(in);
+                for (int i = 0; i < rows; i++) {
+                    offsets[i + 1] = Math.addExact(offsets[i], columns);
+                }
+            } else {
+                for (int i = 0; i < rows; i++) {
+                    offsets[i + 1] = Math.addExact(offsets[i], count(in));
+                }
+            }
+            int[] values = readValues(in, offsets[rows]);
+            expectEnd(in);
+            return new IntListList(values, offsets);
+        } catch (BufferUnderflowException e) {
+            throw truncated(file);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rows differ in length.
+     */
+    public static IntMatrix readFlatIntMatrix(Path file) throws IOException {
+        ByteBuffer in = open(file, Kind.INT_ROWS);
+        try {
+            int rows = count(in);
+            boolean rectangular = in.get() == RECTANGULAR;
+            if (!rectangular && rows > 0) {
+                throw new IllegalArgumentException("Not a matrix, rows differ in length: " + file);
+            }
+            int columns = rectangular ? count(in) : 0;
+            checkValues(in, (long) rows * columns);
+            int[] data = readValues(in, rows * columns);
+            expectEnd(in);
+            return new IntMatrix(rows, columns, data);
+        } catch (BufferUnderflowException e) {
+            throw truncated(file);
+        }
+    }
+
+    public static LevelOrderArray readLevelOrder(Path file) throws IOException {
+        ByteBuffer in = open(file, Kind.TREE);
+        try {
+            int length = count(in);
+            ByteBuffer bitmap = in.slice();
+            bitmap.limit((length + 7) >>> 3);
+            BitSet nulls = BitSet.valueOf(bitmap);
+            in.position(in.position() + bitmap.limit());
+            int[] values = new int[length];
+            for (int i = nulls.nextClearBit(0); i < length; i = nulls.nextClearBit(i + 1)) {
+                values[i] = signed(in);
+            }
+            expectEnd(in);
+            return new LevelOrderArray(values, nulls, length);
+        } catch (BufferUnderflowException e) {
+            throw truncated(file);
+        }
+    }
+
+    /**
+     * @return root, null for an empty tree.
+     */
+    public static TreeNode readTree(Path file) throws IOException {
+        return OjUtils.newTreeFromLevelOrder(readLevelOrder(file));
+    }
+
+    private static ByteBuffer open(Path file, Kind kind) throws IOException {
+        ByteBuffer in = OjUtils.map(file);
+        if (in.remaining() < 6 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary fixture: " + file);
+        }
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported fixture version " + version + ": " + file);
+        }
+        int code = in.get();
+        if (code != kind.code) {
+            throw new IllegalArgumentException("Bad fixture, expect " + kind + " but kind was " + code + ": " + file);
+        }
+        return in;
+    }
+
+    private static int[] readValues(ByteBuffer in, int count) {
+        checkValues(in, count);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = signed(in);
+        }
+        return values;
+    }
+
+    /**
+     * A varint that sizes an array, checked so corrupt files fail fast instead of allocating gigabytes.
+     */
+    private static int count(ByteBuffer in) {
+        int count = unsigned(in);
+        // every element takes at least a byte, bitmaps an eighth.
+        if (count < 0 || count > in.remaining() * 8L) {
+            throw new IllegalArgumentException("Bad fixture, count " + (count & 0xffffffffL) + " at " + in.position());
+        }
+        return count;
+    }
+
+    /**
+     * Every value takes at least a byte.
+     */
+    private static void checkValues(ByteBuffer in, long count) {
+        if (count > in.remaining()) {
+            throw new IllegalArgumentException("Bad fixture, " + count + " values but " + in.remaining() + " bytes left");
+        }
+    }
+
+    private static int signed(ByteBuffer in) {
+        int n = unsigned(in);
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static int unsigned(ByteBuffer in) {
+        int b = in.get();
+        if (b >= 0) {
+            return b;
+        }
+        int result = b & 0x7f;
+        for (int shift = 7; shift < 35; shift += 7) {
+            b = in.get();
+            result |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Bad fixture, varint too long at " + in.position());
+    }
+
+    private static void expectEnd(ByteBuffer in) {
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Bad fixture, " + in.remaining() + " bytes left at " + in.position());
+        }
+    }
+
+    private static IllegalArgumentException truncated(Path file) {
+        return new IllegalArgumentException("Bad fixture, truncated: " + file);
+    }
+
+    /**
+     * Writes the header, then varints through a 64K buffer.
+     */
+    private static final class Output implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        Output(Path file, Kind kind) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC).put((byte) VERSION).put((byte) kind.code);
+        }
+
+        void raw(int b) throws IOException {
+            ensure(1);
+            buffer.put((byte) b);
+        }
+
+        void signed(int value) throws IOException {
+            unsigned((value << 1) ^ (value >> 31));
+        }
+
+        void unsigned(int value) throws IOException {
+            ensure(5);
+            while ((value & ~0x7f) != 0) {
+                buffer.put((byte) (value & 0x7f | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
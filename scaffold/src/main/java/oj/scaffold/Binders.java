@@ -0,0 +1,414 @@
+package oj.scaffold;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed {@link Binder}s over {@link LiteralParser}, composed for any shape instead of one splitter per shape:
+ * <pre>
+ * int[] nums = Binders.parse("[1,2,3]", Binders.intArray());
+ * int[][][] cube = Binders.parse("[[[1]],[[2,3]]]", Binders.arrayOf(Binders.intMatrix(), int[][].class));
+ * List&lt;List&lt;String&gt;&gt; words = Binders.parse("[[\"a,b\"],[null]]", Binders.listOf(Binders.listOf(Binders.STRING)));
+ * </pre>
+ * Boxed and object binders take null, primitive ones reject it.
+ *
+ * @author zsmallx
+ * @since 2020/06/09
+ */
+public final class Binders {
+    private Binders() {
+    }
+
+    /**
+     * Reads one value, its first event is the current one of the parser, and leaves the parser on its last event.
+     *
+     * @param <T> bound value.
+     */
+    public interface Binder<T> {
+        T bind(LiteralParser parser);
+    }
+
+    public static final Binder<Integer> INTEGER = new Binder<Integer>() {
+        @Override
+        public Integer bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : parser.intValue();
+        }
+    };
+
+    public static final Binder<Long> LONG = new Binder<Long>() {
+        @Override
+        public Long bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : parser.longValue();
+        }
+    };
+
+    public static final Binder<Double> DOUBLE = new Binder<Double>() {
+        @Override
+        public Double bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : parser.doubleValue();
+        }
+    };
+
+    public static final Binder<Boolean> BOOLEAN = new Binder<Boolean>() {
+        @Override
+        public Boolean bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : parser.booleanValue();
+        }
+    };
+
+    public static final Binder<String> STRING = new Binder<String>() {
+        @Override
+        public String bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : parser.stringValue();
+        }
+    };
+
+    /**
+     * A string of exactly one char, like "1".
+     */
+    public static final Binder<Character> CHARACTER = new Binder<Character>() {
+        @Override
+        public Character bind(LiteralParser parser) {
+            return parser.event() == LiteralParser.Event.NULL ? null : toChar(parser);
+        }
+    };
+
+    /**
+     * Types {@link #of(Type)} binds without looking further.
+     */
+    private static final Map<Class<?>, Binder<?>> SIMPLE_TYPES = new HashMap<>();
+
+    static {
+        SIMPLE_TYPES.put(int.class, INTEGER);
+        SIMPLE_TYPES.put(Integer.class, INTEGER);
+        SIMPLE_TYPES.put(long.class, LONG);
+        SIMPLE_TYPES.put(Long.class, LONG);
+        SIMPLE_TYPES.put(double.class, DOUBLE);
+        SIMPLE_TYPES.put(Double.class, DOUBLE);
+        SIMPLE_TYPES.put(boolean.class, BOOLEAN);
+        SIMPLE_TYPES.put(Boolean.class, BOOLEAN);
+        SIMPLE_TYPES.put(char.class, CHARACTER);
+        SIMPLE_TYPES.put(Character.class, CHARACTER);
+        SIMPLE_TYPES.put(String.class, STRING);
+        SIMPLE_TYPES.put(int[].class, intArray());
+        SIMPLE_TYPES.put(long[].class, longArray());
+        SIMPLE_TYPES.put(double[].class, doubleArray());
+        SIMPLE_TYPES.put(boolean[].class, booleanArray());
+        SIMPLE_TYPES.put(char[].class, charArray());
+    }
+
+    public static <T> T parse(CharSequence text, Binder<T> binder) {
+        return parse(new LiteralParser(text), binder);
+    }
+
+    /**
+     * @param reader input, not closed here.
+     */
+    public static <T> T parse(Reader reader, Binder<T> binder) throws IOException {
+        try {
+            return parse(new LiteralParser(reader), binder);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Memory-maps the UTF-8 file and parses from the mapped bytes.
+     */
+    public static <T> T parse(Path file, Binder<T> binder) throws IOException {
+        return parse(new ByteBufferReader(OjUtils.map(file)), binder);
+    }
+
+    private static <T> T parse(LiteralParser parser, Binder<T> binder) {
+        parser.next();
+        return binder.bind(parser);
+    }
+
+    public static Binder<int[]> intArray() {
+        return new Binder<int[]>() {
+            @Override
+            public int[] bind(LiteralParser parser) {
+                expectArray(parser);
+                int[] values = new int[8];
+                int count = 0;
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    values[count++] = parser.intValue();
+                }
+                return Arrays.copyOf(values, count);
+            }
+        };
+    }
+
+    public static Binder<long[]> longArray() {
+        return new Binder<long[]>() {
+            @Override
+            public long[] bind(LiteralParser parser) {
+                expectArray(parser);
+                long[] values = new long[8];
+                int count = 0;
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    values[count++] = parser.longValue();
+                }
+                return Arrays.copyOf(values, count);
+            }
+        };
+    }
+
+    public static Binder<double[]> doubleArray() {
+        return new Binder<double[]>() {
+            @Override
+            public double[] bind(LiteralParser parser) {
+                expectArray(parser);
+                double[] values = new double[8];
+                int count = 0;
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    values[count++] = parser.doubleValue();
+                }
+                return Arrays.copyOf(values, count);
+            }
+        };
+    }
+
+    public static Binder<boolean[]> booleanArray() {
+        return new Binder<boolean[]>() {
+            @Override
+            public boolean[] bind(LiteralParser parser) {
+                expectArray(parser);
+                boolean[] values = new boolean[8];
+                int count = 0;
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    values[count++] = parser.booleanValue();
+                }
+                return Arrays.copyOf(values, count);
+            }
+        };
+    }
+
+    /**
+     * ["a","b"] -> char[]{'a','b'}.
+     */
+    public static Binder<char[]> charArray() {
+        return new Binder<char[]>() {
+            @Override
+            public char[] bind(LiteralParser parser) {
+                expectArray(parser);
+                char[] values = new char[8];
+                int count = 0;
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    values[count++] = toChar(parser);
+                }
+                return Arrays.copyOf(values, count);
+            }
+        };
+    }
+
+    public static Binder<int[][]> intMatrix() {
+        return arrayOf(intArray(), int[].class);
+    }
+
+    public static Binder<char[][]> charMatrix() {
+        return arrayOf(charArray(), char[].class);
+    }
+
+    public static Binder<String[]> stringArray() {
+        return arrayOf(STRING, String.class);
+    }
+
+    /**
+     * Array of any element type, nest it for any depth, like {@code arrayOf(intMatrix(), int[][].class)}
+     * for int[][][].
+     *
+     * @param type element class, the result is an array of it.
+     */
+    public static <T> Binder<T[]> arrayOf(final Binder<? extends T> element, final Class<T> type) {
+        final Binder<List<T>> list = listOf(element);
+        return new Binder<T[]>() {
+            @Override
+            public T[] bind(LiteralParser parser) {
+                if (parser.event() == LiteralParser.Event.NULL) {
+                    return null;
+                }
+                List<T> values = list.bind(parser);
+                @SuppressWarnings("unchecked")
+                T[] array = (T[]) Array.newInstance(type, values.size());
+                return values.toArray(array);
+            }
+        };
+    }
+
+    /**
+     * @return an {@link ArrayList}, null for null.
+     */
+    public static <T> Binder<List<T>> listOf(final Binder<? extends T> element) {
+        return new Binder<List<T>>() {
+            @Override
+            public List<T> bind(LiteralParser parser) {
+                if (parser.event() == LiteralParser.Event.NULL) {
+                    return null;
+                }
+                expectArray(parser);
+                List<T> values = new ArrayList<>();
+                while (parser.next() != LiteralParser.Event.END_ARRAY) {
+                    values.add(element.bind(parser));
+                }
+                return values;
+            }
+        };
+    }
+
+    /**
+     * LeetCode level order tree, like [1,null,2].
+     */
+    public static Binder<TreeNode> tree() {
+        return new Binder<TreeNode>() {
+            @Override
+            public TreeNode bind(LiteralParser parser) {
+                expectArray(parser);
+                int[] values = new int[16];
+                BitSet nulls = new BitSet();
+                int count = 0;
+                for (LiteralParser.Event event; (event = parser.next()) != LiteralParser.Event.END_ARRAY; count++) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count << 1);
+                    }
+                    if (event == LiteralParser.Event.NULL) {
+                        nulls.set(count);
+                    } else {
+                        values[count] = parser.intValue();
+                    }
+                }
+                return OjUtils.newTreeFromLevelOrder(new LevelOrderArray(values, nulls, count));
+            }
+        };
+    }
+
+    /**
+     * Linked list, like [1,2,3].
+     */
+    public static Binder<ListNode> listNode() {
+        final Binder<int[]> values = intArray();
+        return new Binder<ListNode>() {
+            @Override
+            public ListNode bind(LiteralParser parser) {
+                return ListNodeUtils.fromArray(values.bind(parser));
+            }
+        };
+    }
+
+    /**
+     * Binder for a declared type, like a method parameter: boxed and primitive numbers, boolean, char, String,
+     * primitive and object arrays of any depth, {@link TreeNode}, {@link ListNode}, {@link IntListList},
+     * and {@code List}s of any of them. Primitive types reject null.
+     *
+     * @throws IllegalArgumentException if no binder fits the type.
+     */
+    public static Binder<?> of(Type type) {
+        if (type instanceof Class) {
+            Class<?> c = (Class<?>) type;
+            Binder<?> binder = SIMPLE_TYPES.get(c);
+            if (binder != null) {
+                return c.isPrimitive() ? nonNull(binder, c) : binder;
+            }
+            if (c == TreeNode.class) {
+                return tree();
+            }
+            if (c == ListNode.class) {
+                return listNode();
+            }
+            if (c == IntListList.class) {
+                return intListList();
+            }
+            if (c.isArray()) {
+                return arrayOfType(of(c.getComponentType()), c.getComponentType());
+            }
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type raw = parameterized.getRawType();
+            if (raw == List.class || raw == ArrayList.class || raw == Collection.class || raw == Iterable.class) {
+                Type element = parameterized.getActualTypeArguments()[0];
+                if (element instanceof WildcardType) {
+                    element = ((WildcardType) element).getUpperBounds()[0];
+                }
+                return listOf(of(element));
+            }
+        }
+        throw new IllegalArgumentException("No binder for type " + type.getTypeName());
+    }
+
+    /**
+     * [[1,2],[3]] -> {@link IntListList}.
+     */
+    public static Binder<IntListList> intListList() {
+        final Binder<int[][]> matrix = intMatrix();
+        return new Binder<IntListList>() {
+            @Override
+            public IntListList bind(LiteralParser parser) {
+                return IntListList.of(matrix.bind(parser));
+            }
+        };
+    }
+
+    /**
+     * The element class is only known at runtime here, {@link Array#newInstance(Class, int)} keeps it right.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Binder<T[]> arrayOfType(Binder<?> element, Class<T> type) {
+        return arrayOf((Binder<? extends T>) element, type);
+    }
+
+    private static <T> Binder<T> nonNull(final Binder<T> binder, final Class<?> type) {
+        return new Binder<T>() {
+            @Override
+            public T bind(LiteralParser parser) {
+                if (parser.event() == LiteralParser.Event.NULL) {
+                    throw new IllegalArgumentException("Bad input, null for " + type + " before " + parser.position());
+                }
+                return binder.bind(parser);
+            }
+        };
+    }
+
+    private static void expectArray(LiteralParser parser) {
+        if (parser.event() != LiteralParser.Event.START_ARRAY) {
+            throw new IllegalArgumentException("Bad input, expect an array but was " + parser.event()
+                    + " before " + parser.position());
+        }
+    }
+
+    private static char toChar(LiteralParser parser) {
+        String value = parser.stringValue();
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Bad input, expect one char but was \"" + value + "\" before "
+                    + parser.position());
+        }
+        return value.charAt(0);
+    }
+}
@@ -0,0 +1,72 @@
+package oj.scaffold;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Reader} over UTF-8 bytes in a {@link ByteBuffer}, heap, direct or memory-mapped.
+ * ASCII runs, which is nearly everything in a LeetCode literal, are widened to chars in place,
+ * only the rest goes through a {@link CharsetDecoder}.
+ * <p>
+ * Reads from {@code position} to {@code limit} of a duplicate, the given buffer is left untouched.
+ *
+ * @author zsmallx
+ * @since 2020/05/23
+ */
+final class ByteBufferReader extends Reader {
+    private final ByteBuffer bytes;
+    private CharsetDecoder decoder;
+
+    ByteBufferReader(ByteBuffer bytes) {
+        this.bytes = bytes.duplicate();
+    }
+
+    @Override
+    public int read(char[] chars, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int p = bytes.position();
+        int end = bytes.limit();
+        if (p == end) {
+            return -1;
+        }
+        int n = 0;
+        while (n < len && p < end) {
+            byte b = bytes.get(p);
+            if (b < 0) {
+                break;
+            }
+            chars[off + n++] = (char) b;
+            p++;
+        }
+        bytes.position(p);
+        if (n > 0 || p == end) {
+            return n > 0 ? n : -1;
+        }
+        return decode(chars, off, len);
+    }
+
+    private int decode(char[] chars, int off, int len) {
+        if (decoder == null) {
+            decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+        }
+        CharBuffer out = CharBuffer.wrap(chars, off, len);
+        CoderResult result = decoder.decode(bytes, out, true);
+        if (result.isError() || out.position() == off) {
+            throw new IllegalArgumentException("Bad input, malformed UTF-8 at byte " + bytes.position());
+        }
+        return out.position() - off;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,358 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Estimates the growth rate of a solution from timings: runs it on geometrically growing inputs,
+ * fits the times against every {@link Complexity} and takes the best fit. Catches an O(n^2) solution
+ * that is correct but would only be a TLE on the judge.
+ * <p>
+ * Usage:
+ * <pre>
+ * new ComplexityEstimator&lt;ListNode&gt;(solution::sortList, n -&gt; new ListGenerator(n).build(n, -1))
+ *         .sizes(1 &lt;&lt; 10, 1 &lt;&lt; 17, 2)
+ *         .assertComplexityAtMost(ComplexityEstimator.Complexity.N_LOG_N);
+ * </pre>
+ * Inputs come from any builder, {@link oj.scaffold.generator} or {@link OjUtils} parsing generated text,
+ * fresh for every call and outside the timing. Every size gets some unmeasured warmup runs, then the median of
+ * the trials counts, a trial repeating the call on several inputs when one call is too short to time.
+ * <p>
+ * Each class is fitted as {@code time = c * f(n)} by least squares of the residuals relative to the times,
+ * its error is their root mean square. The confidence is how much worse the runner-up fits,
+ * 0 when it fits as well, towards 1 when it fits far worse.
+ *
+ * @param <I> solution input.
+ * @author zsmallx
+ * @since 2020/06/15
+ */
+public final class ComplexityEstimator<I> {
+    /**
+     * A trial is made of calls worth at least this much time, or {@link #MAX_REPETITIONS} calls.
+     */
+    private static final long MIN_TRIAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_REPETITIONS = 64;
+    private static final long WARMUP_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final int MIN_SIZES = 3;
+
+    public enum Complexity {
+        CONSTANT {
+            @Override
+            double relativeCost(double n, double max) {
+                return 1;
+            }
+        },
+        LOG_N {
+            @Override
+            double relativeCost(double n, double max) {
+                return Math.log(Math.max(n, 2)) / Math.log(Math.max(max, 2));
+            }
+        },
+        N {
+            @Override
+            double relativeCost(double n, double max) {
+                return n / max;
+            }
+        },
+        N_LOG_N {
+            @Override
+            double relativeCost(double n, double max) {
+                return n / max * LOG_N.relativeCost(n, max);
+            }
+        },
+        N_SQUARED {
+            @Override
+            double relativeCost(double n, double max) {
+                return (n / max) * (n / max);
+            }
+        },
+        EXPONENTIAL {
+            @Override
+            double relativeCost(double n, double max) {
+                return Math.pow(2, n - max);
+            }
+        };
+
+        /**
+         * @return f(n) / f(max), so no class overflows.
+         */
+        abstract double relativeCost(double n, double max);
+    }
+
+    private final Function<? super I, ?> solution;
+    private final IntFunction<? extends I> inputs;
+    private int[] sizes = {1 << 8, 1 << 9, 1 << 10, 1 << 11, 1 << 12, 1 << 13};
+    private int warmup = 3;
+    private int trials = 5;
+    private long timeLimitNanos = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Keeps the outputs alive, so the calls are not optimized away.
+     */
+    private volatile Object sink;
+
+    /**
+     * @param inputs input of size n, called for every run.
+     */
+    public ComplexityEstimator(Function<? super I, ?> solution, IntFunction<? extends I> inputs) {
+        this.solution = solution;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Sizes from {@code min}, multiplied by {@code factor} while not over {@code max}, 256 to 8192 by default.
+     */
+    public ComplexityEstimator<I> sizes(int min, int max, double factor) {
+        if (min <= 0 || max < min || factor <= 1) {
+            throw new IllegalArgumentException("Bad sizes: " + min + " to " + max + " by " + factor);
+        }
+        List<Integer> sizes = new ArrayList<>();
+        for (double size = min; size <= max; size *= factor) {
+            if (sizes.isEmpty() || (int) size != sizes.get(sizes.size() - 1)) {
+                sizes.add((int) size);
+            }
+        }
+        int[] result = new int[sizes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sizes.get(i);
+        }
+        return sizes(result);
+    }
+
+    /**
+     * @param sizes at least 3 increasing sizes.
+     */
+    public ComplexityEstimator<I> sizes(int... sizes) {
+        if (sizes.length < MIN_SIZES) {
+            throw new IllegalArgumentException("Bad sizes, need at least " + MIN_SIZES + ": " + Arrays.toString(sizes));
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || i > 0 && sizes[i] <= sizes[i - 1]) {
+                throw new IllegalArgumentException("Bad sizes, not increasing: " + Arrays.toString(sizes));
+            }
+        }
+        this.sizes = sizes.clone();
+        return this;
+    }
+
+    /**
+     * Unmeasured runs before every size, 3 by default.
+     */
+    public ComplexityEstimator<I> warmup(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Bad warmup iterations: " + iterations);
+        }
+        this.warmup = iterations;
+        return this;
+    }
+
+    /**
+     * Measured trials of every size, the median counts, 5 by default.
+     */
+    public ComplexityEstimator<I> trials(int trials) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Bad trials: " + trials);
+        }
+        this.trials = trials;
+        return this;
+    }
+
+    /**
+     * Bigger sizes are skipped once a single call takes longer, 1 second by default.
+     */
+    public ComplexityEstimator<I> timeLimit(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("Bad time limit: " + time);
+        }
+        this.timeLimitNanos = unit.toNanos(time);
+        return this;
+    }
+
+    /**
+     * Measures every size and fits.
+     *
+     * @throws IllegalStateException if the time limit leaves fewer than 3 sizes.
+     */
+    public Estimate estimate() {
+        int measured = 0;
+        double[] nanos = new double[sizes.length];
+        for (int size : sizes) {
+            double perCall = measure(size);
+            nanos[measured++] = perCall;
+            if (perCall > timeLimitNanos) {
+                break;
+            }
+        }
+        if (measured < MIN_SIZES) {
+            throw new IllegalStateException("Only " + measured + " sizes within the time limit, need "
+                    + MIN_SIZES + ": " + Arrays.toString(Arrays.copyOf(sizes, measured)));
+        }
+        return fit(Arrays.copyOf(sizes, measured), Arrays.copyOf(nanos, measured));
+    }
+
+    /**
+     * Same as {@link #estimate()}, then fails the running test if the best fit grows faster than {@code max}.
+     *
+     * @throws AssertionError if it does.
+     */
+    public Estimate assertComplexityAtMost(Complexity max) {
+        return checkAtMost(estimate(), max);
+    }
+
+    /**
+     * @throws AssertionError if the best fit grows faster than {@code max}.
+     */
+    static Estimate checkAtMost(Estimate estimate, Complexity max) {
+        if (estimate.best.compareTo(max) > 0) {
+            Assert.fail("Expected at most " + max + ", but " + estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return median nanos per call.
+     */
+    private double measure(int size) {
+        for (int i = 0; i < warmup; i++) {
+            run(inputs.apply(size));
+        }
+        if (size == sizes[0]) {
+            // the first size also waits for the JIT, or it looks slower than it is and flattens the curve.
+            for (long start = System.nanoTime(); System.nanoTime() - start < WARMUP_NANOS; ) {
+                run(inputs.apply(size));
+            }
+        }
+        I input = inputs.apply(size);
+        long start = System.nanoTime();
+        run(input);
+        long single = Math.max(1, System.nanoTime() - start);
+        int repetitions = (int) Math.max(1, Math.min(MAX_REPETITIONS, MIN_TRIAL_NANOS / single));
+        List<I> batch = new ArrayList<>(repetitions);
+        double[] results = new double[trials];
+        for (int trial = 0; trial < trials; trial++) {
+            batch.clear();
+            for (int i = 0; i < repetitions; i++) {
+                batch.add(inputs.apply(size));
+            }
+            start = System.nanoTime();
+            for (I each : batch) {
+                run(each);
+            }
+            results[trial] = (double) (System.nanoTime() - start) / repetitions;
+        }
+        Arrays.sort(results);
+        return results[trials / 2];
+    }
+
+    private void run(I input) {
+        sink = solution.apply(input);
+    }
+
+    /**
+     * Fits measured times against every class.
+     */
+    static Estimate fit(int[] sizes, double[] nanos) {
+        double max = sizes[sizes.length - 1];
+        List<Fit> fits = new ArrayList<>();
+        for (Complexity complexity : Complexity.values()) {
+            double products = 0;
+            double squares = 0;
+            double[] costs = new double[sizes.length];
+            // residuals relative to the times, so small sizes count as much as big ones.
+            for (int i = 0; i < sizes.length; i++) {
+                costs[i] = complexity.relativeCost(sizes[i], max) / Math.max(nanos[i], 1);
+                products += costs[i];
+                squares += costs[i] * costs[i];
+            }
+            double coefficient = squares == 0 ? 0 : products / squares;
+            double residuals = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                double residual = 1 - coefficient * costs[i];
+                residuals += residual * residual;
+            }
+            double error = Math.sqrt(residuals / sizes.length);
+            fits.add(new Fit(complexity, coefficient, error));
+        }
+        List<Fit> ranked = new ArrayList<>(fits);
+        Collections.sort(ranked, new Comparator<Fit>() {
+            @Override
+            public int compare(Fit a, Fit b) {
+                int byError = Double.compare(a.error, b.error);
+                // equal fits, the slower growth is the simpler explanation.
+                return byError != 0 ? byError : a.complexity.compareTo(b.complexity);
+            }
+        });
+        Fit best = ranked.get(0);
+        Fit runnerUp = ranked.get(1);
+        double confidence = runnerUp.error == 0 ? 0 : 1 - best.error / runnerUp.error;
+        return new Estimate(best.complexity, confidence, sizes, nanos, fits);
+    }
+
+    /**
+     * One class fitted to the timings.
+     */
+    public static final class Fit {
+        public final Complexity complexity;
+        /**
+         * Nanos at the largest size predicted by the fit.
+         */
+        public final double predictedNanos;
+        /**
+         * Root mean square of the residuals relative to the times, lower fits better.
+         */
+        public final double error;
+
+        Fit(Complexity complexity, double predictedNanos, double error) {
+            this.complexity = complexity;
+            this.predictedNanos = predictedNanos;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return complexity + " error " + String.format("%.3f", error);
+        }
+    }
+
+    public static final class Estimate {
+        public final Complexity best;
+        /**
+         * 0 to 1, see {@link ComplexityEstimator}.
+         */
+        public final double confidence;
+        public final int[] sizes;
+        /**
+         * Median nanos per call of every size.
+         */
+        public final double[] nanos;
+        /**
+         * Every class, in {@link Complexity} order.
+         */
+        public final List<Fit> fits;
+
+        Estimate(Complexity best, double confidence, int[] sizes, double[] nanos, List<Fit> fits) {
+            this.best = best;
+            this.confidence = confidence;
+            this.sizes = sizes;
+            this.nanos = nanos;
+            this.fits = Collections.unmodifiableList(fits);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("best fit ").append(best)
+                    .append(String.format(" (confidence %.2f)", confidence)).append(", timings:");
+            for (int i = 0; i < sizes.length; i++) {
+                builder.append(String.format(" n=%d %.0f ns", sizes[i], nanos[i]));
+            }
+            return builder.append(", fits: ").append(fits).toString();
+        }
+    }
+}
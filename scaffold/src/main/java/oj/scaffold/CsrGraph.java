@@ -0,0 +1,273 @@
+package oj.scaffold;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Graph in compressed sparse row form: the arcs out of node {@code u} are {@code targets[offsets[u]]} to
+ * {@code targets[offsets[u + 1] - 1]}, with {@code weights} at the same indices if the graph is weighted.
+ * Two or three ints per arc and n + 1 for the offsets, instead of a boxed {@code List<List<Integer>>}.
+ * <p>
+ * Parses LeetCode edge lists, like [[0,1],[1,2]] or [[0,1,5],[1,2,3]] with weights, in one pass into flat arrays,
+ * then a counting sort by source lays out the rows. An undirected edge is stored as two arcs.
+ * Arcs of a node keep the order of the edge list.
+ * <pre>
+ * CsrGraph graph = CsrGraph.parse("[[0,1,4],[0,2,1]]", 3, false);
+ * for (int i = graph.start(u); i &lt; graph.end(u); i++) {
+ *     relax(graph.target(i), graph.weight(i));
+ * }
+ * </pre>
+ *
+ * @author zsmallx
+ * @since 2020/06/16
+ */
+public final class CsrGraph {
+    private final int nodes;
+    private final boolean directed;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CsrGraph(int nodes, boolean directed, int[] offsets, int[] targets, int[] weights) {
+        this.nodes = nodes;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Receives the arcs out of one node.
+     */
+    public interface NeighborConsumer {
+        /**
+         * @param weight 0 if the graph is unweighted.
+         */
+        void accept(int target, int weight);
+    }
+
+    /**
+     * @param text     edge list, [u,v] or [u,v,w] rows, all of one kind.
+     * @param nodes    nodes 0 to nodes - 1, negative to take the largest node in the edges plus 1.
+     * @param directed false to store every edge both ways.
+     * @throws IllegalArgumentException if the text is not an edge list or a node is out of range.
+     */
+    public static CsrGraph parse(CharSequence text, int nodes, boolean directed) {
+        return parse(new LiteralScanner(text), nodes, directed);
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #parse(CharSequence, int, boolean)
+     */
+    public static CsrGraph parse(Reader reader, int nodes, boolean directed) throws IOException {
+        try {
+            return parse(new LiteralScanner(reader), nodes, directed);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @see #parse(CharSequence, int, boolean)
+     */
+    public static CsrGraph parse(Path file, int nodes, boolean directed) throws IOException {
+        return parse(new LiteralScanner(new ByteBufferReader(OjUtils.map(file))), nodes, directed);
+    }
+
+    /**
+     * @param edges {u,v} or {u,v,w} rows, all of one kind.
+     * @see #parse(CharSequence, int, boolean)
+     */
+    public static CsrGraph of(int[][] edges, int nodes, boolean directed) {
+        int[] from = new int[edges.length];
+        int[] to = new int[edges.length];
+        int[] weights = null;
+        for (int i = 0; i < edges.length; i++) {
+            int[] edge = edges[i];
+            if (edge.length != 2 && edge.length != 3 || i > 0 && edge.length != edges[0].length) {
+                throw new IllegalArgumentException("Bad edge " + i + ": " + Arrays.toString(edge));
+            }
+            from[i] = edge[0];
+            to[i] = edge[1];
+            if (edge.length == 3) {
+                if (weights == null) {
+                    weights = new int[edges.length];
+                }
+                weights[i] = edge[2];
+            }
+        }
+        return build(from, to, weights, edges.length, nodes, directed);
+    }
+
+    private static CsrGraph parse(LiteralScanner scanner, int nodes, boolean directed) {
+        int[] from = new int[16];
+        int[] to = new int[16];
+        int[] weights = null;
+        int count = 0;
+        scanner.expect('[');
+        if (!scanner.consumeIf(']')) {
+            do {
+                if (count == from.length) {
+                    from = Arrays.copyOf(from, count << 1);
+                    to = Arrays.copyOf(to, count << 1);
+                    if (weights != null) {
+                        weights = Arrays.copyOf(weights, count << 1);
+                    }
+                }
+                scanner.expect('[');
+                from[count] = scanner.nextInt();
+                scanner.expect(',');
+                to[count] = scanner.nextInt();
+                boolean weighted = scanner.consumeIf(',');
+                if (count == 0 && weighted) {
+                    weights = new int[from.length];
+                }
+                if (weighted != (weights != null)) {
+                    throw new IllegalArgumentException("Bad edge " + count + ", expect " + (weights != null ? 3 : 2)
+                            + " values like the first one, near " + scanner.position());
+                }
+                if (weighted) {
+                    weights[count] = scanner.nextInt();
+                }
+                scanner.expect(']');
+                count++;
+            } while (scanner.consumeIf(','));
+            scanner.expect(']');
+        }
+        scanner.expectEnd();
+        return build(from, to, weights, count, nodes, directed);
+    }
+
+    /**
+     * Counting sort of the edges by source.
+     */
+    private static CsrGraph build(int[] from, int[] to, int[] weights, int edges, int nodes, boolean directed) {
+        if (nodes < 0) {
+            nodes = 0;
+            for (int i = 0; i < edges; i++) {
+                nodes = Math.max(nodes, Math.max(from[i], to[i]) + 1);
+            }
+        }
+        int[] offsets = new int[nodes + 1];
+        for (int i = 0; i < edges; i++) {
+            if (from[i] < 0 || from[i] >= nodes || to[i] < 0 || to[i] >= nodes) {
+                throw new IllegalArgumentException("Bad edge " + i + ": " + from[i] + " -> " + to[i]
+                        + ", nodes: " + nodes);
+            }
+            offsets[from[i] + 1]++;
+            if (!directed) {
+                offsets[to[i] + 1]++;
+            }
+        }
+        for (int u = 0; u < nodes; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int arcs = offsets[nodes];
+        int[] targets = new int[arcs];
+        int[] arcWeights = weights == null ? null : new int[arcs];
+        int[] next = Arrays.copyOf(offsets, nodes);
+        for (int i = 0; i < edges; i++) {
+            int arc = next[from[i]]++;
+            targets[arc] = to[i];
+            if (arcWeights != null) {
+                arcWeights[arc] = weights[i];
+            }
+            if (!directed) {
+                arc = next[to[i]]++;
+                targets[arc] = from[i];
+                if (arcWeights != null) {
+                    arcWeights[arc] = weights[i];
+                }
+            }
+        }
+        return new CsrGraph(nodes, directed, offsets, targets, arcWeights);
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+
+    /**
+     * @return stored arcs, twice the edges if undirected.
+     */
+    public int arcs() {
+        return targets.length;
+    }
+
+    public boolean directed() {
+        return directed;
+    }
+
+    public boolean weighted() {
+        return weights != null;
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * @return first arc index of {@code u}.
+     */
+    public int start(int u) {
+        return offsets[u];
+    }
+
+    /**
+     * @return arc index after the last one of {@code u}.
+     */
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * @return weight of the arc, 0 if the graph is unweighted.
+     */
+    public int weight(int arc) {
+        return weights == null ? 0 : weights[arc];
+    }
+
+    public void forEachNeighbor(int u, NeighborConsumer consumer) {
+        for (int arc = offsets[u], end = offsets[u + 1]; arc < end; arc++) {
+            consumer.accept(targets[arc], weights == null ? 0 : weights[arc]);
+        }
+    }
+
+    /**
+     * @return copy of the targets of {@code u}.
+     */
+    public int[] neighbors(int u) {
+        return Arrays.copyOfRange(targets, offsets[u], offsets[u + 1]);
+    }
+
+    /**
+     * The backing array, not a copy, n + 1 long.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * The backing array, not a copy.
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * The backing array, not a copy, null if unweighted.
+     */
+    public int[] weights() {
+        return weights;
+    }
+}
@@ -0,0 +1,38 @@
+package oj.scaffold;
+
+/**
+ * Decimal text of a long, formatted right aligned into a caller owned char array,
+ * so the writers of this scaffold print numbers without allocating.
+ *
+ * @author zsmallx
+ * @since 2020/06/18
+ */
+public final class DecimalDigits {
+    /**
+     * Chars of the longest long, {@link Long#MIN_VALUE}.
+     */
+    public static final int MAX_LENGTH = 20;
+
+    private DecimalDigits() {
+    }
+
+    /**
+     * Writes the digits, and the sign, so they end at {@code digits.length}.
+     *
+     * @param digits at least {@link #MAX_LENGTH} long, or long enough for the value.
+     * @return index of the first char.
+     */
+    public static int toDigits(long value, char[] digits) {
+        int i = digits.length;
+        // works on the negative side, so Long.MIN_VALUE needs no special case.
+        long negative = value < 0 ? value : -value;
+        do {
+            digits[--i] = (char) ('0' - negative % 10);
+            negative /= 10;
+        } while (negative != 0);
+        if (value < 0) {
+            digits[--i] = '-';
+        }
+        return i;
+    }
+}
@@ -0,0 +1,160 @@
+package oj.scaffold;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded {@code w * 10^q} to double, for a decimal already scanned into an integer significand,
+ * so no text is built and {@link Double#parseDouble(String)} is left for the rare inputs the fast paths can
+ * not decide.
+ * <p>
+ * Clinger's exact path when {@code w} and {@code 10^q} are both exact doubles, otherwise Eisel-Lemire:
+ * one or two 64 by 64 bit multiplications with a truncated 128 bit power of five, see Daniel Lemire,
+ * "Number Parsing at a Gigabyte per Second". The powers are computed once with {@link BigInteger}.
+ *
+ * @author zsmallx
+ * @since 2020/06/18
+ */
+public final class DoubleConversion {
+    /**
+     * Significand digits that always fit an unsigned long.
+     */
+    public static final int MAX_DIGITS = 19;
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+    private static final int MANTISSA_BITS = 52;
+    private static final int MIN_BINARY_EXPONENT = -1023;
+    private static final int INFINITE_POWER = 0x7FF;
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * High and low 64 bits of 5^q for q from {@link #MIN_EXPONENT}, normalized so the top bit is set.
+     */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private DoubleConversion() {
+    }
+
+    /**
+     * @param w unsigned significand.
+     * @return {@code w * 10^q} rounded to nearest even, infinite beyond double.
+     */
+    public static double toDouble(boolean negative, long w, int q) {
+        if (q >= -22 && q <= 22 && Long.compareUnsigned(w, 1L << 53) <= 0) {
+            double value = q < 0 ? (double) w / EXACT_POWERS_OF_TEN[-q] : (double) w * EXACT_POWERS_OF_TEN[q];
+            return negative ? -value : value;
+        }
+        long bits = eiselLemire(w, q);
+        if (bits < 0) {
+            return parse(negative, Long.toUnsignedString(w), q);
+        }
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    /**
+     * Exact fallback.
+     *
+     * @param digits decimal digits of the significand.
+     */
+    static double parse(boolean negative, CharSequence digits, int q) {
+        return Double.parseDouble((negative ? "-" : "") + digits + "E" + q);
+    }
+
+    /**
+     * @return bits of the positive double, or -1 if the truncated power leaves it undecided.
+     */
+    private static long eiselLemire(long w, int q) {
+        if (w == 0 || q < MIN_EXPONENT) {
+            return 0;
+        }
+        if (q > MAX_EXPONENT) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+        int index = (q - MIN_EXPONENT) << 1;
+        long high = multiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // 55 bits are enough unless the bits below them are all ones, then the lower half of the power decides.
+        if ((high & 0x1FF) == 0x1FF) {
+            long carry = multiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += carry;
+            if (Long.compareUnsigned(carry, low) > 0) {
+                high++;
+            }
+        }
+        if (low == -1L && (q < -27 || q > 55)) {
+            return -1;
+        }
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros - MIN_BINARY_EXPONENT;
+        if (power2 <= 0) {
+            // subnormal, unless rounding carries into the smallest normal.
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            return mantissa;
+        }
+        // exactly halfway is only possible for small q, then round to even instead of up.
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && mantissa << shift == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << MANTISSA_BITS) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        return mantissa | (long) power2 << MANTISSA_BITS;
+    }
+
+    /**
+     * High 64 bits of the unsigned 128 bit product.
+     */
+    private static long multiplyHigh(long a, long b) {
+        long aLow = a & 0xFFFFFFFFL;
+        long aHigh = a >>> 32;
+        long bLow = b & 0xFFFFFFFFL;
+        long bHigh = b >>> 32;
+        long lowHigh = aHigh * bLow;
+        // at most 2^64 - 1, unsigned.
+        long cross = ((aLow * bLow) >>> 32) + (lowHigh & 0xFFFFFFFFL) + aLow * bHigh;
+        return aHigh * bHigh + (lowHigh >>> 32) + (cross >>> 32);
+    }
+
+    private static long[] powersOfFive() {
+        long[] powers = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) << 1];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger power = five.pow(Math.abs(q));
+            BigInteger truncated;
+            if (q >= 0) {
+                int bits = power.bitLength();
+                truncated = bits <= 128 ? power.shiftLeft(128 - bits) : power.shiftRight(bits - 128);
+            } else {
+                // reciprocal, rounded up.
+                int bits = power.bitLength();
+                int scale = q >= -27 ? bits + 127 : 2 * bits + 128;
+                truncated = BigInteger.ONE.shiftLeft(scale).divide(power).add(BigInteger.ONE);
+                if (truncated.bitLength() > 128) {
+                    truncated = truncated.shiftRight(truncated.bitLength() - 128);
+                }
+            }
+            int index = (q - MIN_EXPONENT) << 1;
+            powers[index] = truncated.shiftRight(64).longValue();
+            powers[index + 1] = truncated.longValue();
+        }
+        return powers;
+    }
+}
@@ -0,0 +1,94 @@
+package oj.scaffold;
+
+import java.util.Arrays;
+
+/**
+ * Compact jagged int rows, like [[1,2],[3],[]], without boxing.
+ * All values live in one flat array, row {@code r} is {@code values[offsets[r]..offsets[r + 1])}.
+ * <p>
+ * {@link #asLists()} gives a read-only {@code List<List<Integer>>} view for assertions written
+ * against {@link OjUtils#toListList(String, OjUtils.Creator)}, values are boxed only when read.
+ *
+ * @author zsmallx
+ * @since 2020/05/24
+ */
+public final class IntListList extends JaggedRows<Integer> {
+    private final int[] values;
+
+    /**
+     * @param values  flat values of all rows in order.
+     * @param offsets start of every row in {@code values} followed by the end of the last row,
+     *                so {@code offsets.length - 1} rows.
+     */
+    public IntListList(int[] values, int[] offsets) {
+        super(values.length, offsets);
+        this.values = values;
+    }
+
+    /**
+     * Copies jagged rows into the compact form.
+     */
+    public static IntListList of(int[][] rows) {
+        int total = 0;
+        for (int[] row : rows) {
+            total += row.length;
+        }
+        int[] values = new int[total];
+        int[] offsets = new int[rows.length + 1];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, values, offsets[i], rows[i].length);
+            offsets[i + 1] = offsets[i] + rows[i].length;
+        }
+        return new IntListList(values, offsets);
+    }
+
+    public int get(int row, int column) {
+        return values[index(row, column)];
+    }
+
+    /**
+     * @return copy of the row.
+     */
+    public int[] row(int row) {
+        return Arrays.copyOfRange(values, offsets[row], offsets[row + 1]);
+    }
+
+    /**
+     * @return backing flat values, shared, not copied.
+     */
+    public int[] values() {
+        return values;
+    }
+
+    public int[][] toIntMatrix() {
+        int[][] result = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = row(i);
+        }
+        return result;
+    }
+
+    @Override
+    Integer boxed(int index) {
+        return values[index];
+    }
+
+    @Override
+    int hashValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    void appendValue(StringBuilder builder, int index) {
+        builder.append(values[index]);
+    }
+
+    @Override
+    boolean sameValues(JaggedRows<?> other, int end) {
+        int[] otherValues = ((IntListList) other).values;
+        for (int i = 0; i < end; i++) {
+            if (values[i] != otherValues[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package oj.scaffold;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Rectangular int matrix in one flat row-major array, cell (r, c) is {@code data[r * columns + c]}.
+ * An alternative to int[][] for grid problems: no header per row and rows sit next to each other in memory.
+ *
+ * @author zsmallx
+ * @since 2020/05/24
+ */
+public final class IntMatrix {
+    private final int rows;
+    private final int columns;
+    private final int[] data;
+
+    public IntMatrix(int rows, int columns) {
+        this(rows, columns, new int[checkedSize(rows, columns)]);
+    }
+
+    /**
+     * Wraps {@code data} as it is, not copied.
+     *
+     * @param data row-major values, exactly {@code rows * columns} of them.
+     */
+    public IntMatrix(int rows, int columns, int[] data) {
+        if (data.length != checkedSize(rows, columns)) {
+            throw new IllegalArgumentException("Bad data length: " + data.length + ", expect " + rows + " * " + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    /**
+     * Copies a rectangular int[][] into the flat layout, one arraycopy per row.
+     *
+     * @throws IllegalArgumentException if rows differ in length.
+     */
+    public static IntMatrix of(int[][] matrix) {
+        int rows = matrix.length;
+        int columns = rows == 0 ? 0 : matrix[0].length;
+        int[] data = new int[checkedSize(rows, columns)];
+        for (int i = 0; i < rows; i++) {
+            if (matrix[i].length != columns) {
+                throw new IllegalArgumentException("Not a matrix, row " + i + " has " + matrix[i].length
+                        + " columns, expect " + columns);
+            }
+            System.arraycopy(matrix[i], 0, data, i * columns, columns);
+        }
+        return new IntMatrix(rows, columns, data);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int get(int row, int column) {
+        return data[index(row, column)];
+    }
+
+    public void set(int row, int column, int value) {
+        data[index(row, column)] = value;
+    }
+
+    /**
+     * No row/column check, for hot loops that already know their bounds.
+     * A bad column may silently read a neighbouring row.
+     */
+    public int getUnchecked(int row, int column) {
+        return data[row * columns + column];
+    }
+
+    /**
+     * No row/column check, see {@link #getUnchecked(int, int)}.
+     */
+    public void setUnchecked(int row, int column, int value) {
+        data[row * columns + column] = value;
+    }
+
+    /**
+     * @return start of the row in {@link #data()}.
+     */
+    public int rowOffset(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row: " + row);
+        }
+        return row * columns;
+    }
+
+    /**
+     * @return writable view of the row, shares the backing array.
+     */
+    public IntBuffer row(int row) {
+        return IntBuffer.wrap(data, rowOffset(row), columns).slice();
+    }
+
+    /**
+     * @return backing row-major array, shared, not copied.
+     */
+    public int[] data() {
+        return data;
+    }
+
+    public int[][] toIntMatrix() {
+        int[][] result = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = Arrays.copyOfRange(data, i * columns, (i + 1) * columns);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntMatrix)) return false;
+        IntMatrix other = (IntMatrix) o;
+        return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return (rows * 31 + columns) * 31 + Arrays.hashCode(data);
+    }
+
+    /**
+     * @return in LeetCode format, like [[1,2],[3,4]].
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            builder.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                builder.append(data[i * columns + j]);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("row: " + row + ", column: " + column
+                    + ", size: " + rows + " * " + columns);
+        }
+        return row * columns + column;
+    }
+
+    private static int checkedSize(int rows, int columns) {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad matrix size: " + rows + " * " + columns);
+        }
+        return rows * columns;
+    }
+}
@@ -0,0 +1,162 @@
+package oj.scaffold;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Row offsets shared by {@link IntListList} and {@link LongListList}: all values live in one flat primitive array,
+ * row {@code r} is {@code values[offsets[r]..offsets[r + 1])}. Subclasses only read and box single values.
+ *
+ * @param <E> boxed value type of the list views.
+ * @author zsmallx
+ * @since 2020/06/18
+ */
+abstract class JaggedRows<E> {
+    final int[] offsets;
+    final int rows;
+
+    /**
+     * @param valueCount length of the flat values.
+     */
+    JaggedRows(int valueCount, int[] offsets) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] > valueCount) {
+            throw new IllegalArgumentException("Bad offsets: " + Arrays.toString(offsets));
+        }
+        this.offsets = offsets;
+        this.rows = offsets.length - 1;
+    }
+
+    /**
+     * @return count of rows.
+     */
+    public int size() {
+        return rows;
+    }
+
+    public int rowSize(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    /**
+     * @return backing row offsets, shared, not copied. Row {@code r} starts at {@code offsets[r]}
+     * and ends before {@code offsets[r + 1]}.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @return index of the value in the flat values.
+     */
+    final int index(int row, int column) {
+        if (column < 0 || column >= rowSize(row)) {
+            throw new IndexOutOfBoundsException("row: " + row + ", column: " + column);
+        }
+        return offsets[row] + column;
+    }
+
+    abstract E boxed(int index);
+
+    abstract int hashValue(int index);
+
+    abstract void appendValue(StringBuilder builder, int index);
+
+    /**
+     * @param other same class and same offsets.
+     */
+    abstract boolean sameValues(JaggedRows<?> other, int end);
+
+    /**
+     * @return read-only view, equal to a {@code List<List<E>>} of the same values, boxed only when read.
+     */
+    public List<List<E>> asLists() {
+        return new ListsView();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JaggedRows<?> other = (JaggedRows<?>) o;
+        if (rows != other.rows) return false;
+        for (int i = 0; i <= rows; i++) {
+            if (offsets[i] != other.offsets[i]) return false;
+        }
+        return sameValues(other, offsets[rows]);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < rows; i++) {
+            int rowHash = 1;
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                rowHash = 31 * rowHash + hashValue(j);
+            }
+            hash = 31 * hash + rowHash;
+        }
+        return hash;
+    }
+
+    /**
+     * @return in LeetCode format, like [[1,2],[3]].
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('[');
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                if (j > offsets[i]) {
+                    builder.append(',');
+                }
+                appendValue(builder, j);
+            }
+            builder.append(']');
+        }
+        return builder.append(']').toString();
+    }
+
+    private final class ListsView extends AbstractList<List<E>> implements RandomAccess {
+        @Override
+        public List<E> get(int index) {
+            if (index < 0 || index >= rows) {
+                throw new IndexOutOfBoundsException("row: " + index);
+            }
+            return new RowView(offsets[index], offsets[index + 1]);
+        }
+
+        @Override
+        public int size() {
+            return rows;
+        }
+    }
+
+    private final class RowView extends AbstractList<E> implements RandomAccess {
+        private final int start;
+        private final int end;
+
+        RowView(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("column: " + index);
+            }
+            return boxed(start + index);
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+}
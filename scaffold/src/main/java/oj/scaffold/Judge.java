@@ -0,0 +1,357 @@
+package oj.scaffold;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.junit.Assert;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a solution the way an online judge does: every case under a wall-clock time limit and a memory budget,
+ * after some unmeasured JIT warmup runs.
+ * <p>
+ * Time is wall-clock nanos of the solution call alone, input parsing excluded. Memory is the bytes allocated by
+ * the solution thread during the call, read from the {@code com.sun.management.ThreadMXBean} counters, so it is
+ * an upper bound of the peak heap the solution needs, -1 if the JVM has no such counters.
+ * <p>
+ * Usage:
+ * <pre>
+ * new Judge&lt;int[][], Integer&gt;(solution::minPathSum)
+ *         .warmup(10)
+ *         .timeLimit(1, TimeUnit.SECONDS)
+ *         .memoryLimit(256 &lt;&lt; 20)
+ *         .assertAccepted(Arrays.asList(
+ *                 Judge.Case.parsed("[[1,3,1],[1,5,1],[4,2,1]]", OjUtils::toIntMatrix, 7)));
+ * </pre>
+ *
+ * @param <I> solution input.
+ * @param <O> solution output.
+ * @author zsmallx
+ * @since 2020/06/03
+ */
+public final class Judge<I, O> {
+    private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "oj-judge");
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final Function<? super I, ? extends O> solution;
+    private int warmup;
+    private long timeLimitNanos = TimeUnit.SECONDS.toNanos(1);
+    private long memoryLimitBytes = Long.MAX_VALUE;
+    private ExecutorService worker;
+
+    public Judge(Function<? super I, ? extends O> solution) {
+        this.solution = solution;
+    }
+
+    /**
+     * @param iterations unmeasured runs of every case before the measured one, 0 by default.
+     */
+    public Judge<I, O> warmup(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Bad warmup iterations: " + iterations);
+        }
+        this.warmup = iterations;
+        return this;
+    }
+
+    /**
+     * Wall-clock limit of every single run, 1 second by default.
+     */
+    public Judge<I, O> timeLimit(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("Bad time limit: " + time);
+        }
+        this.timeLimitNanos = unit.toNanos(time);
+        return this;
+    }
+
+    /**
+     * Limit of bytes allocated by a single run, unlimited by default.
+     */
+    public Judge<I, O> memoryLimit(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Bad memory limit: " + bytes);
+        }
+        this.memoryLimitBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Runs every case in order and reports each, never fails.
+     */
+    public List<Result> run(List<? extends Case<? extends I, ?>> cases) {
+        List<Result> results = new ArrayList<>(cases.size());
+        for (int i = 0; i < cases.size(); i++) {
+            results.add(judge(i, cases.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Same as {@link #run(List)}, then fails the running test with every case not {@link Verdict#ACCEPTED}.
+     *
+     * @throws AssertionError if any case is not accepted.
+     */
+    public List<Result> assertAccepted(List<? extends Case<? extends I, ?>> cases) {
+        List<Result> results = run(cases);
+        StringBuilder failures = new StringBuilder();
+        for (Result result : results) {
+            if (result.verdict != Verdict.ACCEPTED) {
+                failures.append('\n').append(result);
+            }
+        }
+        if (failures.length() > 0) {
+            Assert.fail("Not accepted:" + failures);
+        }
+        return results;
+    }
+
+    private Result judge(int index, Case<? extends I, ?> testCase) {
+        String name = testCase.name != null ? testCase.name : "case " + index;
+        Measurement measurement = null;
+        for (int i = 0; i <= warmup; i++) {
+            measurement = measure(testCase.input.get());
+            if (measurement.verdict != null) {
+                break;
+            }
+        }
+        return verdict(name, measurement, testCase.expected, timeLimitNanos, memoryLimitBytes);
+    }
+
+    /**
+     * Runs once on the worker thread, sets {@link Measurement#verdict} only on a time limit or runtime error.
+     */
+    private Measurement measure(final I input) {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(DAEMON_THREADS);
+        }
+        Future<Measurement> future = worker.submit(new Callable<Measurement>() {
+            @Override
+            public Measurement call() {
+                return measureHere(solution, input);
+            }
+        });
+        try {
+            return future.get(timeLimitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // a solution ignoring interrupts keeps its thread, later cases get a fresh one.
+            future.cancel(true);
+            worker.shutdownNow();
+            worker = null;
+            return Measurement.killed(timeLimitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while judging", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Judge failed", e.getCause());
+        }
+    }
+
+    /**
+     * Calls the solution once on the current thread, measuring time and allocation of this thread.
+     * Sets {@link Measurement#verdict} only on a runtime error.
+     */
+    static <I> Measurement measureHere(Function<? super I, ?> solution, I input) {
+        Measurement measurement = new Measurement();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            measurement.output = solution.apply(input);
+        } catch (Throwable e) {
+            measurement.verdict = Verdict.RUNTIME_ERROR;
+            measurement.error = e.toString();
+        }
+        measurement.nanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        measurement.allocatedBytes = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return measurement;
+    }
+
+    /**
+     * Judges a measured run: an error verdict, then time, then memory, then the output.
+     */
+    static Result verdict(String name, Measurement measurement, Object expected,
+                          long timeLimitNanos, long memoryLimitBytes) {
+        if (measurement.verdict != null) {
+            return new Result(name, measurement.verdict, measurement, measurement.error);
+        }
+        if (measurement.nanos > timeLimitNanos) {
+            return new Result(name, Verdict.TIME_LIMIT_EXCEEDED, measurement,
+                    "took " + measurement.nanos + " ns, limit " + timeLimitNanos);
+        }
+        if (measurement.allocatedBytes > memoryLimitBytes) {
+            return new Result(name, Verdict.MEMORY_LIMIT_EXCEEDED, measurement,
+                    "allocated " + measurement.allocatedBytes + " bytes, limit " + memoryLimitBytes);
+        }
+        String wrong = check(expected, measurement.output);
+        return new Result(name, wrong == null ? Verdict.ACCEPTED : Verdict.WRONG_ANSWER, measurement, wrong);
+    }
+
+    /**
+     * @return null if accepted, or why not.
+     */
+    private static String check(Object expected, Object actual) {
+        if (expected instanceof Matcher) {
+            Matcher<?> matcher = (Matcher<?>) expected;
+            if (matcher.matches(actual)) {
+                return null;
+            }
+            StringDescription description = new StringDescription();
+            description.appendText("expected ").appendDescriptionOf(matcher).appendText(", but ");
+            matcher.describeMismatch(actual, description);
+            return description.toString();
+        }
+        if (Objects.deepEquals(expected, actual)) {
+            return null;
+        }
+        return "expected " + deepToString(expected) + ", but was " + deepToString(actual);
+    }
+
+    private static String deepToString(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            String text = Arrays.deepToString(new Object[]{value});
+            return text.substring(1, text.length() - 1);
+        }
+        return String.valueOf(value);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public enum Verdict {
+        ACCEPTED, WRONG_ANSWER, TIME_LIMIT_EXCEEDED, MEMORY_LIMIT_EXCEEDED, RUNTIME_ERROR
+    }
+
+    /**
+     * One test case, the input is supplied fresh for every run so solutions may modify it in place.
+     *
+     * @param <I> solution input.
+     * @param <O> expected output, or a {@link Matcher} of it.
+     */
+    public static final class Case<I, O> {
+        final String name;
+        final Supplier<? extends I> input;
+        final Object expected;
+
+        public Case(String name, Supplier<? extends I> input, O expected) {
+            this.name = name;
+            this.input = input;
+            this.expected = expected;
+        }
+
+        public Case(String name, Supplier<? extends I> input, Matcher<? super O> expected) {
+            this.name = name;
+            this.input = input;
+            this.expected = expected;
+        }
+
+        /**
+         * Input parsed from LeetCode text before every run, like {@code OjUtils::toIntMatrix}.
+         */
+        public static <I, O> Case<I, O> parsed(final String text, final Function<String, ? extends I> parser,
+                                               O expected) {
+            return new Case<>(text, new Supplier<I>() {
+                @Override
+                public I get() {
+                    return parser.apply(text);
+                }
+            }, expected);
+        }
+
+        /**
+         * Same as {@link #parsed(String, Function, Object)}, the output is checked by a {@link Matcher}.
+         */
+        public static <I, O> Case<I, O> parsed(final String text, final Function<String, ? extends I> parser,
+                                               Matcher<? super O> expected) {
+            return new Case<I, O>(text, new Supplier<I>() {
+                @Override
+                public I get() {
+                    return parser.apply(text);
+                }
+            }, expected);
+        }
+    }
+
+    /**
+     * Outcome of one case, measured on its last run.
+     */
+    public static final class Result {
+        public final String name;
+        public final Verdict verdict;
+        public final long nanos;
+        /**
+         * Bytes allocated by the solution thread, -1 if unknown.
+         */
+        public final long allocatedBytes;
+        public final Object output;
+        /**
+         * Why not accepted, null if accepted.
+         */
+        public final String message;
+
+        Result(String name, Verdict verdict, Measurement measurement, String message) {
+            this.name = name;
+            this.verdict = verdict;
+            this.nanos = measurement.nanos;
+            this.allocatedBytes = measurement.allocatedBytes;
+            this.output = measurement.output;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + verdict + ", " + String.format("%.3f", nanos / 1e6) + " ms, "
+                    + (allocatedBytes < 0 ? "? " : allocatedBytes + " ") + "bytes"
+                    + (message == null ? "" : ", " + message);
+        }
+    }
+
+    static final class Measurement {
+        Object output;
+        long nanos;
+        long allocatedBytes;
+        Verdict verdict;
+        String error;
+
+        /**
+         * A run given up at its time limit, nothing else is known.
+         */
+        static Measurement killed(long timeLimitNanos) {
+            Measurement measurement = new Measurement();
+            measurement.verdict = Verdict.TIME_LIMIT_EXCEEDED;
+            measurement.nanos = timeLimitNanos;
+            measurement.allocatedBytes = -1;
+            measurement.error = "killed after " + timeLimitNanos + " ns";
+            return measurement;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package oj.scaffold;
+
+import java.util.BitSet;
+
+/**
+ * LeetCode level order values of a tree without boxing, like [1,null,2,3].
+ * Values sit in an int[], null slots are marked in a {@link BitSet}, the value of a null slot is meaningless.
+ * <p>
+ * Follows LeetCode's own format: children of null nodes are omitted and trailing nulls are trimmed.
+ *
+ * @author zsmallx
+ * @since 2020/05/25
+ */
+public final class LevelOrderArray {
+    private final int[] values;
+    private final BitSet nulls;
+    private final int length;
+
+    /**
+     * Wraps as they are, not copied.
+     *
+     * @param values values, only the first {@code length} are used.
+     * @param nulls  null slots.
+     * @param length count of slots, nulls included.
+     */
+    public LevelOrderArray(int[] values, BitSet nulls, int length) {
+        if (length < 0 || length > values.length) {
+            throw new IllegalArgumentException("Bad length: " + length + ", values: " + values.length);
+        }
+        this.values = values;
+        this.nulls = nulls;
+        this.length = length;
+    }
+
+    public static LevelOrderArray of(Integer... values) {
+        int[] ints = new int[values.length];
+        BitSet nulls = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                nulls.set(i);
+            } else {
+                ints[i] = values[i];
+            }
+        }
+        return new LevelOrderArray(ints, nulls, values.length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isNull(int index) {
+        return nulls.get(index);
+    }
+
+    /**
+     * @return value of the slot, meaningless if {@link #isNull(int)}.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+        }
+        return values[index];
+    }
+
+    /**
+     * @return backing values, shared, may be longer than {@link #length()}.
+     */
+    public int[] values() {
+        return values;
+    }
+
+    /**
+     * @return backing null slots, shared.
+     */
+    public BitSet nulls() {
+        return nulls;
+    }
+
+    public Integer[] toIntegerArray() {
+        Integer[] result = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = nulls.get(i) ? null : values[i];
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LevelOrderArray)) return false;
+        LevelOrderArray other = (LevelOrderArray) o;
+        if (length != other.length) return false;
+        for (int i = 0; i < length; i++) {
+            boolean isNull = nulls.get(i);
+            if (isNull != other.nulls.get(i) || (!isNull && values[i] != other.values[i])) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (nulls.get(i) ? 0x7fffffff : values[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * @return in LeetCode format, like [1,null,2].
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length * 4 + 2).append('[');
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            if (nulls.get(i)) {
+                builder.append("null");
+            } else {
+                builder.append(values[i]);
+            }
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,302 @@
+package oj.scaffold;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Linked list as parallel int arrays, node {@code i} is {@code val[i]} followed by {@code next[i]},
+ * {@link #NIL} at the end. The {@link ListNode} free counterpart of {@link TreeArena}: two ints per node,
+ * arrays kept by {@link #clear()} and every parse, {@link ListNode}s built only by {@link #toList()}.
+ * <p>
+ * A list may loop back like LeetCode's {@code pos}, every walk here stops at the cycle entry.
+ *
+ * @author zsmallx
+ * @since 2020/06/12
+ */
+public final class ListArena {
+    public static final int NIL = -1;
+
+    private int[] val;
+    private int[] next;
+    private int size;
+    private int head = NIL;
+
+    public ListArena() {
+        this(16);
+    }
+
+    public ListArena(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Bad capacity: " + capacity);
+        }
+        capacity = Math.max(capacity, 1);
+        val = new int[capacity];
+        next = new int[capacity];
+    }
+
+    public static ListArena of(String text) {
+        return new ListArena().parse(text, -1);
+    }
+
+    public static ListArena of(ListNode head) {
+        return new ListArena().load(head);
+    }
+
+    /**
+     * Replaces the content with the list of the text, reusing the arrays.
+     *
+     * @param text values like [3,2,0,-4].
+     * @param pos  index the tail links back to, negative for no cycle.
+     * @return this.
+     * @throws IllegalArgumentException if the text is not an int list, or {@code pos} is not a node index.
+     */
+    public ListArena parse(CharSequence text, int pos) {
+        return parse(new LiteralScanner(text), pos);
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #parse(CharSequence, int)
+     */
+    public ListArena parse(Reader reader, int pos) throws IOException {
+        try {
+            return parse(new LiteralScanner(reader), pos);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @see #parse(CharSequence, int)
+     */
+    public ListArena parse(Path file, int pos) throws IOException {
+        return parse(new LiteralScanner(new ByteBufferReader(OjUtils.map(file))), pos);
+    }
+
+    private ListArena parse(LiteralScanner scanner, int pos) {
+        clear();
+        scanner.expect('[');
+        if (!scanner.consumeIf(']')) {
+            int tail = NIL;
+            do {
+                int node = newNode(scanner.nextInt());
+                if (tail == NIL) {
+                    head = node;
+                } else {
+                    next[tail] = node;
+                }
+                tail = node;
+            } while (scanner.consumeIf(','));
+            scanner.expect(']');
+            if (pos >= 0) {
+                if (pos >= size) {
+                    throw new IllegalArgumentException("Bad pos: " + pos + ", size is : " + size);
+                }
+                // nodes are appended in list order, so node pos is index pos.
+                next[tail] = pos;
+            }
+        } else if (pos >= 0) {
+            throw new IllegalArgumentException("Bad pos: " + pos + ", size is : 0");
+        }
+        scanner.expectEnd();
+        return this;
+    }
+
+    /**
+     * Replaces the content with a copy of the list, cycle included, reusing the arrays.
+     *
+     * @return this.
+     */
+    public ListArena load(ListNode list) {
+        clear();
+        ListNodeUtils.Cycle cycle = ListNodeUtils.detectCycle(list);
+        int count = cycle != null ? cycle.entryIndex + cycle.length : ListNodeUtils.size(list);
+        ListNode node = list;
+        for (int i = 0; i < count; i++) {
+            int index = newNode(node.val);
+            if (i > 0) {
+                next[index - 1] = index;
+            }
+            node = node.next;
+        }
+        if (count > 0) {
+            head = 0;
+            if (cycle != null) {
+                next[count - 1] = cycle.entryIndex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Builds the {@link ListNode} graph from {@link #head()}, cycle included, only now are the nodes allocated.
+     *
+     * @return head, null for an empty list.
+     */
+    public ListNode toList() {
+        if (head == NIL) {
+            return null;
+        }
+        ListNode[] nodes = new ListNode[size];
+        ListNode first = nodes[head] = new ListNode(val[head]);
+        for (int node = head; next[node] != NIL; node = next[node]) {
+            int following = next[node];
+            if (nodes[following] != null) {
+                nodes[node].next = nodes[following];
+                break;
+            }
+            nodes[following] = new ListNode(val[following]);
+            nodes[node].next = nodes[following];
+        }
+        return first;
+    }
+
+    /**
+     * @return values from {@link #head()} in order, each node once even if the list loops.
+     */
+    public int[] toArray() {
+        int entry = cycleEntry();
+        int[] values = new int[size];
+        int count = 0;
+        boolean entered = false;
+        for (int node = head; node != NIL; node = next[node]) {
+            if (node == entry) {
+                if (entered) {
+                    break;
+                }
+                entered = true;
+            }
+            values[count++] = val[node];
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Brent's cycle detection over the indices, O(1) memory.
+     *
+     * @return first node on the cycle, {@link #NIL} if the list ends.
+     */
+    public int cycleEntry() {
+        if (head == NIL) {
+            return NIL;
+        }
+        int power = 1;
+        int length = 1;
+        int tortoise = head;
+        int hare = next[head];
+        while (hare != NIL && hare != tortoise) {
+            if (power == length) {
+                tortoise = hare;
+                power <<= 1;
+                length = 0;
+            }
+            hare = next[hare];
+            length++;
+        }
+        if (hare == NIL) {
+            return NIL;
+        }
+        tortoise = head;
+        hare = head;
+        for (int i = 0; i < length; i++) {
+            hare = next[hare];
+        }
+        while (tortoise != hare) {
+            tortoise = next[tortoise];
+            hare = next[hare];
+        }
+        return tortoise;
+    }
+
+    /**
+     * Appends a node without successor.
+     *
+     * @return its index.
+     */
+    public int newNode(int value) {
+        if (size == val.length) {
+            int capacity = size << 1;
+            val = Arrays.copyOf(val, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        val[size] = value;
+        next[size] = NIL;
+        return size++;
+    }
+
+    /**
+     * Drops every node and keeps the arrays.
+     */
+    public void clear() {
+        size = 0;
+        head = NIL;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return first node, {@link #NIL} for an empty list.
+     */
+    public int head() {
+        return head;
+    }
+
+    public void setHead(int node) {
+        if (node != NIL) {
+            checkNode(node);
+        }
+        head = node;
+    }
+
+    public int val(int node) {
+        checkNode(node);
+        return val[node];
+    }
+
+    public int next(int node) {
+        checkNode(node);
+        return next[node];
+    }
+
+    public void setVal(int node, int value) {
+        checkNode(node);
+        val[node] = value;
+    }
+
+    /**
+     * @param following {@link #NIL}, or any node, linking back closes a cycle that every walk stops at.
+     */
+    public void setNext(int node, int following) {
+        checkNode(node);
+        if (following != NIL) {
+            checkNode(following);
+        }
+        next[node] = following;
+    }
+
+    @Override
+    public String toString() {
+        int[] values = toArray();
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("node: " + node + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package oj.scaffold;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cycle aware helpers for {@link ListNode}s.
+ * Nothing here recurses or allocates per node, and every traversal stops once it is back at the cycle entry,
+ * so lists of any length, with or without a loop, are safe.
+ *
+ * @author zsmallx
+ * @since 2020/05/28
+ */
+public final class ListNodeUtils {
+    private ListNodeUtils() {
+    }
+
+    /**
+     * Where a list loops back, see {@link #detectCycle(ListNode)}.
+     */
+    public static final class Cycle {
+        /**
+         * First node on the cycle.
+         */
+        public final ListNode entry;
+        /**
+         * Index of {@link #entry} from head, the LeetCode {@code pos}.
+         */
+        public final int entryIndex;
+        /**
+         * Count of nodes on the cycle.
+         */
+        public final int length;
+
+        Cycle(ListNode entry, int entryIndex, int length) {
+            this.entry = entry;
+            this.entryIndex = entryIndex;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return "Cycle{entryIndex=" + entryIndex + ", length=" + length + "}";
+        }
+    }
+
+    /**
+     * Brent's cycle detection, O(n) time and O(1) memory.
+     *
+     * @param head list head, may be null.
+     * @return the cycle, null if the list ends.
+     */
+    public static Cycle detectCycle(ListNode head) {
+        if (head == null) {
+            return null;
+        }
+        int power = 1;
+        int length = 1;
+        ListNode tortoise = head;
+        ListNode hare = head.next;
+        while (hare != null && hare != tortoise) {
+            if (power == length) {
+                tortoise = hare;
+                power <<= 1;
+                length = 0;
+            }
+            hare = hare.next;
+            length++;
+        }
+        if (hare == null) {
+            return null;
+        }
+        tortoise = head;
+        hare = head;
+        for (int i = 0; i < length; i++) {
+            hare = hare.next;
+        }
+        int entryIndex = 0;
+        while (tortoise != hare) {
+            tortoise = tortoise.next;
+            hare = hare.next;
+            entryIndex++;
+        }
+        return new Cycle(tortoise, entryIndex, length);
+    }
+
+    /**
+     * @return count of distinct nodes, cycle included once.
+     */
+    public static int size(ListNode head) {
+        Cycle cycle = detectCycle(head);
+        if (cycle != null) {
+            return cycle.entryIndex + cycle.length;
+        }
+        int size = 0;
+        for (ListNode node = head; node != null; node = node.next) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * @return values of every distinct node in order, exactly {@link #size(ListNode)} of them.
+     */
+    public static int[] toArray(ListNode head) {
+        int[] values = new int[size(head)];
+        ListNode node = head;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.val;
+            node = node.next;
+        }
+        return values;
+    }
+
+    /**
+     * Lazy iterator over values of every distinct node, stops before coming back to the cycle entry.
+     * Only the cycle detection walks the list up front, values are read as they are consumed, nothing is buffered.
+     */
+    public static PrimitiveIterator.OfInt iterator(ListNode head) {
+        return new ValueIterator(head, detectCycle(head));
+    }
+
+    /**
+     * Sized if the list loops, the cycle tells its size.
+     *
+     * @see #iterator(ListNode)
+     */
+    public static IntStream stream(ListNode head) {
+        Cycle cycle = detectCycle(head);
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        ValueIterator iterator = new ValueIterator(head, cycle);
+        return StreamSupport.intStream(cycle == null
+                ? Spliterators.spliteratorUnknownSize(iterator, characteristics)
+                : Spliterators.spliterator(iterator, cycle.entryIndex + cycle.length, characteristics), false);
+    }
+
+    /**
+     * Builds a list without boxing.
+     *
+     * @return head, null for no value.
+     */
+    public static ListNode fromArray(int... values) {
+        return fromArray(values, -1);
+    }
+
+    /**
+     * Builds a list and links the tail back to node {@code pos} as LeetCode does, in the same pass.
+     *
+     * @param values node values.
+     * @param pos    index of the cycle entry, negative for no cycle.
+     * @return head, null for no value.
+     * @throws IllegalArgumentException if {@code pos} is not a node index.
+     */
+    public static ListNode fromArray(int[] values, int pos) {
+        if (pos >= values.length) {
+            throw new IllegalArgumentException("Bad pos: " + pos + ", size is : " + values.length);
+        }
+        if (values.length == 0) {
+            return null;
+        }
+        ListNode head = new ListNode(values[0]);
+        ListNode tail = head;
+        ListNode entry = pos == 0 ? head : null;
+        for (int i = 1; i < values.length; i++) {
+            tail.next = new ListNode(values[i]);
+            tail = tail.next;
+            if (i == pos) {
+                entry = tail;
+            }
+        }
+        tail.next = entry;
+        return head;
+    }
+
+    /**
+     * Links the tail of an acyclic list back to node {@code pos}, in one walk that also runs Brent's cycle check.
+     *
+     * @param head list head.
+     * @param pos  index of the cycle entry, negative to leave the list as it is.
+     * @throws IllegalArgumentException if {@code pos} is not a node index, or the list already loops.
+     */
+    public static void setLoopAt(ListNode head, int pos) {
+        if (pos < 0) {
+            return;
+        }
+        ListNode entry = null;
+        ListNode tail = null;
+        ListNode tortoise = head;
+        int power = 1;
+        int length = 1;
+        int index = 0;
+        for (ListNode node = head; node != null; node = node.next, index++) {
+            if (index == pos) {
+                entry = node;
+            }
+            tail = node;
+            if (index > 0) {
+                if (node == tortoise) {
+                    throw new IllegalArgumentException("List already loops at " + detectCycle(head).entryIndex);
+                }
+                if (power == length) {
+                    tortoise = node;
+                    power <<= 1;
+                    length = 0;
+                }
+                length++;
+            }
+        }
+        if (entry == null) {
+            throw new IllegalArgumentException("Bad pos: " + pos + ", size is : " + index);
+        }
+        tail.next = entry;
+    }
+
+    /**
+     * Stops at null, or at the cycle entry when it comes round the second time.
+     */
+    private static final class ValueIterator implements PrimitiveIterator.OfInt {
+        private final ListNode entry;
+        private ListNode node;
+        private boolean enteredCycle;
+
+        ValueIterator(ListNode head, Cycle cycle) {
+            this.node = head;
+            this.entry = cycle == null ? null : cycle.entry;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null && !(enteredCycle && node == entry);
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (node == entry) {
+                enteredCycle = true;
+            }
+            int value = node.val;
+            node = node.next;
+            return value;
+        }
+    }
+}
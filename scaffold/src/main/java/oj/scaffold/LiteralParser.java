@@ -0,0 +1,218 @@
+package oj.scaffold;
+
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull parser for LeetCode values of any type and depth, like [[1,null],["a,]b"],[true,2.5]].
+ * <p>
+ * Every {@link #next()} reads exactly one {@link Event}, commas and whitespace in between are checked and skipped.
+ * The value of the current event is read by the accessor of its type. One value is parsed per parser,
+ * after it only whitespace is allowed.
+ * <pre>
+ * LiteralParser parser = new LiteralParser("[1,[2,null]]");
+ * while (parser.hasNext()) {
+ *     switch (parser.next()) { ... }
+ * }
+ * </pre>
+ * Ints and longs are parsed straight from chars, strings are unescaped JSON style.
+ * {@link Binders} builds typed values on top of it.
+ * <p>
+ * {@link java.io.IOException}s of the underlying reader are rethrown as {@link UncheckedIOException}.
+ *
+ * @author zsmallx
+ * @since 2020/06/09
+ */
+public final class LiteralParser {
+    public enum Event {
+        START_ARRAY,
+        END_ARRAY,
+        /**
+         * Integral number within int, see {@link #intValue()}.
+         */
+        INT,
+        /**
+         * Integral number within long but beyond int, see {@link #longValue()}.
+         */
+        LONG,
+        /**
+         * Any other number, see {@link #doubleValue()}.
+         */
+        DOUBLE,
+        STRING,
+        BOOLEAN,
+        NULL
+    }
+
+    private final LiteralScanner scanner;
+    private Event event;
+    private int depth;
+    /**
+     * True once a value or an inner array is complete at the current depth, so a comma or ']' comes next.
+     */
+    private boolean afterValue;
+    private boolean done;
+    private String stringValue;
+    private boolean booleanValue;
+
+    public LiteralParser(CharSequence text) {
+        this.scanner = new LiteralScanner(text);
+    }
+
+    /**
+     * @param reader input, not closed here.
+     */
+    public LiteralParser(Reader reader) {
+        this.scanner = new LiteralScanner(reader);
+    }
+
+    /**
+     * @return false once the top level value is complete.
+     */
+    public boolean hasNext() {
+        return !done;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the input is not a well formed value.
+     * @throws NoSuchElementException   if the top level value is already complete.
+     */
+    public Event next() {
+        if (done) {
+            throw new NoSuchElementException();
+        }
+        if (depth > 0) {
+            if (scanner.consumeIf(']')) {
+                return endArray();
+            }
+            if (afterValue) {
+                scanner.expect(',');
+            }
+        }
+        int c = scanner.peekToken();
+        switch (c) {
+            case '[':
+                scanner.expect('[');
+                depth++;
+                afterValue = false;
+                return event = Event.START_ARRAY;
+            case '"':
+                stringValue = scanner.nextString();
+                return value(Event.STRING);
+            case 'n':
+                scanner.expectWord("null");
+                return value(Event.NULL);
+            case 't':
+                scanner.expectWord("true");
+                booleanValue = true;
+                return value(Event.BOOLEAN);
+            case 'f':
+                scanner.expectWord("false");
+                booleanValue = false;
+                return value(Event.BOOLEAN);
+            default:
+                if (c != '-' && (c < '0' || c > '9')) {
+                    throw new IllegalArgumentException("Bad input, expect a value at " + scanner.position()
+                            + " but was " + (c >= 0 ? "'" + (char) c + "'" : "end of input"));
+                }
+                if (!scanner.nextNumber()) {
+                    return value(Event.DOUBLE);
+                }
+                long value = scanner.longValue;
+                return value((int) value == value ? Event.INT : Event.LONG);
+        }
+    }
+
+    /**
+     * @return event of the last {@link #next()}, null before the first one.
+     */
+    public Event event() {
+        return event;
+    }
+
+    /**
+     * @return count of arrays open around the current event, a START_ARRAY counts itself, an END_ARRAY does not.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return chars consumed so far, for error messages.
+     */
+    public long position() {
+        return scanner.position();
+    }
+
+    public int intValue() {
+        check(event == Event.INT, "int");
+        return (int) scanner.longValue;
+    }
+
+    /**
+     * Also valid for {@link Event#INT}.
+     */
+    public long longValue() {
+        check(event == Event.INT || event == Event.LONG, "long");
+        return scanner.longValue;
+    }
+
+    /**
+     * Valid for every number event.
+     */
+    public double doubleValue() {
+        check(event == Event.INT || event == Event.LONG || event == Event.DOUBLE, "number");
+        return event == Event.DOUBLE ? scanner.doubleValue : scanner.longValue;
+    }
+
+    /**
+     * @return unescaped string, without the quotes.
+     */
+    public String stringValue() {
+        check(event == Event.STRING, "string");
+        return stringValue;
+    }
+
+    public boolean booleanValue() {
+        check(event == Event.BOOLEAN, "boolean");
+        return booleanValue;
+    }
+
+    /**
+     * Skips the current value, all of it if it is an array, so the next event is the one after it.
+     */
+    public void skipValue() {
+        if (event != Event.START_ARRAY) {
+            return;
+        }
+        int target = depth - 1;
+        while (depth > target) {
+            next();
+        }
+    }
+
+    private Event endArray() {
+        depth--;
+        return value(Event.END_ARRAY);
+    }
+
+    private Event value(Event next) {
+        afterValue = true;
+        if (depth == 0) {
+            scanner.expectEnd();
+            done = true;
+        }
+        return event = next;
+    }
+
+    /**
+     * A value of the wrong type is bad input for whoever asks for it.
+     */
+    private void check(boolean valid, String type) {
+        if (!valid) {
+            throw new IllegalArgumentException("Bad input, expect " + type + " but was " + event
+                    + " before " + position());
+        }
+    }
+}
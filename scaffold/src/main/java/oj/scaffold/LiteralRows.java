@@ -0,0 +1,276 @@
+package oj.scaffold;
+
+import oj.scaffold.collections.IntArrayList;
+
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Row by row views of 2d literals, like [[2],[1,1],[2]], for solutions that consume one row at a time.
+ * Every row is parsed only when asked for, so the whole input is never materialized and memory
+ * depends on the largest row:
+ * <pre>
+ * for (int[] row : LiteralRows.intRows(reader)) { ... }
+ * StreamSupport.stream(LiteralRows.intRowSpliterator(text), true).mapToInt(row -&gt; row.length).sum();
+ * </pre>
+ * The brackets and commas around the rows are checked as the rows go, bad input fails at the row it is in.
+ * Rows of a {@link Reader} can be iterated once, rows of a {@link CharSequence} any number of times.
+ * {@link java.io.IOException}s of a reader are rethrown as {@link UncheckedIOException}.
+ *
+ * @author zsmallx
+ * @since 2020/06/13
+ */
+public final class LiteralRows {
+    private LiteralRows() {
+    }
+
+    /**
+     * Reads the row the scanner is right before.
+     */
+    private interface RowReader<R> {
+        R read(LiteralScanner scanner);
+    }
+
+    private static final RowReader<int[]> INT_ROW = new RowReader<int[]>() {
+        @Override
+        public int[] read(LiteralScanner scanner) {
+            return scanner.readIntRow();
+        }
+    };
+
+    /**
+     * [[1,2],[3]] -> {1,2}, {3}, a new array per row.
+     */
+    public static Iterable<int[]> intRows(CharSequence text) {
+        return iterable(text, INT_ROW);
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #intRows(CharSequence)
+     */
+    public static Iterable<int[]> intRows(Reader reader) {
+        return iterable(reader, INT_ROW);
+    }
+
+    /**
+     * Every row is read into {@code buffer} and the same buffer is returned each time, nothing allocated per row.
+     * A row is only valid until the next one is asked for.
+     */
+    public static Iterable<IntArrayList> intRows(CharSequence text, IntArrayList buffer) {
+        return iterable(text, intRow(buffer));
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #intRows(CharSequence, IntArrayList)
+     */
+    public static Iterable<IntArrayList> intRows(Reader reader, IntArrayList buffer) {
+        return iterable(reader, intRow(buffer));
+    }
+
+    /**
+     * Rows like {@link OjUtils#toListList(String, OjUtils.Creator)} gives them, a new list per row.
+     */
+    public static <T> Iterable<List<T>> rows(CharSequence text, OjUtils.Creator<T> creator) {
+        return iterable(text, row(creator));
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #rows(CharSequence, OjUtils.Creator)
+     */
+    public static <T> Iterable<List<T>> rows(Reader reader, OjUtils.Creator<T> creator) {
+        return iterable(reader, row(creator));
+    }
+
+    /**
+     * Every row is read into {@code buffer}, cleared first, and the same buffer is returned each time.
+     * A row is only valid until the next one is asked for.
+     */
+    public static <T> Iterable<List<T>> rows(CharSequence text, OjUtils.Creator<T> creator, List<T> buffer) {
+        return iterable(text, row(creator, buffer));
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #rows(CharSequence, OjUtils.Creator, List)
+     */
+    public static <T> Iterable<List<T>> rows(Reader reader, OjUtils.Creator<T> creator, List<T> buffer) {
+        return iterable(reader, row(creator, buffer));
+    }
+
+    /**
+     * Ordered rows of unknown count. Parsing stays sequential, a parallel stream takes rows off in growing batches
+     * and processes the batches in parallel. No buffer variant, a batch holds its rows.
+     */
+    public static Spliterator<int[]> intRowSpliterator(CharSequence text) {
+        return new RowSpliterator<>(new Cursor<>(new LiteralScanner(text), INT_ROW));
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #intRowSpliterator(CharSequence)
+     */
+    public static Spliterator<int[]> intRowSpliterator(Reader reader) {
+        return new RowSpliterator<>(new Cursor<>(new LiteralScanner(reader), INT_ROW));
+    }
+
+    /**
+     * {@code creator} may be called while other rows are processed in parallel.
+     *
+     * @see #intRowSpliterator(CharSequence)
+     */
+    public static <T> Spliterator<List<T>> rowSpliterator(CharSequence text, OjUtils.Creator<T> creator) {
+        return new RowSpliterator<>(new Cursor<>(new LiteralScanner(text), row(creator)));
+    }
+
+    /**
+     * @param reader input, not closed here.
+     * @see #rowSpliterator(CharSequence, OjUtils.Creator)
+     */
+    public static <T> Spliterator<List<T>> rowSpliterator(Reader reader, OjUtils.Creator<T> creator) {
+        return new RowSpliterator<>(new Cursor<>(new LiteralScanner(reader), row(creator)));
+    }
+
+    private static RowReader<IntArrayList> intRow(final IntArrayList buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Bad buffer: null");
+        }
+        return new RowReader<IntArrayList>() {
+            @Override
+            public IntArrayList read(LiteralScanner scanner) {
+                scanner.readIntRow(buffer);
+                return buffer;
+            }
+        };
+    }
+
+    private static <T> RowReader<List<T>> row(final OjUtils.Creator<T> creator) {
+        return new RowReader<List<T>>() {
+            @Override
+            public List<T> read(LiteralScanner scanner) {
+                return scanner.readList(creator);
+            }
+        };
+    }
+
+    private static <T> RowReader<List<T>> row(final OjUtils.Creator<T> creator, final List<T> buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Bad buffer: null");
+        }
+        return new RowReader<List<T>>() {
+            @Override
+            public List<T> read(LiteralScanner scanner) {
+                buffer.clear();
+                return scanner.readList(creator, buffer);
+            }
+        };
+    }
+
+    private static <R> Iterable<R> iterable(final CharSequence text, final RowReader<R> row) {
+        return new Iterable<R>() {
+            @Override
+            public Iterator<R> iterator() {
+                return new Cursor<>(new LiteralScanner(text), row);
+            }
+        };
+    }
+
+    private static <R> Iterable<R> iterable(final Reader reader, final RowReader<R> row) {
+        return new Iterable<R>() {
+            private boolean iterated;
+
+            @Override
+            public Iterator<R> iterator() {
+                if (iterated) {
+                    throw new IllegalStateException("Rows of a Reader can be iterated only once");
+                }
+                iterated = true;
+                return new Cursor<>(new LiteralScanner(reader), row);
+            }
+        };
+    }
+
+    /**
+     * Walks the outer array, stopping right before every row.
+     */
+    private static final class Cursor<R> implements Iterator<R> {
+        private static final int BEFORE_START = 0;
+        private static final int BEFORE_ROW = 1;
+        private static final int AFTER_ROW = 2;
+        private static final int DONE = 3;
+
+        private final LiteralScanner scanner;
+        private final RowReader<R> row;
+        private int state = BEFORE_START;
+
+        Cursor(LiteralScanner scanner, RowReader<R> row) {
+            this.scanner = scanner;
+            this.row = row;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (state == BEFORE_START) {
+                scanner.expect('[');
+                state = BEFORE_ROW;
+                if (scanner.consumeIf(']')) {
+                    scanner.expectEnd();
+                    state = DONE;
+                }
+            } else if (state == AFTER_ROW) {
+                state = BEFORE_ROW;
+                if (!scanner.consumeIf(',')) {
+                    scanner.expect(']');
+                    scanner.expectEnd();
+                    state = DONE;
+                }
+            }
+            return state == BEFORE_ROW;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            state = AFTER_ROW;
+            return row.read(scanner);
+        }
+    }
+
+    /**
+     * Splitting is left to {@link Spliterators.AbstractSpliterator}, which copies batches of rows into arrays.
+     */
+    private static final class RowSpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+        private final Cursor<R> cursor;
+
+        RowSpliterator(Cursor<R> cursor) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (!cursor.hasNext()) {
+                return false;
+            }
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            while (cursor.hasNext()) {
+                action.accept(cursor.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,940 @@
+package oj.scaffold;
+
+import oj.scaffold.collections.IntArrayList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass scanner for LeetCode literals, like:
+ * [[1,4,7],[2,5,8]]
+ * <p>
+ * or
+ * <p>
+ * [["1","0"],["0","1"]]
+ * <p>
+ * Walks the input once through a small reusable char window, skips whitespace on the fly
+ * and parses ints, longs and doubles straight from chars, no regex and no intermediate substrings.
+ * Input never has to be held in memory as a whole, so a {@link Reader} over a huge file works as well as a String.
+ * <p>
+ * {@link IOException}s of the underlying reader are rethrown as {@link UncheckedIOException}.
+ *
+ * @author zsmallx
+ * @since 2020/05/20
+ */
+final class LiteralScanner {
+    static final int BUFFER_SIZE = 8192;
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final char[] EMPTY_CHARS = new char[0];
+    private static final long[] EMPTY_LONGS = new long[0];
+    private static final double[] EMPTY_DOUBLES = new double[0];
+    private static final int EXPONENT_LIMIT = 100000;
+
+    private final Reader reader;
+    private final char[] window;
+    private int pos;
+    private int limit;
+    /**
+     * Chars consumed before window[0], only for error positions.
+     */
+    private long offset;
+
+    /**
+     * Reused between rows, every row copies out exactly what it needs.
+     */
+    private int[] intBuffer = new int[16];
+    private char[] charBuffer = new char[16];
+    private long[] longBuffer = new long[16];
+    private double[] doubleBuffer = new double[16];
+    private final StringBuilder tokenBuilder = new StringBuilder();
+
+    /**
+     * Result of the last {@link #nextNumber()}.
+     */
+    long longValue;
+    double doubleValue;
+    /**
+     * Last {@link #scanDecimal(long)}, the unsigned significand times ten to the exponent.
+     */
+    private long significand;
+    private int exponent10;
+    private int droppedDigits;
+
+    LiteralScanner(CharSequence text) {
+        this(new StringReader(text.toString()), Math.max(16, Math.min(text.length(), BUFFER_SIZE)));
+    }
+
+    LiteralScanner(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    private LiteralScanner(Reader reader, int bufferSize) {
+        this(reader, bufferSize, 0);
+    }
+
+    /**
+     * @param startOffset where {@code reader} starts in the whole input, only for error positions.
+     */
+    LiteralScanner(Reader reader, int bufferSize, long startOffset) {
+        this.reader = reader;
+        this.window = new char[bufferSize];
+        this.offset = startOffset;
+    }
+
+    /**
+     * @return true if nothing but whitespace is left.
+     */
+    boolean atEnd() {
+        skipWhitespace();
+        return peek() < 0;
+    }
+
+    /**
+     * [[1,2],[3]] -> int[][]{{1,2},{3}}, [] -> int[0][].
+     */
+    int[][] readIntMatrix() {
+        expect('[');
+        if (consumeIf(']')) {
+            expectEnd();
+            return new int[0][];
+        }
+        List<int[]> rows = new ArrayList<>();
+        do {
+            rows.add(readIntRow());
+        } while (consumeIf(','));
+        expect(']');
+        expectEnd();
+        return rows.toArray(new int[rows.size()][]);
+    }
+
+    /**
+     * [[1,2],[3]] -> long[][], values beyond long fail with their position.
+     */
+    long[][] readLongMatrix() {
+        expect('[');
+        if (consumeIf(']')) {
+            expectEnd();
+            return new long[0][];
+        }
+        List<long[]> rows = new ArrayList<>();
+        do {
+            rows.add(readLongRow());
+        } while (consumeIf(','));
+        expect(']');
+        expectEnd();
+        return rows.toArray(new long[rows.size()][]);
+    }
+
+    /**
+     * [[1.5,2],[-3e2]] -> double[][], values beyond double fail with their position.
+     */
+    double[][] readDoubleMatrix() {
+        expect('[');
+        if (consumeIf(']')) {
+            expectEnd();
+            return new double[0][];
+        }
+        List<double[]> rows = new ArrayList<>();
+        do {
+            rows.add(readDoubleRow());
+        } while (consumeIf(','));
+        expect(']');
+        expectEnd();
+        return rows.toArray(new double[rows.size()][]);
+    }
+
+    /**
+     * [1,2,3] -> long[], the whole input.
+     */
+    long[] readLongArray() {
+        long[] row = readLongRow();
+        expectEnd();
+        return row;
+    }
+
+    /**
+     * [1.5,2,3] -> double[], the whole input.
+     */
+    double[] readDoubleArray() {
+        double[] row = readDoubleRow();
+        expectEnd();
+        return row;
+    }
+
+    /**
+     * [["a","b"],["c"]] -> char[][]{{'a','b'},{'c'}}, [] -> char[0][].
+     */
+    char[][] readCharMatrix() {
+        expect('[');
+        if (consumeIf(']')) {
+            expectEnd();
+            return new char[0][];
+        }
+        List<char[]> rows = new ArrayList<>();
+        do {
+            rows.add(readCharRow());
+        } while (consumeIf(','));
+        expect(']');
+        expectEnd();
+        return rows.toArray(new char[rows.size()][]);
+    }
+
+    /**
+     * Every element is handed to {@code creator} as its raw text, quotes included.
+     * Empty elements, like the first one in [,"a"], are skipped.
+     */
+    <T> List<List<T>> readListList(OjUtils.Creator<T> creator) {
+        expect('[');
+        if (consumeIf(']')) {
+            expectEnd();
+            return Collections.emptyList();
+        }
+        List<List<T>> lists = new ArrayList<>();
+        do {
+            lists.add(readList(creator));
+        } while (consumeIf(','));
+        expect(']');
+        expectEnd();
+        return lists;
+    }
+
+    /**
+     * [[1,2],[3]] -> {@link IntListList}, all values go into one growing flat array, nothing boxed.
+     */
+    IntListList readIntListList() {
+        IntValues values = new IntValues();
+        int[] offsets = readJaggedRows(values);
+        return new IntListList(Arrays.copyOf(values.values, values.count), offsets);
+    }
+
+    /**
+     * [[1,2],[3]] -> {@link LongListList}, like {@link #readIntListList()} with 64-bit values.
+     */
+    LongListList readLongListList() {
+        LongValues values = new LongValues();
+        int[] offsets = readJaggedRows(values);
+        return new LongListList(Arrays.copyOf(values.values, values.count), offsets);
+    }
+
+    /**
+     * Reads the whole input as jagged rows, handing every value to {@code values}.
+     *
+     * @return row offsets into the flat values, see {@link JaggedRows}.
+     */
+    private int[] readJaggedRows(FlatValues values) {
+        expect('[');
+        int[] offsets = new int[8];
+        int rows = 0;
+        if (!consumeIf(']')) {
+            do {
+                if (rows + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length << 1);
+                }
+                expect('[');
+                if (!consumeIf(']')) {
+                    do {
+                        values.readNext(this);
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+                offsets[++rows] = values.count;
+            } while (consumeIf(','));
+            expect(']');
+        }
+        expectEnd();
+        return Arrays.copyOf(offsets, rows + 1);
+    }
+
+    /**
+     * [[1,2],[3,4]] -> {@link IntMatrix}, values go straight into one flat row-major array.
+     * The first row fixes the column count.
+     */
+    IntMatrix readFlatIntMatrix() {
+        expect('[');
+        int[] data = new int[16];
+        int rows = 0;
+        int columns = -1;
+        int count = 0;
+        if (!consumeIf(']')) {
+            do {
+                int rowStart = count;
+                expect('[');
+                if (!consumeIf(']')) {
+                    do {
+                        if (count == data.length) {
+                            data = Arrays.copyOf(data, count << 1);
+                        }
+                        data[count++] = nextInt();
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+                if (columns < 0) {
+                    columns = count - rowStart;
+                } else if (count - rowStart != columns) {
+                    throw new IllegalArgumentException("Not a matrix, row " + rows + " has " + (count - rowStart)
+                            + " columns, expect " + columns + ", near " + position());
+                }
+                rows++;
+            } while (consumeIf(','));
+            expect(']');
+        }
+        expectEnd();
+        return new IntMatrix(rows, Math.max(columns, 0), count == data.length ? data : Arrays.copyOf(data, count));
+    }
+
+    /**
+     * [1,null,2] -> {@link LevelOrderArray}, [] -> empty.
+     */
+    LevelOrderArray readLevelOrder() {
+        expect('[');
+        int[] values = new int[16];
+        BitSet nulls = new BitSet();
+        int count = 0;
+        if (!consumeIf(']')) {
+            do {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count << 1);
+                }
+                if (consumeNull()) {
+                    nulls.set(count++);
+                } else {
+                    values[count++] = nextInt();
+                }
+            } while (consumeIf(','));
+            expect(']');
+        }
+        expectEnd();
+        return new LevelOrderArray(values, nulls, count);
+    }
+
+    int[] readIntRow() {
+        expect('[');
+        if (consumeIf(']')) {
+            return EMPTY_INTS;
+        }
+        int count = 0;
+        do {
+            if (count == intBuffer.length) {
+                intBuffer = Arrays.copyOf(intBuffer, count << 1);
+            }
+            intBuffer[count++] = nextInt();
+        } while (consumeIf(','));
+        expect(']');
+        return Arrays.copyOf(intBuffer, count);
+    }
+
+    char[] readCharRow() {
+        expect('[');
+        if (consumeIf(']')) {
+            return EMPTY_CHARS;
+        }
+        int count = 0;
+        do {
+            if (count == charBuffer.length) {
+                charBuffer = Arrays.copyOf(charBuffer, count << 1);
+            }
+            charBuffer[count++] = nextQuotedChar();
+        } while (consumeIf(','));
+        expect(']');
+        return Arrays.copyOf(charBuffer, count);
+    }
+
+    long[] readLongRow() {
+        expect('[');
+        if (consumeIf(']')) {
+            return EMPTY_LONGS;
+        }
+        int count = 0;
+        do {
+            if (count == longBuffer.length) {
+                longBuffer = Arrays.copyOf(longBuffer, count << 1);
+            }
+            longBuffer[count++] = nextLong();
+        } while (consumeIf(','));
+        expect(']');
+        return Arrays.copyOf(longBuffer, count);
+    }
+
+    double[] readDoubleRow() {
+        expect('[');
+        if (consumeIf(']')) {
+            return EMPTY_DOUBLES;
+        }
+        int count = 0;
+        do {
+            if (count == doubleBuffer.length) {
+                doubleBuffer = Arrays.copyOf(doubleBuffer, count << 1);
+            }
+            doubleBuffer[count++] = nextDouble();
+        } while (consumeIf(','));
+        expect(']');
+        return Arrays.copyOf(doubleBuffer, count);
+    }
+
+    /**
+     * Reads one row into {@code values} from {@code from}, it must end exactly at {@code to}.
+     */
+    void readIntRow(int[] values, int from, int to) {
+        expect('[');
+        int count = from;
+        if (!consumeIf(']')) {
+            do {
+                if (count == to) {
+                    throw new IllegalArgumentException("Bad input, row longer than its " + (to - from)
+                            + " values near " + position());
+                }
+                values[count++] = nextInt();
+            } while (consumeIf(','));
+            expect(']');
+        }
+        if (count != to) {
+            throw new IllegalArgumentException("Bad input, row shorter than its " + (to - from)
+                    + " values near " + position());
+        }
+    }
+
+    /**
+     * Reads one row into {@code row}, which is cleared first.
+     */
+    void readIntRow(IntArrayList row) {
+        row.clear();
+        expect('[');
+        if (consumeIf(']')) {
+            return;
+        }
+        do {
+            row.add(nextInt());
+        } while (consumeIf(','));
+        expect(']');
+    }
+
+    <T> List<T> readList(OjUtils.Creator<T> creator) {
+        return readList(creator, new ArrayList<T>());
+    }
+
+    /**
+     * Appends the elements of one row to {@code list}.
+     *
+     * @return list.
+     */
+    <T> List<T> readList(OjUtils.Creator<T> creator, List<T> list) {
+        expect('[');
+        if (consumeIf(']')) {
+            return list;
+        }
+        do {
+            String token = nextToken();
+            if (token.length() != 0) {
+                list.add(creator.create(token));
+            }
+        } while (consumeIf(','));
+        expect(']');
+        return list;
+    }
+
+    /**
+     * Parses an optionally signed decimal int in place, same range rules as {@link Integer#parseInt(String)}.
+     */
+    int nextInt() {
+        skipWhitespace();
+        long start = position();
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+            c = peek();
+        }
+        if (!isDigit(c)) {
+            throw badInt(start);
+        }
+        // accumulates negatively, so Integer.MIN_VALUE fits.
+        int bound = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multMin = bound / 10;
+        int result = 0;
+        do {
+            int digit = c - '0';
+            if (result < multMin) {
+                throw badInt(start);
+            }
+            result *= 10;
+            if (result < bound + digit) {
+                throw badInt(start);
+            }
+            result -= digit;
+            pos++;
+            c = peek();
+        } while (isDigit(c));
+        return negative ? result : -result;
+    }
+
+    /**
+     * "1" -> '1'.
+     */
+    char nextQuotedChar() {
+        skipWhitespace();
+        long start = position();
+        if (peek() == '"') {
+            pos++;
+            int c = peek();
+            if (c >= 0 && c != '"') {
+                pos++;
+                if (peek() == '"') {
+                    pos++;
+                    return (char) c;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Bad input can not be parsed to char, expect one quoted char at " + start);
+    }
+
+    /**
+     * Raw text of the next element, surrounding whitespace trimmed, quotes kept.
+     * Commas and brackets inside quotes belong to the element.
+     */
+    String nextToken() {
+        skipWhitespace();
+        StringBuilder token = tokenBuilder;
+        token.setLength(0);
+        boolean quoted = false;
+        int c;
+        while ((c = peek()) >= 0) {
+            if (quoted) {
+                if (c == '\\') {
+                    token.append((char) c);
+                    pos++;
+                    c = peek();
+                    if (c < 0) {
+                        break;
+                    }
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',' || c == ']' || c == '[') {
+                break;
+            }
+            token.append((char) c);
+            pos++;
+        }
+        int last = token.length();
+        while (last > 0 && isWhitespace(token.charAt(last - 1))) {
+            last--;
+        }
+        token.setLength(last);
+        return token.toString();
+    }
+
+    /**
+     * @return next char after whitespace without consuming it, or -1 at the end of input.
+     */
+    int peekToken() {
+        skipWhitespace();
+        return peek();
+    }
+
+    /**
+     * Parses a JSON style number, -12, 3.5 or 1e9, see {@link #scanDecimal(long)}.
+     *
+     * @return true if integral and within long, then {@link #longValue} is set,
+     * otherwise {@link #doubleValue} is.
+     * @throws IllegalArgumentException if it is beyond double.
+     */
+    boolean nextNumber() {
+        skipWhitespace();
+        long start = position();
+        boolean negative = peek() == '-';
+        if (negative) {
+            pos++;
+        }
+        if (scanDecimal(start) && exponent10 == 0
+                && Long.compareUnsigned(significand, negative ? Long.MIN_VALUE : Long.MAX_VALUE) <= 0) {
+            longValue = negative ? -significand : significand;
+            return true;
+        }
+        doubleValue = decimalValue(negative, start);
+        return false;
+    }
+
+    /**
+     * Like {@link #nextInt()}, within long.
+     */
+    long nextLong() {
+        skipWhitespace();
+        long start = position();
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+            c = peek();
+        }
+        if (!isDigit(c)) {
+            throw badNumber(start);
+        }
+        long bound = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multMin = bound / 10;
+        long result = 0;
+        do {
+            int digit = c - '0';
+            if (result < multMin || result * 10 < bound + digit) {
+                throw new IllegalArgumentException("Bad input, long overflow at " + start);
+            }
+            result = result * 10 - digit;
+            pos++;
+            c = peek();
+        } while (isDigit(c));
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses a decimal like {@link #nextNumber()}, a leading '+' allowed, straight from the chars into
+     * {@link DoubleConversion}.
+     *
+     * @throws IllegalArgumentException if it is beyond double.
+     */
+    double nextDouble() {
+        skipWhitespace();
+        long start = position();
+        int c = peek();
+        boolean negative = c == '-';
+        if (c == '-' || c == '+') {
+            pos++;
+        }
+        scanDecimal(start);
+        return decimalValue(negative, start);
+    }
+
+    /**
+     * Scans an unsigned decimal into {@link #significand} times ten to the {@link #exponent10}.
+     * The first 19 significant digits accumulate in the significand, any further ones are counted in
+     * {@link #droppedDigits} and only then the digits go to the token builder as text.
+     *
+     * @return true if integral, without fraction or exponent.
+     */
+    private boolean scanDecimal(long start) {
+        int c = peek();
+        if (!isDigit(c)) {
+            throw badNumber(start);
+        }
+        long value = 0;
+        int digits = 0;
+        int exponent = 0;
+        droppedDigits = 0;
+        do {
+            if (digits < DoubleConversion.MAX_DIGITS) {
+                value = value * 10 + (c - '0');
+                // leading zeros are not significant.
+                digits += value != 0 ? 1 : 0;
+            } else {
+                dropDigit(value, c);
+                exponent++;
+            }
+            pos++;
+            c = peek();
+        } while (isDigit(c));
+        boolean integral = true;
+        if (c == '.') {
+            integral = false;
+            pos++;
+            c = peek();
+            if (!isDigit(c)) {
+                throw badNumber(start);
+            }
+            do {
+                if (digits < DoubleConversion.MAX_DIGITS) {
+                    value = value * 10 + (c - '0');
+                    digits += value != 0 ? 1 : 0;
+                    exponent--;
+                } else {
+                    dropDigit(value, c);
+                }
+                pos++;
+                c = peek();
+            } while (isDigit(c));
+        }
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            pos++;
+            c = peek();
+            boolean negativeExponent = c == '-';
+            if (c == '-' || c == '+') {
+                pos++;
+                c = peek();
+            }
+            if (!isDigit(c)) {
+                throw badNumber(start);
+            }
+            int explicit = 0;
+            do {
+                // far beyond any double already, keeps counting from overflowing.
+                if (explicit < EXPONENT_LIMIT) {
+                    explicit = explicit * 10 + (c - '0');
+                }
+                pos++;
+                c = peek();
+            } while (isDigit(c));
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        significand = value;
+        exponent10 = exponent;
+        return integral;
+    }
+
+    private void dropDigit(long value, int c) {
+        if (droppedDigits++ == 0) {
+            tokenBuilder.setLength(0);
+            tokenBuilder.append(Long.toUnsignedString(value));
+        }
+        tokenBuilder.append((char) c);
+    }
+
+    /**
+     * @return the last {@link #scanDecimal(long)} correctly rounded.
+     */
+    private double decimalValue(boolean negative, long start) {
+        double value = DoubleConversion.toDouble(negative, significand, exponent10);
+        if (droppedDigits > 0) {
+            // the dropped digits only matter if they could round the other way.
+            double upper = DoubleConversion.toDouble(negative, significand + 1, exponent10);
+            if (upper != value) {
+                value = DoubleConversion.parse(negative, tokenBuilder, exponent10 - droppedDigits);
+            }
+        }
+        if (Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Bad input, double overflow at " + start);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a quoted string, unescaping JSON escapes. Commas and brackets inside are plain chars.
+     */
+    String nextString() {
+        skipWhitespace();
+        long start = position();
+        expect('"');
+        StringBuilder token = tokenBuilder;
+        token.setLength(0);
+        int c;
+        while ((c = peek()) != '"') {
+            if (c < 0) {
+                throw new IllegalArgumentException("Bad input, unterminated string at " + start);
+            }
+            pos++;
+            if (c == '\\') {
+                c = peek();
+                pos++;
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'u':
+                        c = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int hex = Character.digit(peek(), 16);
+                            if (hex < 0) {
+                                throw new IllegalArgumentException("Bad input, bad unicode escape at " + position());
+                            }
+                            c = c << 4 | hex;
+                            pos++;
+                        }
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Bad input, bad escape at " + (position() - 1));
+                }
+            }
+            token.append((char) c);
+        }
+        pos++;
+        return token.toString();
+    }
+
+    /**
+     * Consumes a bare word, like true or null.
+     */
+    void expectWord(String word) {
+        skipWhitespace();
+        long start = position();
+        for (int i = 0; i < word.length(); i++) {
+            if (peek() != word.charAt(i)) {
+                throw new IllegalArgumentException("Bad input, expect " + word + " at " + start);
+            }
+            pos++;
+        }
+        if (isLetterOrDigit(peek())) {
+            throw new IllegalArgumentException("Bad input, expect " + word + " at " + start);
+        }
+    }
+
+    /**
+     * Consumes a null literal if it comes next.
+     */
+    boolean consumeNull() {
+        skipWhitespace();
+        if (peek() != 'n') {
+            return false;
+        }
+        long start = position();
+        for (int i = 0; i < 4; i++) {
+            if (peek() != "null".charAt(i)) {
+                throw new IllegalArgumentException("Bad input, expect null at " + start);
+            }
+            pos++;
+        }
+        return true;
+    }
+
+    boolean consumeIf(char expected) {
+        skipWhitespace();
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    void expect(char expected) {
+        if (!consumeIf(expected)) {
+            int c = peek();
+            throw new IllegalArgumentException("Bad input, expect '" + expected + "' at " + position()
+                    + " but was " + (c >= 0 ? "'" + (char) c + "'" : "end of input"));
+        }
+    }
+
+    void expectEnd() {
+        skipWhitespace();
+        int c = peek();
+        if (c >= 0) {
+            throw new IllegalArgumentException("Bad input, unexpected '" + (char) c + "' at " + position());
+        }
+    }
+
+    /**
+     * @return next char without consuming it, or -1 at the end of input.
+     */
+    private int peek() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return window[pos];
+    }
+
+    private boolean fill() {
+        offset += limit;
+        pos = 0;
+        limit = 0;
+        try {
+            int n;
+            do {
+                n = reader.read(window, 0, window.length);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (true) {
+            while (pos < limit) {
+                if (!isWhitespace(window[pos])) {
+                    return;
+                }
+                pos++;
+            }
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    long position() {
+        return offset + pos;
+    }
+
+    private IllegalArgumentException badInt(long start) {
+        int c = peek();
+        return new IllegalArgumentException("Bad input can not be parsed to int at " + start
+                + (c >= 0 ? ", near '" + (char) c + "' at " + position() : ", unexpected end of input"));
+    }
+
+    private IllegalArgumentException badNumber(long start) {
+        int c = peek();
+        return new IllegalArgumentException("Bad input can not be parsed to number at " + start
+                + (c >= 0 ? ", near '" + (char) c + "' at " + position() : ", unexpected end of input"));
+    }
+
+    private static boolean isLetterOrDigit(int c) {
+        return c >= 0 && Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * One growing flat array of jagged row values.
+     */
+    private abstract static class FlatValues {
+        int count;
+
+        abstract void readNext(LiteralScanner scanner);
+    }
+
+    private static final class IntValues extends FlatValues {
+        int[] values = new int[16];
+
+        @Override
+        void readNext(LiteralScanner scanner) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count << 1);
+            }
+            values[count++] = scanner.nextInt();
+        }
+    }
+
+    private static final class LongValues extends FlatValues {
+        long[] values = new long[16];
+
+        @Override
+        void readNext(LiteralScanner scanner) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count << 1);
+            }
+            values[count++] = scanner.nextLong();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package oj.scaffold;
+
+import java.util.Arrays;
+
+/**
+ * Compact jagged long rows, like [[10000000000,2],[3],[]], without boxing, the 64-bit {@link IntListList}.
+ * All values live in one flat array, row {@code r} is {@code values[offsets[r]..offsets[r + 1])}.
+ * <p>
+ * {@link #asLists()} gives a read-only {@code List<List<Long>>} view for assertions written
+ * against {@link OjUtils#toListList(String, OjUtils.Creator)} with {@link OjUtils#LONG_CREATOR},
+ * values are boxed only when read.
+ *
+ * @author zsmallx
+ * @since 2020/06/18
+ */
+public final class LongListList extends JaggedRows<Long> {
+    private final long[] values;
+
+    /**
+     * @param values  flat values of all rows in order.
+     * @param offsets start of every row in {@code values} followed by the end of the last row,
+     *                so {@code offsets.length - 1} rows.
+     */
+    public LongListList(long[] values, int[] offsets) {
+        super(values.length, offsets);
+        this.values = values;
+    }
+
+    /**
+     * Copies jagged rows into the compact form.
+     */
+    public static LongListList of(long[][] rows) {
+        int total = 0;
+        for (long[] row : rows) {
+            total += row.length;
+        }
+        long[] values = new long[total];
+        int[] offsets = new int[rows.length + 1];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, values, offsets[i], rows[i].length);
+            offsets[i + 1] = offsets[i] + rows[i].length;
+        }
+        return new LongListList(values, offsets);
+    }
+
+    public long get(int row, int column) {
+        return values[index(row, column)];
+    }
+
+    /**
+     * @return copy of the row.
+     */
+    public long[] row(int row) {
+        return Arrays.copyOfRange(values, offsets[row], offsets[row + 1]);
+    }
+
+    /**
+     * @return backing flat values, shared, not copied.
+     */
+    public long[] values() {
+        return values;
+    }
+
+    public long[][] toLongMatrix() {
+        long[][] result = new long[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = row(i);
+        }
+        return result;
+    }
+
+    @Override
+    Long boxed(int index) {
+        return values[index];
+    }
+
+    @Override
+    int hashValue(int index) {
+        return Long.hashCode(values[index]);
+    }
+
+    @Override
+    void appendValue(StringBuilder builder, int index) {
+        builder.append(values[index]);
+    }
+
+    @Override
+    boolean sameValues(JaggedRows<?> other, int end) {
+        long[] otherValues = ((LongListList) other).values;
+        for (int i = 0; i < end; i++) {
+            if (values[i] != otherValues[i]) return false;
+        }
+        return true;
+    }
+}
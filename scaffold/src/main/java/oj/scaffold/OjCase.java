@@ -0,0 +1,25 @@
+package oj.scaffold;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * One case of a test method run by {@link OjRunner}, one LeetCode literal per method parameter:
+ * <pre>
+ * &#64;OjCase({"[[1,3,1],[1,5,1],[4,2,1]]", "7"})
+ * &#64;OjCase({"[[1,2,3],[4,5,6]]", "12"})
+ * public void minPathSum(int[][] grid, int expected) { ... }
+ * </pre>
+ *
+ * @author zsmallx
+ * @since 2020/06/17
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(OjCases.class)
+public @interface OjCase {
+    String[] value();
+}
@@ -0,0 +1,18 @@
+package oj.scaffold;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Holds repeated {@link OjCase}s.
+ *
+ * @author zsmallx
+ * @since 2020/06/17
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface OjCases {
+    OjCase[] value();
+}
@@ -0,0 +1,27 @@
+package oj.scaffold;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cases of a test method run by {@link OjRunner} from a UTF-8 file, laid out like LeetCode's testcase box:
+ * one literal per line and per method parameter, case after case. Blank lines and lines starting with # are skipped.
+ * <pre>
+ * # grid, expected
+ * [[1,3,1],[1,5,1],[4,2,1]]
+ * 7
+ * </pre>
+ *
+ * @author zsmallx
+ * @since 2020/06/17
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface OjFixture {
+    /**
+     * Resource of the test class, like {@link Class#getResource(String)}, or else a file path.
+     */
+    String value();
+}
@@ -0,0 +1,253 @@
+package oj.scaffold;
+
+import org.junit.Test;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JUnit 4 runner binding LeetCode literals to test method parameters, every case reported as a test of its own:
+ * <pre>
+ * &#64;RunWith(OjRunner.class)
+ * public class MinPathSumTest {
+ *     &#64;OjCase({"[[1,3,1],[1,5,1],[4,2,1]]", "7"})
+ *     &#64;OjFixture("min_path_sum.txt")
+ *     public void minPathSum(int[][] grid, int expected) {
+ *         Assert.assertEquals(expected, new Solution().minPathSum(grid));
+ *     }
+ * }
+ * </pre>
+ * Case methods take {@link OjCase}s or an {@link OjFixture}, no {@link Test}. Plain {@link Test} methods run as usual.
+ * The parser of every parameter is inferred from its declared type by {@link Binders#of(Type)}, resolved once per
+ * method together with a {@link MethodHandle}, so a case costs only its parsing and the call. Literals are parsed
+ * when their case runs, bad input fails that case alone.
+ *
+ * @author zsmallx
+ * @since 2020/06/17
+ */
+public final class OjRunner extends BlockJUnit4ClassRunner {
+    private static final int NAME_LIMIT = 100;
+
+    /**
+     * No initializer on purpose, the super constructor already computes the methods while validating.
+     */
+    private List<FrameworkMethod> testMethods;
+
+    public OjRunner(Class<?> testClass) throws InitializationError {
+        super(testClass);
+    }
+
+    @Override
+    protected List<FrameworkMethod> computeTestMethods() {
+        if (testMethods == null) {
+            List<FrameworkMethod> methods = new ArrayList<>();
+            for (FrameworkMethod method : getTestClass().getAnnotatedMethods(Test.class)) {
+                if (!hasCases(method.getMethod())) {
+                    methods.add(method);
+                }
+            }
+            for (FrameworkMethod method : caseMethods()) {
+                try {
+                    Binding binding = new Binding(method.getMethod());
+                    List<String[]> cases = cases(method.getMethod());
+                    for (int i = 0; i < cases.size(); i++) {
+                        methods.add(new CaseMethod(method.getMethod(), binding, i, cases.get(i)));
+                    }
+                } catch (IllegalArgumentException | IOException e) {
+                    // reported by collectInitializationErrors.
+                }
+            }
+            testMethods = methods;
+        }
+        return testMethods;
+    }
+
+    @Override
+    protected void collectInitializationErrors(List<Throwable> errors) {
+        super.collectInitializationErrors(errors);
+        for (FrameworkMethod method : caseMethods()) {
+            Method javaMethod = method.getMethod();
+            if (!Modifier.isPublic(javaMethod.getModifiers()) || Modifier.isStatic(javaMethod.getModifiers())
+                    || javaMethod.getReturnType() != void.class) {
+                errors.add(new Exception("Method " + javaMethod.getName() + "() should be public, void and not static"));
+                continue;
+            }
+            try {
+                new Binding(javaMethod);
+                if (cases(javaMethod).isEmpty()) {
+                    errors.add(new Exception("Method " + javaMethod.getName() + "() has no cases"));
+                }
+            } catch (IllegalArgumentException | IOException e) {
+                errors.add(new Exception("Method " + javaMethod.getName() + "(): " + e.getMessage(), e));
+            }
+        }
+    }
+
+    @Override
+    protected String testName(FrameworkMethod method) {
+        return method.getName();
+    }
+
+    private List<FrameworkMethod> caseMethods() {
+        Set<FrameworkMethod> methods = new LinkedHashSet<>();
+        methods.addAll(getTestClass().getAnnotatedMethods(OjCase.class));
+        methods.addAll(getTestClass().getAnnotatedMethods(OjCases.class));
+        methods.addAll(getTestClass().getAnnotatedMethods(OjFixture.class));
+        return new ArrayList<>(methods);
+    }
+
+    private static boolean hasCases(Method method) {
+        return method.getAnnotationsByType(OjCase.class).length > 0 || method.isAnnotationPresent(OjFixture.class);
+    }
+
+    /**
+     * Annotated cases first, then the fixture.
+     */
+    private List<String[]> cases(Method method) throws IOException {
+        int parameters = method.getParameterCount();
+        List<String[]> cases = new ArrayList<>();
+        for (OjCase ojCase : method.getAnnotationsByType(OjCase.class)) {
+            if (ojCase.value().length != parameters) {
+                throw new IllegalArgumentException("case " + Arrays.toString(ojCase.value()) + " has "
+                        + ojCase.value().length + " literals, expect " + parameters);
+            }
+            cases.add(ojCase.value());
+        }
+        OjFixture fixture = method.getAnnotation(OjFixture.class);
+        if (fixture != null) {
+            readFixture(fixture.value(), parameters, cases);
+        }
+        return cases;
+    }
+
+    private void readFixture(String name, int parameters, List<String[]> cases) throws IOException {
+        InputStream in = getTestClass().getJavaClass().getResourceAsStream(name);
+        if (in == null) {
+            if (!Files.isRegularFile(Paths.get(name))) {
+                throw new IllegalArgumentException("fixture not found: " + name);
+            }
+            in = Files.newInputStream(Paths.get(name));
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] current = new String[parameters];
+            int filled = 0;
+            for (String line; (line = reader.readLine()) != null; ) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                current[filled++] = line;
+                if (filled == parameters) {
+                    cases.add(current);
+                    current = new String[parameters];
+                    filled = 0;
+                }
+            }
+            if (filled != 0) {
+                throw new IllegalArgumentException("fixture " + name + " ends within a case, " + filled + " of "
+                        + parameters + " literals");
+            }
+        }
+    }
+
+    /**
+     * Parsers and handle of one method, shared by all its cases.
+     */
+    private static final class Binding {
+        private final Binders.Binder<?>[] binders;
+        private final Class<?>[] types;
+        /**
+         * (Object target, Object[] arguments) void.
+         */
+        private final MethodHandle handle;
+
+        Binding(Method method) {
+            Type[] parameters = method.getGenericParameterTypes();
+            types = method.getParameterTypes();
+            binders = new Binders.Binder<?>[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                binders[i] = Binders.of(parameters[i]);
+            }
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method)
+                        .asSpreader(Object[].class, parameters.length)
+                        .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("not accessible", e);
+            }
+        }
+
+        void invoke(Object target, String[] literals) throws Throwable {
+            Object[] arguments = new Object[literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                arguments[i] = Binders.parse(literals[i], binders[i]);
+                if (arguments[i] == null && types[i].isPrimitive()) {
+                    throw new IllegalArgumentException("Bad input, null for " + types[i] + " parameter " + i);
+                }
+            }
+            handle.invokeExact(target, arguments);
+        }
+    }
+
+    /**
+     * One case, named after the method and its literals.
+     */
+    private static final class CaseMethod extends FrameworkMethod {
+        private final Binding binding;
+        private final int index;
+        private final String[] literals;
+        private final String name;
+
+        CaseMethod(Method method, Binding binding, int index, String[] literals) {
+            super(method);
+            this.binding = binding;
+            this.index = index;
+            this.literals = literals;
+            String arguments = String.join(", ", literals);
+            if (arguments.length() > NAME_LIMIT) {
+                arguments = arguments.substring(0, NAME_LIMIT) + "...";
+            }
+            this.name = method.getName() + "[" + index + ": " + arguments + "]";
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object invokeExplosively(Object target, Object... params) throws Throwable {
+            binding.invoke(target, literals);
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CaseMethod && super.equals(o) && index == ((CaseMethod) o).index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + index;
+        }
+    }
+}
@@ -3,34 +3,65 @@ package oj.scaffold;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Queue;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utils for OJ(Online Judge).
  * Handles inputs:
  * {@link #newTreeFromArrays(Integer...)}
+ * {@link #newTreeFromString(String)}
  * {@link #newListNodeFromArrays(Integer...)}
  * {@link #toIntMatrix(String)}
+ * {@link #toFlatIntMatrix(String)}
  * {@link #toListList(String, Creator)}
+ * {@link #toIntListList(String)}
+ * {@link #toLongMatrix(String)}, {@link #toDoubleMatrix(String)}, {@link #toLongArray(String)}, {@link #toDoubleArray(String)}
+ * {@link #toLongListList(String)}
+ * {@link #toIntMatrixParallel(String)} for huge inputs
+ * {@link LiteralRows} for one row at a time
+ * {@link CsrGraph} for edge lists
+ * or from {@link java.io.Reader}, {@link java.io.InputStream}, {@link java.nio.ByteBuffer}, {@link java.nio.file.Path}.
  * <p>
  * Handles outputs:
  * {@link #convertTreeAsArrays(TreeNode)}
+ * {@link #writeTree(TreeNode, Appendable)}
  * {@link #travelListNode(ListNode, int)}
+ * cycle aware ListNode helpers in {@link ListNodeUtils}
  * <p>
  * debug improvement:
  * <p>
  * unit test judge:
  * {@link ListListMatcher}
+ * {@link TreeMatcher}
+ * {@link ListNodeMatcher}
  *
  * @author zsmallx
  * @since 2020/03/15
  */
 public class OjUtils {
+    /**
+     * Anything that is not an int maps to {@link Integer#MIN_VALUE}, use {@link #LONG_CREATOR} for 64-bit values.
+     */
     public static final Creator<Integer> INTEGER_CREATOR = new Creator<Integer>() {
         @Override
         public Integer create(String text) {
@@ -43,6 +74,32 @@ public class OjUtils {
         }
     };
 
+    /**
+     * @throws IllegalArgumentException with the position if the text is not a long.
+     */
+    public static final Creator<Long> LONG_CREATOR = new Creator<Long>() {
+        @Override
+        public Long create(String text) {
+            LiteralScanner scanner = new LiteralScanner(text);
+            long value = scanner.nextLong();
+            scanner.expectEnd();
+            return value;
+        }
+    };
+
+    /**
+     * @throws IllegalArgumentException with the position if the text is not a finite double.
+     */
+    public static final Creator<Double> DOUBLE_CREATOR = new Creator<Double>() {
+        @Override
+        public Double create(String text) {
+            LiteralScanner scanner = new LiteralScanner(text);
+            double value = scanner.nextDouble();
+            scanner.expectEnd();
+            return value;
+        }
+    };
+
     public static final Creator<String> STRING_CREATOR = new Creator<String>() {
         @Override
         public String create(String text) {
@@ -51,8 +108,7 @@ public class OjUtils {
     };
 
     private static String removeQuotesIfNeeded(String text) {
-        if (Pattern.matches("\".*\"", text)) {
-            // length >= 2 now.
+        if (text.length() >= 2 && text.charAt(0) == '"' && text.charAt(text.length() - 1) == '"') {
             return text.substring(1, text.length() - 1);
         }
         return text;
@@ -66,62 +122,129 @@ public class OjUtils {
         return builder.toString();
     }
 
+    /**
+     * Builds a tree from LeetCode level order values, like [1,null,2,3].
+     * Children of null nodes are omitted, as LeetCode serializes them.
+     *
+     * @param values level order values, null for no node.
+     * @return root, null if there is no value or the first one is null.
+     * @throws IllegalArgumentException if there are more values than child slots.
+     */
     public static TreeNode newTreeFromArrays(Integer... values) {
-        ArrayList<TreeNode> tree = new ArrayList<>();
-        for (int i = 0; i < values.length; i++) {
-            if (values[i] != null) {
-                tree.add(new TreeNode(values[i]));
-            } else {
-                tree.add(null);
-            }
-        }
+        return newTreeFromLevelOrder(LevelOrderArray.of(values));
+    }
+
+    /**
+     * Same as {@link #newTreeFromArrays(Integer...)} without boxing.
+     *
+     * @param values level order values.
+     * @param nulls  null slots, values there are ignored.
+     * @return root, null if there is no value or the first one is null.
+     */
+    public static TreeNode newTreeFromArrays(int[] values, BitSet nulls) {
+        return newTreeFromLevelOrder(new LevelOrderArray(values, nulls, values.length));
+    }
 
-        for (int i = 0; i < values.length / 2; i++) {
-            if (tree.get(2 * i + 1) != null) {
-                tree.get(i).left = tree.get(2 * i + 1);
+    /**
+     * Same as {@link #newTreeFromArrays(Integer...)}, parsed from text like [1,null,2,3].
+     *
+     * @param text input
+     * @return root, null if the text is blank or there is no node.
+     */
+    public static TreeNode newTreeFromString(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : newTreeFromLevelOrder(scanner.readLevelOrder());
+    }
+
+    /**
+     * Queue based, linear time and no recursion, so degenerate trees of any depth are fine.
+     * Nodes are linked in creation order, so the array of created nodes is the queue itself.
+     *
+     * @param levelOrder level order values.
+     * @return root, null if there is no node.
+     */
+    public static TreeNode newTreeFromLevelOrder(LevelOrderArray levelOrder) {
+        int length = levelOrder.length();
+        if (length == 0 || levelOrder.isNull(0)) {
+            return null;
+        }
+        int[] values = levelOrder.values();
+        BitSet nulls = levelOrder.nulls();
+        TreeNode[] queue = new TreeNode[length];
+        int head = 0;
+        int tail = 0;
+        TreeNode root = new TreeNode(values[0]);
+        queue[tail++] = root;
+        for (int i = 1; i < length; i += 2) {
+            if (head == tail) {
+                throw new IllegalArgumentException("Bad tree, value at " + i + " has no parent");
+            }
+            TreeNode parent = queue[head++];
+            if (!nulls.get(i)) {
+                parent.left = new TreeNode(values[i]);
+                queue[tail++] = parent.left;
             }
-            if (tree.get(2 * i + 2) != null) {
-                tree.get(i).right = tree.get(2 * i + 2);
+            if (i + 1 < length && !nulls.get(i + 1)) {
+                parent.right = new TreeNode(values[i + 1]);
+                queue[tail++] = parent.right;
             }
         }
-        return tree.get(0);
+        return root;
     }
 
+    /**
+     * Serializes the tree as LeetCode does, in level order with trailing nulls trimmed, like [1,null,2,3].
+     *
+     * @param root tree root.
+     * @return level order values, null for missing children, empty for null root.
+     */
     public static Integer[] convertTreeAsArrays(TreeNode root) {
-        List<List<Integer>> levels = new ArrayList<>();
-        if (root == null) {
-            return new Integer[0];
-        }
-        Queue<Pair<TreeNode, Integer>> queue = new LinkedList<>();
-        queue.add(new Pair<>(root, 0));
-        while (!queue.isEmpty()) {
-            Pair<TreeNode, Integer> pair = queue.poll();
-            TreeNode node = pair.getKey();
-            int currentLevel = pair.getValue();
-            if (currentLevel >= levels.size()) {
-                levels.add(currentLevel, new ArrayList<Integer>());
-            }
-            if (node == null) {
-                levels.get(currentLevel).add(null);
-            } else {
-                levels.get(currentLevel).add(node.val);
-                queue.add(new Pair<>(node.left, currentLevel + 1));
-                queue.add(new Pair<>(node.right, currentLevel + 1));
-            }
-        }
-        int size = 0;
-        for (int i = 0; i < levels.size() - 1; i++) { // 抛弃最后一层的null
-            size += levels.get(i).size();
-        }
-        Integer[] result = new Integer[size];
-        for (int i = 0, count = 0; i < levels.size() - 1; i++) { // 抛弃最后一层的null值
-            List<Integer> level = levels.get(i);
-            for (int j = 0; j < level.size(); j++) {
-                result[count] = level.get(j);
-                count++;
-            }
+        return convertTreeAsLevelOrder(root).toIntegerArray();
+    }
+
+    /**
+     * Same as {@link #convertTreeAsArrays(TreeNode)} without boxing, values in an int[] and nulls in a {@link BitSet}.
+     *
+     * @param root tree root.
+     * @return level order values, empty for null root.
+     */
+    public static LevelOrderArray convertTreeAsLevelOrder(TreeNode root) {
+        return TreeSerializer.toLevelOrder(root);
+    }
+
+    /**
+     * Writes the tree in LeetCode text, like [1,null,2,3], without building the whole string first.
+     *
+     * @param root tree root.
+     * @param out  where to write, [] for null root.
+     * @throws IOException if {@code out} fails.
+     */
+    public static void writeTree(TreeNode root, Appendable out) throws IOException {
+        TreeSerializer.write(root, out);
+    }
+
+    /**
+     * Same as {@link #writeTree(TreeNode, Appendable)}, as ASCII bytes from the current position.
+     *
+     * @param root tree root.
+     * @param out  where to write, [] for null root.
+     * @throws java.nio.BufferOverflowException if {@code out} is too small.
+     */
+    public static void writeTree(TreeNode root, ByteBuffer out) {
+        TreeSerializer.write(root, out);
+    }
+
+    /**
+     * @return the tree in LeetCode text, like [1,null,2,3].
+     */
+    public static String treeToString(TreeNode root) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            TreeSerializer.write(root, builder);
+        } catch (IOException e) {
+            throw new AssertionError(e);
         }
-        return result;
+        return builder.toString();
     }
 
     /**
@@ -147,23 +270,17 @@ public class OjUtils {
      * Set the ListNode tail link to target position, as a loop.
      *
      * @param head ListNode head we begin.
-     * @param pos  which ListNode we expected to set loop begin.
+     * @param pos  which ListNode we expected to set loop begin, negative for no loop.
+     * @throws IllegalArgumentException if {@code pos} is not a node index, or the list already loops.
+     * @see ListNodeUtils#fromArray(int[], int) to build a looped list in one pass.
      */
     public static void setListNodeLoopAt(ListNode head, int pos) {
-        // TODO: 2020/3/15 check pos valid? pos < 0 or pos > size?
-        ListNode loopPoint = null;
-        ListNode curr = head;
-        while (curr.next != null) {
-            if (pos-- == 0) {
-                loopPoint = curr;
-            }
-            curr = curr.next;
-        }
-        if (loopPoint != null) {
-            curr.next = loopPoint;
-        }
+        ListNodeUtils.setLoopAt(head, pos);
     }
 
+    /**
+     * @see ListNodeUtils#fromArray(int...) to build without boxing.
+     */
     public static ListNode newListNodeFromArrays(Integer... values) {
         ListNode head = new ListNode(values[0]);
         ListNode curr = head;
@@ -175,6 +292,17 @@ public class OjUtils {
         return head;
     }
 
+    /**
+     * @return scanner at the first value, null if the text is null or blank, like the {@link Reader} overloads.
+     */
+    private static LiteralScanner scanner(String text) {
+        if (text == null) {
+            return null;
+        }
+        LiteralScanner scanner = new LiteralScanner(text);
+        return scanner.atEnd() ? null : scanner;
+    }
+
     /**
      * Handles input like this:
      * [\n
@@ -192,46 +320,62 @@ public class OjUtils {
      * [[1,4,7,11,15],[2,5,8,12,19],[3,6,9,16,22],[10,13,14,17,24],[18,21,23,26,30]]
      *
      * @param text input
-     * @return result in int[][], or exception if not excepted format.
+     * @return result in int[][], null if the input is null or blank.
      * @throws IllegalArgumentException if there is any elements in the input can not be parsed to int.
      */
     public static int[][] toIntMatrix(String text) {
-        if (text == null || text.length() == 0) {
-            return null;
-        }
-        String cleanS = text.replaceAll("\n", "").replace(" ", "");
-        if (!LeetCode.check1dFormat(cleanS)) {
-            return new int[0][0];
-        }
-        if (!LeetCode.check2dFormat(cleanS)) {
-            return new int[1][0];
-        }
-        String[] pieces = cleanS.split("],");
-        // TODO: 2020/3/15 check is a valid matrix.
-        // FIXME: 2020/3/20 invalid length handle.
-        int[][] result = new int[pieces.length][];
-        for (int i = 0; i < pieces.length; i++) {
-            String raw = pieces[i].replaceAll("\\[", "")
-                    .replaceAll("]", "")
-                    .trim();
-            if (raw.length() == 0) {
-                result[i] = new int[0];
-                continue;
-            }
-            String[] integers = raw.split(",");
-            int[] ints = new int[integers.length];
-            for (int j = 0; j < integers.length; j++) {
-                // FIXME: 2020/3/20 empty String.
-                try {
-                    ints[j] = Integer.parseInt(
-                            integers[j]);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Bad input can not be parsed to int, value is : " + integers[j]);
-                }
-            }
-            result[i] = ints;
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readIntMatrix();
+    }
+
+    /**
+     * Same as {@link #toIntMatrix(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in int[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static int[][] toIntMatrix(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readIntMatrix();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return result;
+    }
+
+    /**
+     * Same as {@link #toIntMatrix(String)}, input in UTF-8.
+     *
+     * @param in input, not closed here.
+     * @return result in int[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static int[][] toIntMatrix(InputStream in) throws IOException {
+        return toIntMatrix(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as {@link #toIntMatrix(String)}, input in UTF-8 from {@code position} to {@code limit}.
+     * The buffer itself is left untouched.
+     *
+     * @param bytes input, heap, direct or memory-mapped.
+     * @return result in int[][], null if the input is blank.
+     */
+    public static int[][] toIntMatrix(ByteBuffer bytes) {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(bytes));
+        return scanner.atEnd() ? null : scanner.readIntMatrix();
+    }
+
+    /**
+     * Same as {@link #toIntMatrix(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in int[][], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static int[][] toIntMatrix(Path file) throws IOException {
+        return toIntMatrix(map(file));
     }
 
     /**
@@ -241,49 +385,62 @@ public class OjUtils {
      * TODO generic with {@link #toIntMatrix(String)}.
      *
      * @param text input
-     * @return result in char[][], or exception if not excepted format.
+     * @return result in char[][], null if the input is null or blank.
      * @throws IllegalArgumentException if there is any elements in the input can not be parsed to int.
      */
     public static char[][] toCharMatrix(String text) {
-        if (text == null || text.length() == 0) {
-            return null;
-        }
-        String oneLine = text.replaceAll("\n", "").replace(" ", "");
-        if (!LeetCode.check1dFormat(oneLine)) {
-            return new char[0][0];
-        }
-        if (!LeetCode.check2dFormat(oneLine)) {
-            return new char[1][0];
-        }
-
-        String[] pieces = oneLine.split("],");
-        // TODO: 2020/3/15 check is a valid matrix.
-        // FIXME: 2020/3/20 invalid length handle.
-        char[][] result = new char[pieces.length][];
-        for (int i = 0; i < pieces.length; i++) {
-            String raw = pieces[i].replaceAll("\\[", "")
-                    .replaceAll("]", "")
-                    .trim();
-            if (raw.length() == 0) {
-                result[i] = new char[0];
-                continue;
-            }
-            String[] charStr = raw.split(",");
-            char[] chars = new char[charStr.length];
-            for (int j = 0; j < charStr.length; j++) {
-                // FIXME: 2020/3/20 empty String.
-                if (charStr[j].length() != 3) { // eg. "1"
-                    throw new IllegalArgumentException("char size not three!");
-                }
-                try {
-                    chars[j] = charStr[j].charAt(1); // eg. "1"
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Bad input can not be parsed to int, value is : " + charStr[j]);
-                }
-            }
-            result[i] = chars;
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readCharMatrix();
+    }
+
+    /**
+     * Same as {@link #toCharMatrix(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in char[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static char[][] toCharMatrix(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readCharMatrix();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return result;
+    }
+
+    /**
+     * Same as {@link #toCharMatrix(String)}, input in UTF-8.
+     *
+     * @param in input, not closed here.
+     * @return result in char[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static char[][] toCharMatrix(InputStream in) throws IOException {
+        return toCharMatrix(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as {@link #toCharMatrix(String)}, input in UTF-8 from {@code position} to {@code limit}.
+     * The buffer itself is left untouched.
+     *
+     * @param bytes input, heap, direct or memory-mapped.
+     * @return result in char[][], null if the input is blank.
+     */
+    public static char[][] toCharMatrix(ByteBuffer bytes) {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(bytes));
+        return scanner.atEnd() ? null : scanner.readCharMatrix();
+    }
+
+    /**
+     * Same as {@link #toCharMatrix(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in char[][], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static char[][] toCharMatrix(Path file) throws IOException {
+        return toCharMatrix(map(file));
     }
 
     /**
@@ -305,70 +462,833 @@ public class OjUtils {
      * @param text    input.
      * @param creator target type creator.
      * @param <T>     type of list content.
-     * @return result in List<List<T>>, or exception if not excepted format.
+     * @return result in List<List<T>>, null if the input is null or blank.
      */
     public static <T> List<List<T>> toListList(String text, Creator<T> creator) {
-        if (text == null || text.length() == 0) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readListList(creator);
+    }
+
+    /**
+     * Same as {@link #toListList(String, Creator)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader  input, not closed here.
+     * @param creator target type creator.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static <T> List<List<T>> toListList(Reader reader, Creator<T> creator) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readListList(creator);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toListList(String, Creator)}, input in UTF-8.
+     *
+     * @param in      input, not closed here.
+     * @param creator target type creator.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static <T> List<List<T>> toListList(InputStream in, Creator<T> creator) throws IOException {
+        return toListList(new InputStreamReader(in, StandardCharsets.UTF_8), creator);
+    }
+
+    /**
+     * Same as {@link #toListList(String, Creator)}, input in UTF-8 from {@code position} to {@code limit}.
+     * The buffer itself is left untouched.
+     *
+     * @param bytes   input, heap, direct or memory-mapped.
+     * @param creator target type creator.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the input is blank.
+     */
+    public static <T> List<List<T>> toListList(ByteBuffer bytes, Creator<T> creator) {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(bytes));
+        return scanner.atEnd() ? null : scanner.readListList(creator);
+    }
+
+    /**
+     * Same as {@link #toListList(String, Creator)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file    input file, less than 2GB.
+     * @param creator target type creator.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static <T> List<List<T>> toListList(Path file, Creator<T> creator) throws IOException {
+        return toListList(map(file), creator);
+    }
+
+    /**
+     * Handles the same input as {@link #toIntMatrix(String)}, parsed straight into one flat row-major
+     * {@link IntMatrix}, every row must have the same length.
+     *
+     * @param text input
+     * @return result in {@link IntMatrix}, null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed to int, or rows differ in length.
+     */
+    public static IntMatrix toFlatIntMatrix(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readFlatIntMatrix();
+    }
+
+    /**
+     * Same as {@link #toFlatIntMatrix(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in {@link IntMatrix}, null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static IntMatrix toFlatIntMatrix(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readFlatIntMatrix();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toFlatIntMatrix(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in {@link IntMatrix}, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static IntMatrix toFlatIntMatrix(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readFlatIntMatrix();
+    }
+
+    /**
+     * Handles input like {@link #toIntMatrix(String)} with 64-bit values:
+     * <p>
+     * [[1000000000000,-1],[9223372036854775807,0]]
+     *
+     * @param text input
+     * @return result in long[][], null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed, overflow included, with its position.
+     */
+    public static long[][] toLongMatrix(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readLongMatrix();
+    }
+
+    /**
+     * Same as {@link #toLongMatrix(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in long[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static long[][] toLongMatrix(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readLongMatrix();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toLongMatrix(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in long[][], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static long[][] toLongMatrix(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readLongMatrix();
+    }
+
+    /**
+     * Handles decimal input like points of geometry problems, converted straight from the chars
+     * by a correctly rounded Eisel-Lemire conversion, no substring and no {@link Double#parseDouble(String)}:
+     * <p>
+     * [[1.5,-2],[3e-4,0.1]]
+     *
+     * @param text input
+     * @return result in double[][], null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed, overflow included, with its position.
+     */
+    public static double[][] toDoubleMatrix(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readDoubleMatrix();
+    }
+
+    /**
+     * Same as {@link #toDoubleMatrix(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in double[][], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static double[][] toDoubleMatrix(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readDoubleMatrix();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toDoubleMatrix(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in double[][], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static double[][] toDoubleMatrix(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readDoubleMatrix();
+    }
+
+    /**
+     * Handles a single list of 64-bit values:
+     * <p>
+     * [1,-2,10000000000]
+     *
+     * @param text input
+     * @return result in long[], null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed, overflow included, with its position.
+     */
+    public static long[] toLongArray(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readLongArray();
+    }
+
+    /**
+     * Same as {@link #toLongArray(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in long[], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static long[] toLongArray(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readLongArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toLongArray(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in long[], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static long[] toLongArray(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readLongArray();
+    }
+
+    /**
+     * Handles a single list of decimals, converted like {@link #toDoubleMatrix(String)}:
+     * <p>
+     * [1.5,-2,3e-4]
+     *
+     * @param text input
+     * @return result in double[], null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed, overflow included, with its position.
+     */
+    public static double[] toDoubleArray(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readDoubleArray();
+    }
+
+    /**
+     * Same as {@link #toDoubleArray(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in double[], null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static double[] toDoubleArray(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readDoubleArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toDoubleArray(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in double[], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static double[] toDoubleArray(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readDoubleArray();
+    }
+
+    /**
+     * Handles int input like {@link #toListList(String, Creator)} with {@link #INTEGER_CREATOR},
+     * rows may differ in length:
+     * [[1,2],[0],[]]
+     * <p>
+     * Values are parsed straight into one flat int[], nothing is boxed,
+     * use {@link IntListList#asLists()} to compare with {@code List<List<Integer>>}.
+     *
+     * @param text input
+     * @return result in {@link IntListList}, null if the input is null or blank.
+     * @throws IllegalArgumentException if there is any elements in the input can not be parsed to int.
+     */
+    public static IntListList toIntListList(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readIntListList();
+    }
+
+    /**
+     * Same as {@link #toIntListList(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in {@link IntListList}, null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static IntListList toIntListList(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readIntListList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toIntListList(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in {@link IntListList}, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static IntListList toIntListList(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readIntListList();
+    }
+
+    /**
+     * Handles 64-bit input like {@link #toIntListList(String)}, rows may differ in length:
+     * [[10000000000,2],[0],[]]
+     * <p>
+     * Values are parsed straight into one flat long[], nothing is boxed,
+     * use {@link LongListList#asLists()} to compare with {@code List<List<Long>>}.
+     *
+     * @param text input
+     * @return result in {@link LongListList}, null if the input is null or blank.
+     * @throws IllegalArgumentException if any element can not be parsed, overflow included, with its position.
+     */
+    public static LongListList toLongListList(String text) {
+        LiteralScanner scanner = scanner(text);
+        return scanner == null ? null : scanner.readLongListList();
+    }
+
+    /**
+     * Same as {@link #toLongListList(String)}, parses straight from a {@link Reader}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     * @return result in {@link LongListList}, null if the input is blank.
+     * @throws IOException if reading fails.
+     */
+    public static LongListList toLongListList(Reader reader) throws IOException {
+        try {
+            LiteralScanner scanner = new LiteralScanner(reader);
+            return scanner.atEnd() ? null : scanner.readLongListList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #toLongListList(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in {@link LongListList}, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static LongListList toLongListList(Path file) throws IOException {
+        LiteralScanner scanner = new LiteralScanner(new ByteBufferReader(map(file)));
+        return scanner.atEnd() ? null : scanner.readLongListList();
+    }
+
+    /**
+     * Same result as {@link #toIntMatrix(String)}, rows are parsed in chunks on the common {@link ForkJoinPool}.
+     * Pays off for inputs of several MB, smaller ones take the sequential path anyway.
+     *
+     * @param text input
+     * @return result in int[][], null if the input is null or blank.
+     */
+    public static int[][] toIntMatrixParallel(String text) {
+        if (text == null || ParallelLiteralParser.Text.of(text).blank()) {
             return null;
         }
-        String cleanS = text.replaceAll("\n", "").replace(" ", "");
-        if (!LeetCode.check1dFormat(cleanS)) {
-            return Collections.emptyList();
-        }
-        List<List<T>> lists = new ArrayList<>();
-        if (!LeetCode.check2dFormat(cleanS)) {
-            lists.add(Collections.<T>emptyList());
-            return lists;
-        }
-        String[] pieces = cleanS.split("],");
-        // TODO: 2020/3/20 maybe generate a method of split.
-        for (String piece : pieces) {
-            // TODO: 2020/3/21 maybe check splits' format.
-            String[] elements = piece.split(",");
-            List<T> list = new ArrayList<>();
-            for (String element : elements) {
-                String content = element.replaceAll("\\[", "")
-                        .replaceAll("]", "")
-                        .trim();
-                if (content != null && content.length() != 0) {
-                    list.add(creator.create(content));
-                }
+        return ParallelLiteralParser.intMatrix(ParallelLiteralParser.Text.of(text), ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Same as {@link #toIntMatrixParallel(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in int[][], null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static int[][] toIntMatrixParallel(Path file) throws IOException {
+        ParallelLiteralParser.Text text = ParallelLiteralParser.Text.of(map(file));
+        if (text.blank()) {
+            return null;
+        }
+        return ParallelLiteralParser.intMatrix(text, ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Same result as {@link #toIntListList(String)}, rows are parsed in chunks on the common {@link ForkJoinPool}.
+     *
+     * @param text input
+     * @return result in {@link IntListList}, null if the input is null or blank.
+     */
+    public static IntListList toIntListListParallel(String text) {
+        if (text == null || ParallelLiteralParser.Text.of(text).blank()) {
+            return null;
+        }
+        return ParallelLiteralParser.intListList(ParallelLiteralParser.Text.of(text), ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Same as {@link #toIntListListParallel(String)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file input file, less than 2GB.
+     * @return result in {@link IntListList}, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static IntListList toIntListListParallel(Path file) throws IOException {
+        ParallelLiteralParser.Text text = ParallelLiteralParser.Text.of(map(file));
+        if (text.blank()) {
+            return null;
+        }
+        return ParallelLiteralParser.intListList(text, ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Same result as {@link #toListList(String, Creator)}, rows are parsed in chunks on the common {@link ForkJoinPool}.
+     *
+     * @param text    input.
+     * @param creator target type creator, called from several threads at once.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the input is null or blank.
+     */
+    public static <T> List<List<T>> toListListParallel(String text, Creator<T> creator) {
+        if (text == null || ParallelLiteralParser.Text.of(text).blank()) {
+            return null;
+        }
+        return ParallelLiteralParser.listList(ParallelLiteralParser.Text.of(text), creator, ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Same as {@link #toListListParallel(String, Creator)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     *
+     * @param file    input file, less than 2GB.
+     * @param creator target type creator, called from several threads at once.
+     * @param <T>     type of list content.
+     * @return result in List<List<T>>, null if the file is blank.
+     * @throws IOException if the file can not be mapped.
+     */
+    public static <T> List<List<T>> toListListParallel(Path file, Creator<T> creator) throws IOException {
+        ParallelLiteralParser.Text text = ParallelLiteralParser.Text.of(map(file));
+        if (text.blank()) {
+            return null;
+        }
+        return ParallelLiteralParser.listList(text, creator, ForkJoinPool.commonPool(),
+                ParallelLiteralParser.SEQUENTIAL_THRESHOLD, ParallelLiteralParser.CHUNK_SIZE);
+    }
+
+    /**
+     * Maps the whole file read only, the mapping stays valid after the channel is closed.
+     */
+    static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + file + ", size is : " + size);
             }
-            lists.add(list);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
         }
-        return lists;
     }
 
     public interface Creator<T> {
         T create(String text);
     }
 
-    public static final class ListListMatcher extends BaseMatcher {
-        private final List<List<Integer>> target;
+    /**
+     * Matches a list of lists against {@code target} as a multiset: outer order is ignored,
+     * but every inner list must appear exactly as many times as in {@code target}.
+     * Hash based, expected linear time in the total count of elements.
+     * <p>
+     * With {@code ignoreInnerOrder}, inner lists are compared as multisets too, so [1,2] matches [2,1].
+     * A mismatch is reported with the count and first few of the missing and extra inner lists.
+     */
+    public static final class ListListMatcher extends BaseMatcher<Object> {
+        private static final int REPORT_LIMIT = 3;
+
+        private final List<? extends List<?>> target;
+        private final boolean ignoreInnerOrder;
 
-        public ListListMatcher(List<List<Integer>> target) {
+        public ListListMatcher(List<? extends List<?>> target) {
+            this(target, false);
+        }
+
+        public ListListMatcher(List<? extends List<?>> target, boolean ignoreInnerOrder) {
             this.target = target;
+            this.ignoreInnerOrder = ignoreInnerOrder;
+        }
+
+        @Override
+        public boolean matches(Object item) {
+            return mismatch(item) == null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText(ignoreInnerOrder
+                    ? "lists in any order, each inner list in any order: "
+                    : "lists in any order: ")
+                    .appendValue(target);
+        }
+
+        @Override
+        public void describeMismatch(Object item, Description description) {
+            String mismatch = mismatch(item);
+            description.appendText(mismatch == null ? "matched" : mismatch);
+        }
+
+        /**
+         * @return null if matches, or what differs.
+         */
+        private String mismatch(Object item) {
+            if (!(item instanceof List)) {
+                return "was not a List: " + item;
+            }
+            Map<Object, Remaining> remaining = new HashMap<>(target.size() * 2);
+            for (List<?> list : target) {
+                Object key = key(list);
+                Remaining counter = remaining.get(key);
+                if (counter == null) {
+                    remaining.put(key, new Remaining(list));
+                } else {
+                    counter.count++;
+                }
+            }
+            List<Object> extras = new ArrayList<>(REPORT_LIMIT);
+            int extraCount = 0;
+            for (Object actual : (List<?>) item) {
+                Remaining counter = actual == null || actual instanceof List ? remaining.get(key((List<?>) actual)) : null;
+                if (counter != null && counter.count > 0) {
+                    counter.count--;
+                } else if (extraCount++ < REPORT_LIMIT) {
+                    extras.add(actual);
+                }
+            }
+            List<Object> missing = new ArrayList<>(REPORT_LIMIT);
+            int missingCount = 0;
+            for (Remaining counter : remaining.values()) {
+                for (int i = 0; i < counter.count; i++) {
+                    if (missingCount++ < REPORT_LIMIT) {
+                        missing.add(counter.sample);
+                    }
+                }
+            }
+            if (extraCount == 0 && missingCount == 0) {
+                return null;
+            }
+            StringBuilder builder = new StringBuilder();
+            if (missingCount > 0) {
+                builder.append("missing ").append(missingCount).append(" inner list(s), like ").append(missing);
+            }
+            if (extraCount > 0) {
+                builder.append(missingCount > 0 ? ", " : "")
+                        .append("extra ").append(extraCount).append(" inner list(s), like ").append(extras);
+            }
+            return builder.toString();
+        }
+
+        /**
+         * The list itself, or a count of every element if inner order is ignored.
+         */
+        private Object key(List<?> list) {
+            if (!ignoreInnerOrder || list == null) {
+                return list;
+            }
+            Map<Object, Integer> counts = new HashMap<>(list.size() * 2);
+            for (Object element : list) {
+                Integer count = counts.get(element);
+                counts.put(element, count == null ? 1 : count + 1);
+            }
+            return counts;
+        }
+
+        private static final class Remaining {
+            final Object sample;
+            int count = 1;
+
+            Remaining(Object sample) {
+                this.sample = sample;
+            }
+        }
+    }
+
+    /**
+     * Matches a {@link TreeNode} against {@code expected} node by node, in pre-order with an explicit stack,
+     * so it stops at the first difference and any depth is fine. A mismatch is reported with its path from the
+     * root, like root.left.right, and a node reached twice, shared between subtrees or looping back, is a mismatch.
+     * <p>
+     * {@link #structuralHash(TreeNode)} tells unequal trees apart cheaply, like in stress loops.
+     */
+    public static final class TreeMatcher extends BaseMatcher<Object> {
+        private static final int DESCRIBE_LIMIT = 200;
+        private static final int PATH_LIMIT = 16;
+
+        private final TreeNode expected;
+
+        public TreeMatcher(TreeNode expected) {
+            this.expected = expected;
+        }
+
+        /**
+         * Hash of values and shape, equal trees hash equal. Iterative.
+         *
+         * @throws IllegalArgumentException if a node is reached twice, shared or looping back.
+         */
+        public static int structuralHash(TreeNode root) {
+            Set<TreeNode> seen = Collections.newSetFromMap(new IdentityHashMap<TreeNode, Boolean>());
+            TreeNode[] stack = new TreeNode[16];
+            int top = 0;
+            int hash = 1;
+            stack[top++] = root;
+            while (top > 0) {
+                TreeNode node = stack[--top];
+                if (node == null) {
+                    hash = 31 * hash + 0x9E3779B9;
+                    continue;
+                }
+                if (!seen.add(node)) {
+                    throw new IllegalArgumentException("Bad tree, node " + node.val
+                            + " is reached twice, shared or looping back");
+                }
+                hash = 31 * hash + node.val;
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length << 1);
+                }
+                stack[top++] = node.right;
+                stack[top++] = node.left;
+            }
+            return hash;
         }
 
         @Override
         public boolean matches(Object item) {
-            return item instanceof List
-                    && ((List) item).size() == target.size()
-                    && target.containsAll(((List) item));
+            return mismatch(item) == null;
         }
 
         @Override
         public void describeTo(Description description) {
+            description.appendText("tree ").appendText(abbreviate(treeToString(expected)));
+        }
+
+        @Override
+        public void describeMismatch(Object item, Description description) {
+            String mismatch = mismatch(item);
+            description.appendText(mismatch == null ? "matched" : mismatch);
+        }
+
+        /**
+         * @return null if matches, or what differs where.
+         */
+        private String mismatch(Object item) {
+            if (item != null && !(item instanceof TreeNode)) {
+                return "was not a TreeNode: " + item;
+            }
+            TreeNode actual = (TreeNode) item;
+            String difference = compare(expected, actual);
+            if (difference != null) {
+                return "root " + difference;
+            }
+            if (actual == null) {
+                return null;
+            }
+            Set<TreeNode> seen = Collections.newSetFromMap(new IdentityHashMap<TreeNode, Boolean>());
+            seen.add(actual);
+            // the frames are the current path, side[i] is 0 before the left child, 1 before the right, 2 when done.
+            TreeNode[] expectedPath = new TreeNode[16];
+            TreeNode[] actualPath = new TreeNode[16];
+            byte[] side = new byte[16];
+            int top = 0;
+            expectedPath[0] = expected;
+            actualPath[0] = actual;
+            side[top++] = 0;
+            while (top > 0) {
+                int frame = top - 1;
+                if (side[frame] == 2) {
+                    expectedPath[frame] = null;
+                    actualPath[frame] = null;
+                    top--;
+                    continue;
+                }
+                boolean left = side[frame]++ == 0;
+                TreeNode expectedChild = left ? expectedPath[frame].left : expectedPath[frame].right;
+                TreeNode actualChild = left ? actualPath[frame].left : actualPath[frame].right;
+                difference = compare(expectedChild, actualChild);
+                if (difference != null) {
+                    return path(side, top) + " " + difference;
+                }
+                if (actualChild == null) {
+                    continue;
+                }
+                if (!seen.add(actualChild)) {
+                    return path(side, top) + " is a node already reached, shared or looping back";
+                }
+                if (top == side.length) {
+                    expectedPath = Arrays.copyOf(expectedPath, top << 1);
+                    actualPath = Arrays.copyOf(actualPath, top << 1);
+                    side = Arrays.copyOf(side, top << 1);
+                }
+                expectedPath[top] = expectedChild;
+                actualPath[top] = actualChild;
+                side[top++] = 0;
+            }
+            return null;
+        }
+
+        /**
+         * @return null if both are null or hold the same value, children are not looked at.
+         */
+        private static String compare(TreeNode expected, TreeNode actual) {
+            if (expected == null || actual == null) {
+                return expected == actual ? null : "expected " + (expected == null ? "null" : expected.val)
+                        + " but was " + (actual == null ? "null" : actual.val);
+            }
+            return expected.val == actual.val ? null : "expected " + expected.val + " but was " + actual.val;
+        }
+
+        /**
+         * Path to the child about to be compared under frame {@code top - 1}, long paths keep their tail.
+         */
+        private static String path(byte[] side, int top) {
+            StringBuilder builder = new StringBuilder("root");
+            int from = 0;
+            if (top > PATH_LIMIT) {
+                from = top - PATH_LIMIT;
+                builder.append("...(").append(from).append(" more)");
+            }
+            for (int i = from; i < top; i++) {
+                builder.append(side[i] == 1 ? ".left" : ".right");
+            }
+            return builder.toString();
+        }
+
+        private static String abbreviate(String text) {
+            return text.length() <= DESCRIBE_LIMIT ? text : text.substring(0, DESCRIBE_LIMIT) + "...";
         }
     }
 
-    static final class LeetCode {
-        static boolean check1dFormat(String s) {
-            return Pattern.matches("\\[.+]", s);
+    /**
+     * Matches a {@link ListNode} against {@code expected} value by value and stops at the first difference.
+     * Cycles count as structure: the actual list must loop back to the same index as the expected one, or end
+     * where it ends. Walks at most as far as the expected list, so a looping actual list is safe.
+     * <p>
+     * {@link #structuralHash(ListNode)} tells unequal lists apart cheaply, like in stress loops.
+     */
+    public static final class ListNodeMatcher extends BaseMatcher<Object> {
+        private final ListNode expected;
+        private final ListNodeUtils.Cycle expectedCycle;
+        private final int expectedSize;
+
+        public ListNodeMatcher(ListNode expected) {
+            this.expected = expected;
+            this.expectedCycle = ListNodeUtils.detectCycle(expected);
+            this.expectedSize = expectedCycle != null
+                    ? expectedCycle.entryIndex + expectedCycle.length : ListNodeUtils.size(expected);
+        }
+
+        /**
+         * Hash of values and cycle position of distinct nodes, equal lists hash equal.
+         */
+        public static int structuralHash(ListNode head) {
+            ListNodeUtils.Cycle cycle = ListNodeUtils.detectCycle(head);
+            int hash = cycle == null ? -1 : cycle.entryIndex;
+            for (PrimitiveIterator.OfInt values = ListNodeUtils.iterator(head); values.hasNext(); ) {
+                hash = 31 * hash + values.nextInt();
+            }
+            return hash;
         }
 
-        static boolean check2dFormat(String s) {
-            return Pattern.matches("\\[\\[.+]]", s);
+        @Override
+        public boolean matches(Object item) {
+            return mismatch(item) == null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("list ").appendValue(ListNodeUtils.toArray(expected));
+            if (expectedCycle != null) {
+                description.appendText(" looping back to index " + expectedCycle.entryIndex);
+            }
+        }
+
+        @Override
+        public void describeMismatch(Object item, Description description) {
+            String mismatch = mismatch(item);
+            description.appendText(mismatch == null ? "matched" : mismatch);
+        }
+
+        /**
+         * @return null if matches, or what differs where.
+         */
+        private String mismatch(Object item) {
+            if (item != null && !(item instanceof ListNode)) {
+                return "was not a ListNode: " + item;
+            }
+            ListNode expectedNode = expected;
+            ListNode actualNode = (ListNode) item;
+            ListNode actualEntry = null;
+            for (int index = 0; index < expectedSize; index++) {
+                if (actualNode == null) {
+                    return "ended after " + index + " nodes, expected " + expectedSize;
+                }
+                if (actualNode.val != expectedNode.val) {
+                    return "differs at index " + index + ": expected " + expectedNode.val + " but was " + actualNode.val;
+                }
+                if (expectedCycle != null && index == expectedCycle.entryIndex) {
+                    actualEntry = actualNode;
+                }
+                expectedNode = expectedNode.next;
+                actualNode = actualNode.next;
+            }
+            if (actualNode == actualEntry) {
+                return null;
+            }
+            if (expectedCycle == null) {
+                return "did not end after " + expectedSize + " nodes";
+            }
+            return "did not loop back to index " + expectedCycle.entryIndex + " after " + expectedSize + " nodes";
         }
     }
 }
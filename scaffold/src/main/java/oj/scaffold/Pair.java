@@ -30,7 +30,10 @@ import java.io.Serializable;
 /**
  * <p>A convenience class to represent name-value pairs.</p>
  * @since JavaFX 2.0
+ * @deprecated boxes both halves, pack int pairs with {@link oj.scaffold.collections.IntPair} instead.
+ * Nothing in this library uses it any more.
  */
+@Deprecated
 public class Pair<K,V> implements Serializable{
 
    /**
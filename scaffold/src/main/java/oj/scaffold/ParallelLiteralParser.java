@@ -0,0 +1,350 @@
+package oj.scaffold;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join parsing of huge 2d literals, like [[1,2],[3],...].
+ * <p>
+ * A sequential pre-scan only looks at brackets, quotes and commas to find where every row starts and ends,
+ * then chunks of rows are parsed by {@link LiteralScanner}s on a {@link ForkJoinPool}, each writing its rows
+ * straight into the preallocated result. The result is identical to the sequential path,
+ * which inputs below {@link #SEQUENTIAL_THRESHOLD} chars take anyway.
+ *
+ * @author zsmallx
+ * @since 2020/06/01
+ */
+final class ParallelLiteralParser {
+    static final int SEQUENTIAL_THRESHOLD = 1 << 20;
+    static final int CHUNK_SIZE = 1 << 18;
+
+    private final Text text;
+    private final int chunkSize;
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    /**
+     * Values of every row as counted by the pre-scan: its top level commas plus one, 0 if blank.
+     */
+    private int[] sizes = new int[64];
+    private int rows;
+
+    private ParallelLiteralParser(Text text, int chunkSize) {
+        this.text = text;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses one row at {@code row} of the result, the scanner is right before its '['.
+     */
+    private interface RowParser {
+        void parse(LiteralScanner scanner, int row);
+    }
+
+    static int[][] intMatrix(Text text, ForkJoinPool pool, int sequentialThreshold, int chunkSize) {
+        if (text.length() < sequentialThreshold) {
+            return text.scanner(0, text.length()).readIntMatrix();
+        }
+        ParallelLiteralParser parser = new ParallelLiteralParser(text, chunkSize);
+        parser.scanRows();
+        final int[][] result = new int[parser.rows][];
+        parser.parseRows(pool, new RowParser() {
+            @Override
+            public void parse(LiteralScanner scanner, int row) {
+                result[row] = scanner.readIntRow();
+            }
+        });
+        return result;
+    }
+
+    static IntListList intListList(Text text, ForkJoinPool pool, int sequentialThreshold, int chunkSize) {
+        if (text.length() < sequentialThreshold) {
+            return text.scanner(0, text.length()).readIntListList();
+        }
+        ParallelLiteralParser parser = new ParallelLiteralParser(text, chunkSize);
+        parser.scanRows();
+        final int[] offsets = new int[parser.rows + 1];
+        for (int row = 0; row < parser.rows; row++) {
+            offsets[row + 1] = offsets[row] + parser.sizes[row];
+        }
+        // every chunk writes its rows into the one flat array, no int[][] on the way.
+        final int[] values = new int[offsets[parser.rows]];
+        parser.parseRows(pool, new RowParser() {
+            @Override
+            public void parse(LiteralScanner scanner, int row) {
+                scanner.readIntRow(values, offsets[row], offsets[row + 1]);
+            }
+        });
+        return new IntListList(values, offsets);
+    }
+
+    /**
+     * {@code creator} is called from several threads at once.
+     */
+    static <T> List<List<T>> listList(Text text, final OjUtils.Creator<T> creator, ForkJoinPool pool,
+                                      int sequentialThreshold, int chunkSize) {
+        if (text.length() < sequentialThreshold) {
+            return text.scanner(0, text.length()).readListList(creator);
+        }
+        ParallelLiteralParser parser = new ParallelLiteralParser(text, chunkSize);
+        parser.scanRows();
+        if (parser.rows == 0) {
+            return Collections.emptyList();
+        }
+        final List<List<T>> result = new ArrayList<>(Collections.<List<T>>nCopies(parser.rows, null));
+        parser.parseRows(pool, new RowParser() {
+            @Override
+            public void parse(LiteralScanner scanner, int row) {
+                result.set(row, scanner.readList(creator));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Finds the bounds of every row, checks the outer brackets and the commas between rows on the way.
+     * Rows are only walked through, their content is left to the scanners.
+     */
+    private void scanRows() {
+        int length = text.length();
+        int i = expect(skipWhitespace(0), '[');
+        i = skipWhitespace(i);
+        if (i < length && text.charAt(i) == ']') {
+            expectEnd(i + 1);
+            return;
+        }
+        while (true) {
+            if (i >= length || text.charAt(i) != '[') {
+                throw unexpected(i, "'['");
+            }
+            int start = i++;
+            boolean quoted = false;
+            boolean blank = true;
+            int commas = 0;
+            for (; i < length; i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    blank = false;
+                } else if (c == ']') {
+                    break;
+                } else if (c == '[') {
+                    throw unexpected(i, "a value");
+                } else if (c == ',') {
+                    commas++;
+                } else if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    blank = false;
+                }
+            }
+            if (i >= length) {
+                throw unexpected(i, "']'");
+            }
+            addRow(start, ++i, blank ? 0 : commas + 1);
+            i = skipWhitespace(i);
+            if (i < length && text.charAt(i) == ',') {
+                i = skipWhitespace(i + 1);
+            } else {
+                expectEnd(expect(i, ']'));
+                return;
+            }
+        }
+    }
+
+    private void parseRows(ForkJoinPool pool, RowParser rowParser) {
+        if (rows == 0) {
+            return;
+        }
+        pool.invoke(new Chunk(rowParser, 0, rows));
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RowParser rowParser;
+        private final int from;
+        private final int to;
+
+        Chunk(RowParser rowParser, int from, int to) {
+            this.rowParser = rowParser;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && ends[to - 1] - starts[from] > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(rowParser, from, middle), new Chunk(rowParser, middle, to));
+                return;
+            }
+            // covers the commas between its own rows, the ones between chunks are checked by scanRows.
+            LiteralScanner scanner = text.scanner(starts[from], ends[to - 1]);
+            for (int row = from; row < to; row++) {
+                if (row > from) {
+                    scanner.expect(',');
+                }
+                rowParser.parse(scanner, row);
+            }
+            scanner.expectEnd();
+        }
+    }
+
+    private void addRow(int start, int end, int size) {
+        if (rows == starts.length) {
+            starts = Arrays.copyOf(starts, rows << 1);
+            ends = Arrays.copyOf(ends, rows << 1);
+            sizes = Arrays.copyOf(sizes, rows << 1);
+        }
+        starts[rows] = start;
+        ends[rows] = end;
+        sizes[rows] = size;
+        rows++;
+    }
+
+    private int skipWhitespace(int i) {
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int expect(int i, char expected) {
+        if (i >= text.length() || text.charAt(i) != expected) {
+            throw unexpected(i, "'" + expected + "'");
+        }
+        return i + 1;
+    }
+
+    private void expectEnd(int i) {
+        i = skipWhitespace(i);
+        if (i < text.length()) {
+            throw new IllegalArgumentException("Bad input, unexpected '" + text.charAt(i) + "' at " + i);
+        }
+    }
+
+    private IllegalArgumentException unexpected(int i, String expected) {
+        return new IllegalArgumentException("Bad input, expect " + expected + " at " + i + " but was "
+                + (i < text.length() ? "'" + text.charAt(i) + "'" : "end of input"));
+    }
+
+    /**
+     * Random access input for the pre-scan, sliced into readers for the chunk scanners.
+     */
+    abstract static class Text {
+        abstract int length();
+
+        /**
+         * Only brackets, quotes, commas and whitespace matter to the pre-scan, so bytes may be handed out
+         * as chars: no byte of a multibyte UTF-8 sequence looks like one of them.
+         */
+        abstract char charAt(int index);
+
+        abstract Reader slice(int start, int end);
+
+        /**
+         * @return true if nothing but whitespace, where the sequential overloads give null.
+         */
+        boolean blank() {
+            for (int i = 0; i < length(); i++) {
+                char c = charAt(i);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        LiteralScanner scanner(int start, int end) {
+            return new LiteralScanner(slice(start, end),
+                    Math.max(16, Math.min(end - start, LiteralScanner.BUFFER_SIZE)), start);
+        }
+
+        static Text of(final String string) {
+            return new Text() {
+                @Override
+                int length() {
+                    return string.length();
+                }
+
+                @Override
+                char charAt(int index) {
+                    return string.charAt(index);
+                }
+
+                @Override
+                Reader slice(int start, int end) {
+                    return new StringSliceReader(string, start, end);
+                }
+            };
+        }
+
+        static Text of(final ByteBuffer bytes) {
+            final int base = bytes.position();
+            final int length = bytes.remaining();
+            return new Text() {
+                @Override
+                int length() {
+                    return length;
+                }
+
+                @Override
+                char charAt(int index) {
+                    return (char) (bytes.get(base + index) & 0xff);
+                }
+
+                @Override
+                Reader slice(int start, int end) {
+                    ByteBuffer slice = bytes.duplicate();
+                    slice.limit(base + end).position(base + start);
+                    return new ByteBufferReader(slice);
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads part of a String without copying it out first.
+     */
+    private static final class StringSliceReader extends Reader {
+        private final String string;
+        private final int end;
+        private int next;
+
+        StringSliceReader(String string, int start, int end) {
+            this.string = string;
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char[] chars, int off, int len) {
+            if (next >= end) {
+                return -1;
+            }
+            int n = Math.min(len, end - next);
+            string.getChars(next, next + n, chars, off);
+            next += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
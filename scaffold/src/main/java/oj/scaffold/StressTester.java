@@ -0,0 +1,808 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Differential testing: runs a trusted reference, usually brute force, and a candidate solution on seeded random
+ * inputs on every core, stops at the first disagreement and shrinks its input to a minimal counterexample,
+ * printed as a LeetCode literal to paste back into a unit test.
+ * <p>
+ * Usage:
+ * <pre>
+ * new StressTester&lt;int[][], Integer&gt;(StressTester.intMatrix(), brute::minPathSum, fast::minPathSum)
+ *         .generator(random -&gt; new MatrixGenerator(random.nextLong()).build(1 + random.nextInt(6), 3))
+ *         .cases(1000000)
+ *         .assertAgree();
+ * </pre>
+ * Case {@code i} is generated from its own {@link Random}, so runs are reproducible whatever the thread count,
+ * and the reported case is always the first failing one. The generator and both solutions are called from
+ * several threads at once and get their own copy of every input, so solutions may modify it in place.
+ * <p>
+ * A run disagrees when the outputs differ or the candidate throws. Shrinking greedily takes the first smaller
+ * input that still disagrees, cutting big parts first: halves, rows, columns, subtrees, then single elements,
+ * then values towards 0. Smaller inputs the reference throws on, or {@link #assume(Predicate)} rejects, are skipped.
+ *
+ * @param <I> solution input.
+ * @param <O> solution output.
+ * @author zsmallx
+ * @since 2020/06/14
+ */
+public final class StressTester<I, O> {
+    private static final ThreadFactory DAEMON_THREADS = new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "oj-stress");
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final InputType<I> type;
+    private final Function<? super I, ? extends O> reference;
+    private final Function<? super I, ? extends O> candidate;
+    private Function<? super Random, ? extends I> generator;
+    private Predicate<? super I> assumption;
+    private BiPredicate<? super O, ? super O> equivalence;
+    private long cases = 10000;
+    private long seed;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int shrinkAttempts = 100000;
+
+    public StressTester(InputType<I> type, Function<? super I, ? extends O> reference,
+                        Function<? super I, ? extends O> candidate) {
+        this.type = type;
+        this.reference = reference;
+        this.candidate = candidate;
+    }
+
+    /**
+     * Makes case inputs, must depend on nothing but the given {@link Random}.
+     */
+    public StressTester<I, O> generator(Function<? super Random, ? extends I> generator) {
+        this.generator = generator;
+        return this;
+    }
+
+    /**
+     * Constraints of the problem, shrunk inputs breaking them are not tried. Generated inputs are not checked.
+     */
+    public StressTester<I, O> assume(Predicate<? super I> assumption) {
+        this.assumption = assumption;
+        return this;
+    }
+
+    /**
+     * Whether two outputs agree, by default {@link Objects#deepEquals(Object, Object)},
+     * structurally for {@link TreeNode}s and {@link ListNode}s.
+     */
+    public StressTester<I, O> equivalence(BiPredicate<? super O, ? super O> equivalence) {
+        this.equivalence = equivalence;
+        return this;
+    }
+
+    /**
+     * Cases to run, 10000 by default.
+     */
+    public StressTester<I, O> cases(long cases) {
+        if (cases <= 0) {
+            throw new IllegalArgumentException("Bad cases: " + cases);
+        }
+        this.cases = cases;
+        return this;
+    }
+
+    /**
+     * Seed of the whole run, 0 by default.
+     */
+    public StressTester<I, O> seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Threads running cases, the available processors by default.
+     */
+    public StressTester<I, O> parallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Bad parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Limit of smaller inputs tried while shrinking, 100000 by default.
+     */
+    public StressTester<I, O> shrinkAttempts(int attempts) {
+        if (attempts < 0) {
+            throw new IllegalArgumentException("Bad shrink attempts: " + attempts);
+        }
+        this.shrinkAttempts = attempts;
+        return this;
+    }
+
+    /**
+     * Runs the cases until the first disagreement.
+     *
+     * @return shrunk counterexample, null if every case agreed.
+     * @throws IllegalStateException if the reference throws on a generated input.
+     */
+    public Counterexample<I> run() {
+        if (generator == null) {
+            throw new IllegalStateException("No generator");
+        }
+        final AtomicLong next = new AtomicLong();
+        final AtomicLong firstFailure = new AtomicLong(Long.MAX_VALUE);
+        final AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, DAEMON_THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (long index; !failed.get() && (index = next.getAndIncrement()) < cases
+                                    && index < firstFailure.get(); ) {
+                                if (runCase(index).disagrees()) {
+                                    for (long first; index < (first = firstFailure.get()); ) {
+                                        if (firstFailure.compareAndSet(first, index)) {
+                                            break;
+                                        }
+                                    }
+                                }
+                            }
+                        } catch (RuntimeException | Error e) {
+                            // the other workers stop too, the interrupt of shutdownNow is not checked by the cases.
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                }));
+            }
+            // joins every worker before reporting, so no case is still running once this returns or throws.
+            ExecutionException failure = null;
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stress testing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Stress testing failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long index = firstFailure.get();
+        return index == Long.MAX_VALUE ? null : shrink(index);
+    }
+
+    /**
+     * Same as {@link #run()}, then fails the running test with the counterexample.
+     *
+     * @throws AssertionError if the solutions disagree on any case.
+     */
+    public void assertAgree() {
+        Counterexample<I> counterexample = run();
+        if (counterexample != null) {
+            Assert.fail(counterexample.toString());
+        }
+    }
+
+    private Outcome runCase(long index) {
+        I input = generate(index);
+        Outcome outcome = check(input);
+        if (outcome.referenceError != null) {
+            throw new IllegalStateException("Reference failed on case " + index + ": " + type.format(input),
+                    outcome.referenceError);
+        }
+        return outcome;
+    }
+
+    private I generate(long index) {
+        return generator.apply(new Random(caseSeed(index)));
+    }
+
+    private long caseSeed(long index) {
+        return seed + index * 0x9E3779B97F4A7C15L;
+    }
+
+    private Outcome check(I input) {
+        Outcome outcome = new Outcome();
+        try {
+            outcome.expected = reference.apply(type.copy(input));
+        } catch (Throwable e) {
+            outcome.referenceError = e;
+            return outcome;
+        }
+        try {
+            outcome.actual = candidate.apply(type.copy(input));
+        } catch (Throwable e) {
+            outcome.error = e;
+        }
+        return outcome;
+    }
+
+    private Counterexample<I> shrink(long index) {
+        I original = generate(index);
+        I current = original;
+        Outcome outcome = check(current);
+        int steps = 0;
+        int attempts = 0;
+        boolean smaller = true;
+        while (smaller && attempts < shrinkAttempts) {
+            smaller = false;
+            for (Iterator<I> candidates = type.shrink(current).iterator();
+                 candidates.hasNext() && attempts < shrinkAttempts; ) {
+                I next = candidates.next();
+                if (assumption != null && !assumption.test(next)) {
+                    continue;
+                }
+                attempts++;
+                Outcome nextOutcome = check(next);
+                if (nextOutcome.referenceError == null && nextOutcome.disagrees()) {
+                    current = next;
+                    outcome = nextOutcome;
+                    steps++;
+                    smaller = true;
+                    break;
+                }
+            }
+        }
+        return new Counterexample<>(index, caseSeed(index), original, current, steps,
+                type.format(current), literal(outcome.expected),
+                outcome.error != null ? "threw " + outcome.error : literal(outcome.actual));
+    }
+
+    /**
+     * Result of both solutions on one input.
+     */
+    private final class Outcome {
+        O expected;
+        O actual;
+        Throwable error;
+        /**
+         * Set if the reference threw, the input is not valid then.
+         */
+        Throwable referenceError;
+
+        boolean disagrees() {
+            if (error != null) {
+                return true;
+            }
+            if (equivalence != null) {
+                return !equivalence.test(expected, actual);
+            }
+            if (expected instanceof TreeNode || actual instanceof TreeNode) {
+                return !new OjUtils.TreeMatcher((TreeNode) expected).matches(actual);
+            }
+            if (expected instanceof ListNode || actual instanceof ListNode) {
+                return !new OjUtils.ListNodeMatcher((ListNode) expected).matches(actual);
+            }
+            return !Objects.deepEquals(expected, actual);
+        }
+    }
+
+    /**
+     * A minimal input the solutions disagree on.
+     *
+     * @param <I> solution input.
+     */
+    public static final class Counterexample<I> {
+        public final long caseIndex;
+        /**
+         * Seed of the {@link Random} the generator got for the case.
+         */
+        public final long caseSeed;
+        public final I original;
+        public final I input;
+        public final int shrinkSteps;
+        /**
+         * {@link #input} as a LeetCode literal.
+         */
+        public final String literal;
+        public final String expected;
+        /**
+         * Output of the candidate, or what it threw.
+         */
+        public final String actual;
+
+        Counterexample(long caseIndex, long caseSeed, I original, I input, int shrinkSteps,
+                       String literal, String expected, String actual) {
+            this.caseIndex = caseIndex;
+            this.caseSeed = caseSeed;
+            this.original = original;
+            this.input = input;
+            this.shrinkSteps = shrinkSteps;
+            this.literal = literal;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        @Override
+        public String toString() {
+            return "Case " + caseIndex + " (seed " + caseSeed + ") disagrees, shrunk in " + shrinkSteps + " steps to:\n"
+                    + literal + "\nexpected: " + expected + "\nactual:   " + actual;
+        }
+    }
+
+    /**
+     * How to copy, shrink and print one input type.
+     *
+     * @param <I> input.
+     */
+    public interface InputType<I> {
+        /**
+         * @return an independent copy, the solutions may modify it.
+         */
+        I copy(I input);
+
+        /**
+         * @return smaller inputs, the biggest cuts first, each a new object. May be lazy.
+         */
+        Iterable<I> shrink(I input);
+
+        /**
+         * @return LeetCode literal.
+         */
+        String format(I input);
+    }
+
+    public static InputType<int[]> intArray() {
+        return new InputType<int[]>() {
+            @Override
+            public int[] copy(int[] input) {
+                return input.clone();
+            }
+
+            @Override
+            public Iterable<int[]> shrink(final int[] input) {
+                final int n = input.length;
+                // halves, then single elements, then values.
+                return new Candidates<int[]>(2 + n + n) {
+                    @Override
+                    int[] candidate(int index) {
+                        if (index < 2) {
+                            return n < 2 ? null : index == 0 ? Arrays.copyOfRange(input, n / 2, n)
+                                    : Arrays.copyOf(input, n / 2);
+                        }
+                        index -= 2;
+                        if (index < n) {
+                            return removeAt(input, index);
+                        }
+                        index -= n;
+                        int value = smaller(input[index]);
+                        if (value == input[index]) {
+                            return null;
+                        }
+                        int[] copy = input.clone();
+                        copy[index] = value;
+                        return copy;
+                    }
+                };
+            }
+
+            @Override
+            public String format(int[] input) {
+                return literal(input);
+            }
+        };
+    }
+
+    /**
+     * Rows may be ragged, columns are removed as a whole only while the rows are of one length.
+     */
+    public static InputType<int[][]> intMatrix() {
+        return new InputType<int[][]>() {
+            @Override
+            public int[][] copy(int[][] input) {
+                int[][] copy = new int[input.length][];
+                for (int i = 0; i < input.length; i++) {
+                    copy[i] = input[i].clone();
+                }
+                return copy;
+            }
+
+            @Override
+            public Iterable<int[][]> shrink(final int[][] input) {
+                final int rows = input.length;
+                final int[] offsets = new int[rows + 1];
+                boolean rectangular = true;
+                for (int i = 0; i < rows; i++) {
+                    offsets[i + 1] = offsets[i] + input[i].length;
+                    rectangular &= input[i].length == input[0].length;
+                }
+                final int columns = rectangular && rows > 0 ? input[0].length : 0;
+                final int elements = offsets[rows];
+                return new Candidates<int[][]>(2 + rows + columns + elements + elements) {
+                    @Override
+                    int[][] candidate(int index) {
+                        if (index < 2) {
+                            return rows < 2 ? null : index == 0 ? copy(Arrays.copyOfRange(input, rows / 2, rows))
+                                    : copy(Arrays.copyOf(input, rows / 2));
+                        }
+                        index -= 2;
+                        if (index < rows) {
+                            int[][] copy = new int[rows - 1][];
+                            for (int i = 0, j = 0; i < rows; i++) {
+                                if (i != index) {
+                                    copy[j++] = input[i].clone();
+                                }
+                            }
+                            return copy;
+                        }
+                        index -= rows;
+                        if (index < columns) {
+                            int[][] copy = new int[rows][];
+                            for (int i = 0; i < rows; i++) {
+                                copy[i] = removeAt(input[i], index);
+                            }
+                            return copy;
+                        }
+                        index -= columns;
+                        boolean remove = index < elements;
+                        if (!remove) {
+                            index -= elements;
+                        }
+                        int row = rowOf(offsets, index);
+                        int column = index - offsets[row];
+                        if (remove && columns > 0) {
+                            // whole columns already tried, single elements would only make it ragged.
+                            return null;
+                        }
+                        int[][] copy = copy(input);
+                        if (remove) {
+                            copy[row] = removeAt(input[row], column);
+                        } else {
+                            int value = smaller(input[row][column]);
+                            if (value == input[row][column]) {
+                                return null;
+                            }
+                            copy[row][column] = value;
+                        }
+                        return copy;
+                    }
+                };
+            }
+
+            @Override
+            public String format(int[][] input) {
+                return literal(input);
+            }
+        };
+    }
+
+    /**
+     * Elements are shared between copies, they should be immutable, like {@link Integer} or {@link String}.
+     */
+    public static <T> InputType<List<List<T>>> listList() {
+        return new InputType<List<List<T>>>() {
+            @Override
+            public List<List<T>> copy(List<List<T>> input) {
+                List<List<T>> copy = new ArrayList<>(input.size());
+                for (List<T> row : input) {
+                    copy.add(row == null ? null : new ArrayList<>(row));
+                }
+                return copy;
+            }
+
+            @Override
+            public Iterable<List<List<T>>> shrink(final List<List<T>> input) {
+                final int rows = input.size();
+                final int[] offsets = new int[rows + 1];
+                for (int i = 0; i < rows; i++) {
+                    offsets[i + 1] = offsets[i] + (input.get(i) == null ? 0 : input.get(i).size());
+                }
+                return new Candidates<List<List<T>>>(2 + rows + offsets[rows]) {
+                    @Override
+                    List<List<T>> candidate(int index) {
+                        if (index < 2) {
+                            return rows < 2 ? null : index == 0 ? copy(input.subList(rows / 2, rows))
+                                    : copy(input.subList(0, rows / 2));
+                        }
+                        index -= 2;
+                        List<List<T>> copy = copy(input);
+                        if (index < rows) {
+                            copy.remove(index);
+                        } else {
+                            index -= rows;
+                            int row = rowOf(offsets, index);
+                            copy.get(row).remove(index - offsets[row]);
+                        }
+                        return copy;
+                    }
+                };
+            }
+
+            @Override
+            public String format(List<List<T>> input) {
+                return literal(input);
+            }
+        };
+    }
+
+    /**
+     * Shrinks by cutting subtrees, by replacing a node with one of its children, then by values.
+     * Nothing here recurses, the trees should not loop.
+     */
+    public static InputType<TreeNode> tree() {
+        return new InputType<TreeNode>() {
+            @Override
+            public TreeNode copy(TreeNode input) {
+                return input == null ? null : TreeArena.of(input).toTree();
+            }
+
+            @Override
+            public Iterable<TreeNode> shrink(final TreeNode input) {
+                final int size = preOrder(input).size();
+                return new Candidates<TreeNode>(size * 4) {
+                    @Override
+                    TreeNode candidate(int index) {
+                        int edit = index / size;
+                        int target = index % size;
+                        TreeNode root = copy(input);
+                        List<TreeNode> nodes = preOrder(root);
+                        TreeNode node = nodes.get(target);
+                        TreeNode replacement;
+                        if (edit == 0) {
+                            replacement = null;
+                        } else if (edit < 3) {
+                            replacement = edit == 1 ? node.left : node.right;
+                            if (replacement == null) {
+                                return null;
+                            }
+                        } else {
+                            int value = smaller(node.val);
+                            if (value == node.val) {
+                                return null;
+                            }
+                            node.val = value;
+                            return root;
+                        }
+                        if (target == 0) {
+                            return replacement;
+                        }
+                        for (TreeNode parent : nodes) {
+                            if (parent.left == node) {
+                                parent.left = replacement;
+                                break;
+                            }
+                            if (parent.right == node) {
+                                parent.right = replacement;
+                                break;
+                            }
+                        }
+                        return root;
+                    }
+                };
+            }
+
+            @Override
+            public String format(TreeNode input) {
+                return OjUtils.treeToString(input);
+            }
+        };
+    }
+
+    /**
+     * A looping list is printed with the index its tail links back to, like [3,2,0,-4] pos 1,
+     * and keeps looping to the same node while shrunk, as long as that node is left.
+     */
+    public static InputType<ListNode> listNode() {
+        return new InputType<ListNode>() {
+            @Override
+            public ListNode copy(ListNode input) {
+                return ListNodeUtils.fromArray(ListNodeUtils.toArray(input), pos(input));
+            }
+
+            @Override
+            public Iterable<ListNode> shrink(ListNode input) {
+                final int[] array = ListNodeUtils.toArray(input);
+                final int pos = pos(input);
+                final int n = array.length;
+                return new Candidates<ListNode>(n + 1 + n) {
+                    @Override
+                    ListNode candidate(int index) {
+                        if (index < n) {
+                            // removing node index, the loop keeps its node or moves to the next one.
+                            int[] shorter = removeAt(array, index);
+                            int newPos = pos > index ? pos - 1 : pos;
+                            return ListNodeUtils.fromArray(shorter, newPos >= shorter.length ? -1 : newPos);
+                        }
+                        if (index == n) {
+                            return pos < 0 ? null : ListNodeUtils.fromArray(array, -1);
+                        }
+                        index -= n + 1;
+                        int value = smaller(array[index]);
+                        if (value == array[index]) {
+                            return null;
+                        }
+                        int[] copy = array.clone();
+                        copy[index] = value;
+                        return ListNodeUtils.fromArray(copy, pos);
+                    }
+                };
+            }
+
+            @Override
+            public String format(ListNode input) {
+                int pos = pos(input);
+                return literal(ListNodeUtils.toArray(input)) + (pos < 0 ? "" : " pos " + pos);
+            }
+
+            private int pos(ListNode input) {
+                ListNodeUtils.Cycle cycle = ListNodeUtils.detectCycle(input);
+                return cycle == null ? -1 : cycle.entryIndex;
+            }
+        };
+    }
+
+    /**
+     * Numbered candidates made one at a time, {@link #candidate(int)} returns null for none at that number.
+     */
+    private abstract static class Candidates<I> implements Iterable<I> {
+        private final int count;
+
+        Candidates(int count) {
+            this.count = count;
+        }
+
+        abstract I candidate(int index);
+
+        @Override
+        public Iterator<I> iterator() {
+            return new Iterator<I>() {
+                private int index;
+                private I next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && index < count) {
+                        next = candidate(index++);
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public I next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    I result = next;
+                    next = null;
+                    return result;
+                }
+            };
+        }
+    }
+
+    private static int[] removeAt(int[] values, int index) {
+        int[] copy = new int[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    /**
+     * Halfway towards 0.
+     */
+    private static int smaller(int value) {
+        return value / 2;
+    }
+
+    /**
+     * @return the row containing flat {@code index}, empty rows skipped.
+     */
+    private static int rowOf(int[] offsets, int index) {
+        int row = Arrays.binarySearch(offsets, index);
+        if (row < 0) {
+            return -row - 2;
+        }
+        // offsets repeat for empty rows, the element belongs to the last row starting there.
+        while (row + 1 < offsets.length - 1 && offsets[row + 1] == index) {
+            row++;
+        }
+        return row;
+    }
+
+    private static List<TreeNode> preOrder(TreeNode root) {
+        List<TreeNode> nodes = new ArrayList<>();
+        if (root == null) {
+            return nodes;
+        }
+        TreeNode[] stack = new TreeNode[16];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            TreeNode node = stack[--top];
+            nodes.add(node);
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+            }
+            if (node.right != null) {
+                stack[top++] = node.right;
+            }
+            if (node.left != null) {
+                stack[top++] = node.left;
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * LeetCode literal of any value: arrays and collections as [..], strings and chars quoted,
+     * trees in level order, lists as their values.
+     */
+    static String literal(Object value) {
+        StringBuilder builder = new StringBuilder();
+        appendLiteral(builder, value);
+        return builder.toString();
+    }
+
+    private static void appendLiteral(StringBuilder builder, Object value) {
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof String || value instanceof Character) {
+            builder.append('"').append(value).append('"');
+        } else if (value instanceof TreeNode) {
+            builder.append(OjUtils.treeToString((TreeNode) value));
+        } else if (value instanceof ListNode) {
+            appendLiteral(builder, ListNodeUtils.toArray((ListNode) value));
+        } else if (value instanceof Collection) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                appendLiteral(builder, element);
+                first = false;
+            }
+            builder.append(']');
+        } else if (value.getClass().isArray()) {
+            builder.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                appendLiteral(builder, Array.get(value, i));
+            }
+            builder.append(']');
+        } else {
+            builder.append(value);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package oj.scaffold;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Binary tree as parallel int arrays, node {@code i} is {@code val[i]} with children {@code left[i]}
+ * and {@code right[i]}, {@link #NIL} for none. Three ints per node instead of a {@link TreeNode} object each,
+ * so 10^7 node stress trees cost 120MB less headers and pointers and nothing for the GC to trace.
+ * <p>
+ * Parsing appends nodes in level order, so the nodes themselves are the BFS queue and no other memory is needed.
+ * {@link #clear()} and every parse keep the arrays, one arena reused across test cases allocates only to grow.
+ * {@link TreeNode}s are built only when {@link #toTree()} asks for them. Nothing here recurses.
+ * <p>
+ * Every node has at most one parent, a node linked twice or below itself is reported by the walks
+ * with an {@link IllegalStateException} rather than followed.
+ *
+ * @author zsmallx
+ * @since 2020/06/12
+ */
+public final class TreeArena {
+    public static final int NIL = -1;
+
+    private int[] val;
+    private int[] left;
+    private int[] right;
+    private int size;
+    private int root = NIL;
+
+    public TreeArena() {
+        this(16);
+    }
+
+    public TreeArena(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Bad capacity: " + capacity);
+        }
+        capacity = Math.max(capacity, 1);
+        val = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    /**
+     * @param text LeetCode level order, like [1,null,2,3].
+     */
+    public static TreeArena of(String text) {
+        return new TreeArena().parse(text);
+    }
+
+    public static TreeArena of(TreeNode root) {
+        return new TreeArena().load(root);
+    }
+
+    /**
+     * Replaces the content with the tree of the text, reusing the arrays.
+     *
+     * @param text LeetCode level order, like [1,null,2,3].
+     * @return this.
+     * @throws IllegalArgumentException if the text is not a level order tree.
+     */
+    public TreeArena parse(CharSequence text) {
+        return parse(new LiteralScanner(text));
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)}, never holds the whole text.
+     *
+     * @param reader input, not closed here.
+     */
+    public TreeArena parse(Reader reader) throws IOException {
+        try {
+            return parse(new LiteralScanner(reader));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)}, memory-maps the UTF-8 file and parses from the mapped bytes.
+     */
+    public TreeArena parse(Path file) throws IOException {
+        return parse(new LiteralScanner(new ByteBufferReader(OjUtils.map(file))));
+    }
+
+    private TreeArena parse(LiteralScanner scanner) {
+        clear();
+        scanner.expect('[');
+        if (scanner.consumeIf(']')) {
+            scanner.expectEnd();
+            return this;
+        }
+        if (!scanner.consumeNull()) {
+            root = newNode(scanner.nextInt());
+        }
+        // nodes are appended in level order, so the next parent is simply the next node.
+        int parent = 0;
+        boolean rightSide = false;
+        for (int slot = 1; scanner.consumeIf(','); slot++) {
+            if (parent >= size) {
+                throw new IllegalArgumentException("Bad tree, value at " + slot + " has no parent");
+            }
+            if (!scanner.consumeNull()) {
+                int child = newNode(scanner.nextInt());
+                if (rightSide) {
+                    right[parent] = child;
+                } else {
+                    left[parent] = child;
+                }
+            }
+            if (rightSide) {
+                parent++;
+            }
+            rightSide = !rightSide;
+        }
+        scanner.expect(']');
+        scanner.expectEnd();
+        return this;
+    }
+
+    /**
+     * Replaces the content with a copy of the tree, in level order, reusing the arrays.
+     *
+     * @return this.
+     */
+    public TreeArena load(TreeNode tree) {
+        clear();
+        if (tree == null) {
+            return this;
+        }
+        // the queue holds the nodes still to expand, the k-th one taken out is arena node k.
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        queue.addLast(tree);
+        root = newNode(tree.val);
+        for (int parent = 0; !queue.isEmpty(); parent++) {
+            TreeNode node = queue.removeFirst();
+            if (node.left != null) {
+                left[parent] = newNode(node.left.val);
+                queue.addLast(node.left);
+            }
+            if (node.right != null) {
+                right[parent] = newNode(node.right.val);
+                queue.addLast(node.right);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Builds the {@link TreeNode} graph, only now are the node objects allocated.
+     *
+     * @return root, null for an empty tree.
+     */
+    public TreeNode toTree() {
+        return toTree(root);
+    }
+
+    /**
+     * @return {@link TreeNode} graph of the subtree at {@code node}, null for {@link #NIL}.
+     * @throws IllegalStateException if a node is reached twice.
+     */
+    public TreeNode toTree(int node) {
+        if (node == NIL) {
+            return null;
+        }
+        checkNode(node);
+        TreeNode[] nodes = new TreeNode[size];
+        int[] stack = new int[size];
+        int top = 0;
+        stack[top++] = node;
+        nodes[node] = new TreeNode(val[node]);
+        while (top > 0) {
+            int current = stack[--top];
+            int child = left[current];
+            if (child != NIL) {
+                checkUnreached(nodes[child] != null, child);
+                nodes[child] = new TreeNode(val[child]);
+                nodes[current].left = nodes[child];
+                stack[top++] = child;
+            }
+            child = right[current];
+            if (child != NIL) {
+                checkUnreached(nodes[child] != null, child);
+                nodes[child] = new TreeNode(val[child]);
+                nodes[current].right = nodes[child];
+                stack[top++] = child;
+            }
+        }
+        return nodes[node];
+    }
+
+    /**
+     * Appends a node without children.
+     *
+     * @return its index.
+     */
+    public int newNode(int value) {
+        if (size == val.length) {
+            int capacity = size << 1;
+            val = Arrays.copyOf(val, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        val[size] = value;
+        left[size] = NIL;
+        right[size] = NIL;
+        return size++;
+    }
+
+    /**
+     * Drops every node and keeps the arrays.
+     */
+    public void clear() {
+        size = 0;
+        root = NIL;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return root node, {@link #NIL} for an empty tree.
+     */
+    public int root() {
+        return root;
+    }
+
+    public void setRoot(int node) {
+        if (node != NIL) {
+            checkNode(node);
+        }
+        root = node;
+    }
+
+    public int val(int node) {
+        checkNode(node);
+        return val[node];
+    }
+
+    public int left(int node) {
+        checkNode(node);
+        return left[node];
+    }
+
+    public int right(int node) {
+        checkNode(node);
+        return right[node];
+    }
+
+    public void setVal(int node, int value) {
+        checkNode(node);
+        val[node] = value;
+    }
+
+    /**
+     * @param child {@link #NIL}, or a node without a parent that is not above {@code node}.
+     */
+    public void setLeft(int node, int child) {
+        checkNode(node);
+        if (child != NIL) {
+            checkNode(child);
+        }
+        left[node] = child;
+    }
+
+    /**
+     * @param child {@link #NIL}, or a node without a parent that is not above {@code node}.
+     */
+    public void setRight(int node, int child) {
+        checkNode(node);
+        if (child != NIL) {
+            checkNode(child);
+        }
+        right[node] = child;
+    }
+
+    /**
+     * @return levels from the root, 0 for an empty tree, by BFS so any depth is fine.
+     * @throws IllegalStateException if a node is reached twice.
+     */
+    public int height() {
+        if (root == NIL) {
+            return 0;
+        }
+        int[] queue = new int[size];
+        BitSet reached = new BitSet(size);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        reached.set(root);
+        int height = 0;
+        while (head < tail) {
+            height++;
+            for (int levelEnd = tail; head < levelEnd; head++) {
+                int node = queue[head];
+                if (left[node] != NIL) {
+                    reach(reached, left[node]);
+                    queue[tail++] = left[node];
+                }
+                if (right[node] != NIL) {
+                    reach(reached, right[node]);
+                    queue[tail++] = right[node];
+                }
+            }
+        }
+        return height;
+    }
+
+    /**
+     * @return LeetCode level order, like [1,null,2,3], the same as {@link OjUtils#treeToString(TreeNode)}.
+     * @throws IllegalStateException if a node is reached twice.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[');
+        if (root != NIL) {
+            int[] queue = new int[size];
+            BitSet reached = new BitSet(size);
+            int head = 0;
+            int tail = 0;
+            int pendingNulls = 0;
+            builder.append(val[root]);
+            queue[tail++] = root;
+            reached.set(root);
+            while (head < tail) {
+                int node = queue[head++];
+                for (int side = 0; side < 2; side++) {
+                    int child = side == 0 ? left[node] : right[node];
+                    if (child == NIL) {
+                        pendingNulls++;
+                        continue;
+                    }
+                    for (; pendingNulls > 0; pendingNulls--) {
+                        builder.append(",null");
+                    }
+                    reach(reached, child);
+                    builder.append(',').append(val[child]);
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    private static void reach(BitSet reached, int node) {
+        checkUnreached(reached.get(node), node);
+        reached.set(node);
+    }
+
+    private static void checkUnreached(boolean reached, int node) {
+        if (reached) {
+            throw new IllegalStateException("Bad tree, node " + node + " has two parents or is its own ancestor");
+        }
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("node: " + node + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package oj.scaffold;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Iterative LeetCode level order serializer for {@link TreeNode}s.
+ * One {@link ArrayDeque} of nodes is the whole BFS state, nothing is allocated per node,
+ * and trailing nulls are trimmed on the fly by holding them back until a value follows.
+ *
+ * @author zsmallx
+ * @since 2020/05/26
+ */
+final class TreeSerializer {
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+
+    private TreeSerializer() {
+    }
+
+    /**
+     * Receives level order slots in order, trailing nulls never arrive.
+     */
+    interface Sink {
+        void value(int value) throws IOException;
+
+        void nullSlot() throws IOException;
+    }
+
+    static void levelOrder(TreeNode root, Sink sink) throws IOException {
+        if (root == null) {
+            return;
+        }
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        int pendingNulls = 0;
+        sink.value(root.val);
+        queue.addLast(root);
+        while (!queue.isEmpty()) {
+            TreeNode node = queue.removeFirst();
+            for (int side = 0; side < 2; side++) {
+                TreeNode child = side == 0 ? node.left : node.right;
+                if (child == null) {
+                    pendingNulls++;
+                    continue;
+                }
+                for (; pendingNulls > 0; pendingNulls--) {
+                    sink.nullSlot();
+                }
+                sink.value(child.val);
+                queue.addLast(child);
+            }
+        }
+    }
+
+    static LevelOrderArray toLevelOrder(TreeNode root) {
+        ArraySink sink = new ArraySink();
+        try {
+            levelOrder(root, sink);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return new LevelOrderArray(sink.values, sink.nulls, sink.length);
+    }
+
+    static void write(TreeNode root, final Appendable out) throws IOException {
+        out.append('[');
+        levelOrder(root, new Sink() {
+            private final char[] digits = new char[DecimalDigits.MAX_LENGTH];
+            private boolean first = true;
+
+            @Override
+            public void value(int value) throws IOException {
+                separator();
+                if (out instanceof StringBuilder) {
+                    ((StringBuilder) out).append(value);
+                    return;
+                }
+                for (int i = DecimalDigits.toDigits(value, digits); i < digits.length; i++) {
+                    out.append(digits[i]);
+                }
+            }
+
+            @Override
+            public void nullSlot() throws IOException {
+                separator();
+                out.append("null");
+            }
+
+            private void separator() throws IOException {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+            }
+        });
+        out.append(']');
+    }
+
+    static void write(TreeNode root, final ByteBuffer out) {
+        out.put((byte) '[');
+        try {
+            levelOrder(root, new Sink() {
+                private final char[] digits = new char[DecimalDigits.MAX_LENGTH];
+                private boolean first = true;
+
+                @Override
+                public void value(int value) {
+                    separator();
+                    for (int i = DecimalDigits.toDigits(value, digits); i < digits.length; i++) {
+                        out.put((byte) digits[i]);
+                    }
+                }
+
+                @Override
+                public void nullSlot() {
+                    separator();
+                    out.put(NULL_BYTES);
+                }
+
+                private void separator() {
+                    if (!first) {
+                        out.put((byte) ',');
+                    }
+                    first = false;
+                }
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        out.put((byte) ']');
+    }
+
+    private static final class ArraySink implements Sink {
+        int[] values = new int[16];
+        final BitSet nulls = new BitSet();
+        int length;
+
+        @Override
+        public void value(int value) {
+            ensureCapacity();
+            values[length++] = value;
+        }
+
+        @Override
+        public void nullSlot() {
+            ensureCapacity();
+            nulls.set(length++);
+        }
+
+        private void ensureCapacity() {
+            if (length == values.length) {
+                values = Arrays.copyOf(values, length << 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package oj.scaffold.collections;
+
+/**
+ * Open addressing helpers shared by the hash collections: keys are spread by a Fibonacci multiply,
+ * tables are powers of two at most half full, and removal shifts back instead of leaving tombstones.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+final class Hashing {
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return table length keeping {@code expectedSize} keys at most half full.
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Bad expected size: " + expectedSize);
+        }
+        if (expectedSize >= MAX_CAPACITY >> 1) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(8, Integer.highestOneBit(expectedSize * 4 - 1));
+    }
+
+    /**
+     * @return true if the key at {@code slot} may move back to {@code gap}, its ideal slot is not within (gap, slot].
+     */
+    static boolean canShift(int ideal, int gap, int slot, int mask) {
+        return ((slot - ideal) & mask) >= ((slot - gap) & mask);
+    }
+}
@@ -0,0 +1,140 @@
+package oj.scaffold.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Ring buffer deque of ints, the unboxed {@code ArrayDeque<Integer>} for BFS queues and monotonic stacks.
+ * Capacity is a power of two, so wrapping is a mask.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class IntArrayDeque {
+    private int[] ring;
+    private int head;
+    private int size;
+
+    public IntArrayDeque() {
+        this(16);
+    }
+
+    public IntArrayDeque(int capacity) {
+        if (capacity < 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Bad capacity: " + capacity);
+        }
+        this.ring = new int[Math.max(2, Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1))];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addFirst(int value) {
+        ensureCapacity();
+        head = (head - 1) & (ring.length - 1);
+        ring[head] = value;
+        size++;
+    }
+
+    public void addLast(int value) {
+        ensureCapacity();
+        ring[(head + size) & (ring.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty.
+     */
+    public int removeFirst() {
+        int value = getFirst();
+        head = (head + 1) & (ring.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty.
+     */
+    public int removeLast() {
+        int value = getLast();
+        size--;
+        return value;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty.
+     */
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return ring[head];
+    }
+
+    /**
+     * @throws NoSuchElementException if empty.
+     */
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return ring[(head + size - 1) & (ring.length - 1)];
+    }
+
+    /**
+     * @param index from the first, 0 based.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return ring[(head + index) & (ring.length - 1)];
+    }
+
+    /**
+     * Keeps the capacity, so refilling allocates nothing.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ring[(head + i) & (ring.length - 1)];
+        }
+        return values;
+    }
+
+    /**
+     * Doubles the ring when full, unwrapping it so the head lands at 0.
+     */
+    private void ensureCapacity() {
+        if (size < ring.length) {
+            return;
+        }
+        int[] bigger = new int[ring.length << 1];
+        int firstPart = ring.length - head;
+        System.arraycopy(ring, head, bigger, 0, firstPart);
+        System.arraycopy(ring, 0, bigger, firstPart, head);
+        ring = bigger;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(ring[(head + i) & (ring.length - 1)]);
+        }
+        return builder.append(']').toString();
+    }
+}
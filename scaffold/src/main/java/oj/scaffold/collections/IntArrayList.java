@@ -0,0 +1,149 @@
+package oj.scaffold.collections;
+
+import java.util.Arrays;
+
+/**
+ * Growable int[] list, the unboxed {@code ArrayList<Integer>}.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class IntArrayList {
+    private int[] values;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Bad capacity: " + capacity);
+        }
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    public void addAll(int... more) {
+        if (size + more.length > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + more.length, size << 1));
+        }
+        System.arraycopy(more, 0, values, size, more.length);
+        size += more.length;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @return previous value.
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if empty.
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Empty list");
+        }
+        return values[--size];
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Keeps the capacity, so refilling allocates nothing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /**
+     * @return copy of the values.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntArrayList)) return false;
+        IntArrayList other = (IntArrayList) o;
+        if (size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != other.values[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
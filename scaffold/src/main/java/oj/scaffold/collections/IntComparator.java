@@ -0,0 +1,11 @@
+package oj.scaffold.collections;
+
+/**
+ * Orders ints without boxing, like by {@code dist[a]} in Dijkstra.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public interface IntComparator {
+    int compare(int a, int b);
+}
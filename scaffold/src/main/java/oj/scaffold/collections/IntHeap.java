@@ -0,0 +1,123 @@
+package oj.scaffold.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary heap of ints, the unboxed {@code PriorityQueue<Integer>}. Smallest first by default,
+ * {@link #maxHeap()} or an {@link IntComparator} for any other order.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class IntHeap {
+    private static final IntComparator REVERSE = new IntComparator() {
+        @Override
+        public int compare(int a, int b) {
+            return Integer.compare(b, a);
+        }
+    };
+
+    /**
+     * Null for natural order, compared inline.
+     */
+    private final IntComparator comparator;
+    private int[] heap;
+    private int size;
+
+    public IntHeap() {
+        this(16, null);
+    }
+
+    public IntHeap(IntComparator comparator) {
+        this(16, comparator);
+    }
+
+    /**
+     * @param comparator null for smallest first.
+     */
+    public IntHeap(int capacity, IntComparator comparator) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Bad capacity: " + capacity);
+        }
+        this.heap = new int[Math.max(capacity, 1)];
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return largest first.
+     */
+    public static IntHeap maxHeap() {
+        return new IntHeap(REVERSE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(value, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the head.
+     *
+     * @throws NoSuchElementException if empty.
+     */
+    public int poll() {
+        int top = peek();
+        int last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], last)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    /**
+     * Keeps the capacity, so refilling allocates nothing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        return comparator == null ? a < b : comparator.compare(a, b) < 0;
+    }
+}
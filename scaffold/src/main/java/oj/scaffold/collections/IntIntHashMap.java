@@ -0,0 +1,218 @@
+package oj.scaffold.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing int to int map with linear probing, the unboxed {@code HashMap<Integer, Integer>}.
+ * Nothing is allocated per entry, lookups touch one or two adjacent slots, only growing allocates.
+ * <p>
+ * Key 0 marks free slots, so it is kept aside in a field.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class IntIntHashMap {
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    /**
+     * Keys in the table, key 0 not included.
+     */
+    private int assigned;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(8);
+    }
+
+    /**
+     * @param expectedSize keys held without growing.
+     */
+    public IntIntHashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    /**
+     * Receives entries of {@link #forEach(EntryConsumer)}.
+     */
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    public int size() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[slot(key)] != 0;
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] != 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        values[slot] = value;
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            if (++assigned > (mask + 1) >> 1) {
+                grow();
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, a missing key counts as 0. The counting idiom
+     * of {@code map.merge(key, 1, Integer::sum)} without boxing.
+     *
+     * @return the new value.
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++assigned > (mask + 1) >> 1) {
+                grow();
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * @return true if the key was there.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int gap = slot(key);
+        if (keys[gap] == 0) {
+            return false;
+        }
+        for (int slot = (gap + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (Hashing.canShift(Hashing.mix(keys[slot]) & mask, gap, slot, mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        assigned--;
+        return true;
+    }
+
+    /**
+     * Keeps the capacity, so refilling allocates nothing.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Visits every entry in no particular order, the map must not change meanwhile.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot <= mask; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return copy of the keys in no particular order.
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = 0;
+        }
+        for (int slot = 0; slot <= mask; slot++) {
+            if (keys[slot] != 0) {
+                result[count++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return slot of {@code key}, or the free slot where it would go.
+     */
+    private int slot(int key) {
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        if (keys.length == Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Map is full: " + size());
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('{');
+        forEach(new EntryConsumer() {
+            @Override
+            public void accept(int key, int value) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(key).append('=').append(value);
+            }
+        });
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,39 @@
+package oj.scaffold.collections;
+
+/**
+ * Two ints packed into one long, the allocation-free replacement of {@code Pair<Integer, Integer>}
+ * for grid cells, (node, depth) queue entries and {@link LongHashSet} keys.
+ * <p>
+ * The first int takes the high half, the second the low half.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class IntPair {
+    private IntPair() {
+    }
+
+    public static long of(int first, int second) {
+        return (long) first << 32 | (second & 0xffffffffL);
+    }
+
+    public static int first(long pair) {
+        return (int) (pair >> 32);
+    }
+
+    public static int second(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * Orders by first, then by second, both signed. Plain long order compares the second unsigned.
+     */
+    public static int compare(long a, long b) {
+        int byFirst = Integer.compare(first(a), first(b));
+        return byFirst != 0 ? byFirst : Integer.compare(second(a), second(b));
+    }
+
+    public static String toString(long pair) {
+        return "(" + first(pair) + ", " + second(pair) + ")";
+    }
+}
@@ -0,0 +1,152 @@
+package oj.scaffold.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing set of longs with linear probing, the unboxed {@code HashSet<Long>},
+ * for visited sets of {@link IntPair} packed cells or edges.
+ * <p>
+ * Key 0 marks free slots, so it is kept aside in a field.
+ *
+ * @author zsmallx
+ * @since 2020/06/10
+ */
+public final class LongHashSet {
+    private long[] keys;
+    private int mask;
+    /**
+     * Keys in the table, key 0 not included.
+     */
+    private int assigned;
+    private boolean hasZeroKey;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    /**
+     * @param expectedSize keys held without growing.
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[slot(key)] != 0;
+    }
+
+    /**
+     * @return true if the key was not there.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            boolean added = !hasZeroKey;
+            hasZeroKey = true;
+            return added;
+        }
+        int slot = slot(key);
+        if (keys[slot] != 0) {
+            return false;
+        }
+        keys[slot] = key;
+        if (++assigned > (mask + 1) >> 1) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the key was there.
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int gap = slot(key);
+        if (keys[gap] == 0) {
+            return false;
+        }
+        for (int slot = (gap + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (Hashing.canShift(Hashing.mix(keys[slot]) & mask, gap, slot, mask)) {
+                keys[gap] = keys[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+        assigned--;
+        return true;
+    }
+
+    /**
+     * Keeps the capacity, so refilling allocates nothing.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * @return copy of the keys in no particular order.
+     */
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[count++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return slot of {@code key}, or the free slot where it would go.
+     */
+    private int slot(long key) {
+        int slot = Hashing.mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private void grow() {
+        if (keys.length == Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Set is full: " + size());
+        }
+        long[] oldKeys = keys;
+        allocate(keys.length << 1);
+        for (long key : oldKeys) {
+            if (key != 0) {
+                keys[slot(key)] = key;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
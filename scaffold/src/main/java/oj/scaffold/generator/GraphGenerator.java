@@ -0,0 +1,134 @@
+package oj.scaffold.generator;
+
+import oj.scaffold.collections.IntPair;
+import oj.scaffold.collections.LongHashSet;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Seeded connected undirected graphs without self loops or parallel edges, written as the LeetCode edge list
+ * [[0,1],[1,2]] or [[0,1,5],...] with {@link #weights(int, int)}, or built as {@code int[][]} edges.
+ * <p>
+ * A random spanning tree comes first, then random extra edges. Writing holds a parent per node and the extra
+ * edges drawn so far, never the edge list itself. The same seed and settings give the same graph
+ * through every method.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+public final class GraphGenerator {
+    private final long seed;
+    private boolean weighted;
+    private int minWeight;
+    private int maxWeight;
+
+    public GraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Every edge gets a third element uniform in [min, max], unweighted by default.
+     */
+    public GraphGenerator weights(int min, int max) {
+        Values.checkRange(min, max);
+        this.weighted = true;
+        this.minWeight = min;
+        this.maxWeight = max;
+        return this;
+    }
+
+    /**
+     * @param nodes nodes 0 to nodes - 1.
+     * @param edges at least nodes - 1, at most nodes * (nodes - 1) / 2.
+     */
+    public void write(int nodes, long edges, Appendable out) throws IOException {
+        final LiteralWriter writer = new LiteralWriter(out);
+        writer.append('[');
+        generate(nodes, edges, new EdgeSink() {
+            private boolean first = true;
+
+            @Override
+            public void edge(int from, int to, int weight) throws IOException {
+                writer.append(first ? "[" : ",[").append(from).append(',').append(to);
+                if (weighted) {
+                    writer.append(',').append(weight);
+                }
+                writer.append(']');
+                first = false;
+            }
+        });
+        writer.append(']').flush();
+    }
+
+    public void write(int nodes, long edges, Path file) throws IOException {
+        try (Writer writer = Values.newWriter(file)) {
+            write(nodes, edges, writer);
+        }
+    }
+
+    /**
+     * @see #write(int, long, Appendable)
+     */
+    public int[][] build(int nodes, int edges) {
+        check(nodes, edges);
+        final int[][] result = new int[edges][];
+        try {
+            generate(nodes, edges, new EdgeSink() {
+                private int count;
+
+                @Override
+                public void edge(int from, int to, int weight) {
+                    result[count++] = weighted ? new int[]{from, to, weight} : new int[]{from, to};
+                }
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return result;
+    }
+
+    private void generate(int nodes, long edges, EdgeSink sink) throws IOException {
+        check(nodes, edges);
+        Random random = new Random(seed);
+        int[] parent = new int[nodes];
+        for (int i = 1; i < nodes; i++) {
+            parent[i] = random.nextInt(i);
+            if (random.nextBoolean()) {
+                sink.edge(parent[i], i, weight(random));
+            } else {
+                sink.edge(i, parent[i], weight(random));
+            }
+        }
+        // rejection sampling, slows down only when asked for nearly every possible edge.
+        LongHashSet extra = new LongHashSet();
+        for (long count = Math.max(0, nodes - 1); count < edges; ) {
+            int u = random.nextInt(nodes);
+            int v = random.nextInt(nodes);
+            int low = Math.min(u, v);
+            int high = Math.max(u, v);
+            if (low == high || parent[high] == low || !extra.add(IntPair.of(low, high))) {
+                continue;
+            }
+            sink.edge(u, v, weight(random));
+            count++;
+        }
+    }
+
+    private static void check(int nodes, long edges) {
+        long maxEdges = (long) nodes * (nodes - 1) / 2;
+        if (nodes < 0 || edges < Math.max(0, nodes - 1) || edges > maxEdges) {
+            throw new IllegalArgumentException("Bad graph: " + nodes + " nodes, " + edges + " edges");
+        }
+    }
+
+    private int weight(Random random) {
+        return weighted ? Values.next(random, minWeight, maxWeight) : 0;
+    }
+
+    private interface EdgeSink {
+        void edge(int from, int to, int weight) throws IOException;
+    }
+}
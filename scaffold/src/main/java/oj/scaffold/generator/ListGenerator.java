@@ -0,0 +1,122 @@
+package oj.scaffold.generator;
+
+import oj.scaffold.ListNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Seeded linked lists, written as [1,2,3] or built as {@link ListNode}s, optionally looping back like LeetCode's
+ * {@code pos}. The same seed and settings give the same values through every method.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+public final class ListGenerator {
+    private final long seed;
+    private int minValue = -10000;
+    private int maxValue = 10000;
+    private boolean sorted;
+
+    public ListGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Node values are uniform in [min, max], [-10000, 10000] by default.
+     */
+    public ListGenerator values(int min, int max) {
+        Values.checkRange(min, max);
+        this.minValue = min;
+        this.maxValue = max;
+        return this;
+    }
+
+    /**
+     * @param sorted true for non-decreasing values, still in [min, max], false by default.
+     */
+    public ListGenerator sorted(boolean sorted) {
+        this.sorted = sorted;
+        return this;
+    }
+
+    public void write(int size, Appendable out) throws IOException {
+        checkSize(size);
+        LiteralWriter writer = new LiteralWriter(out);
+        writer.append('[');
+        Sequence values = new Sequence(size);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                writer.append(',');
+            }
+            writer.append(values.next());
+        }
+        writer.append(']').flush();
+    }
+
+    public void write(int size, Path file) throws IOException {
+        try (Writer writer = Values.newWriter(file)) {
+            write(size, writer);
+        }
+    }
+
+    /**
+     * @param pos index the tail links back to, negative for no cycle.
+     * @return head, null for size 0.
+     * @throws IllegalArgumentException if {@code pos} is not a node index.
+     */
+    public ListNode build(int size, int pos) {
+        checkSize(size);
+        if (pos >= size) {
+            throw new IllegalArgumentException("Bad pos: " + pos + ", size is : " + size);
+        }
+        if (size == 0) {
+            return null;
+        }
+        Sequence values = new Sequence(size);
+        ListNode head = new ListNode(values.next());
+        ListNode tail = head;
+        ListNode entry = pos == 0 ? head : null;
+        for (int i = 1; i < size; i++) {
+            tail.next = new ListNode(values.next());
+            tail = tail.next;
+            if (i == pos) {
+                entry = tail;
+            }
+        }
+        tail.next = entry;
+        return head;
+    }
+
+    private static void checkSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Bad size: " + size);
+        }
+    }
+
+    /**
+     * Values in order. Sorted ones are a random walk whose steps average out to span [min, max] over the list,
+     * so nothing has to be held and sorted.
+     */
+    private final class Sequence {
+        private final Random random = new Random(seed);
+        private final double step;
+        private double current;
+
+        Sequence(int size) {
+            this.step = size > 1 ? 2.0 * ((double) maxValue - minValue) / size : 0;
+            this.current = minValue;
+        }
+
+        int next() {
+            if (!sorted) {
+                return Values.next(random, minValue, maxValue);
+            }
+            int value = (int) Math.min(current, maxValue);
+            current += random.nextDouble() * step;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package oj.scaffold.generator;
+
+import oj.scaffold.DecimalDigits;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Buffers LeetCode literal text in a fixed char array and hands it to an {@link Appendable} in large chunks,
+ * numbers are formatted straight into the buffer, so nothing is allocated per value.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+final class LiteralWriter implements Flushable, Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Appendable out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] digits = new char[DecimalDigits.MAX_LENGTH];
+    private int count;
+
+    LiteralWriter(Appendable out) {
+        this.out = out;
+    }
+
+    LiteralWriter append(char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = c;
+        return this;
+    }
+
+    LiteralWriter append(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            append(text.charAt(i));
+        }
+        return this;
+    }
+
+    LiteralWriter append(int value) throws IOException {
+        if (buffer.length - count < DecimalDigits.MAX_LENGTH) {
+            flushBuffer();
+        }
+        int start = DecimalDigits.toDigits(value, digits);
+        System.arraycopy(digits, start, buffer, count, digits.length - start);
+        count += digits.length - start;
+        return this;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            if (out instanceof Writer) {
+                ((Writer) out).write(buffer, 0, count);
+            } else {
+                out.append(CharBuffer.wrap(buffer, 0, count));
+            }
+            count = 0;
+        }
+    }
+
+    /**
+     * Hands buffered text to the {@link Appendable}, and flushes it if it is {@link Flushable}.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    /**
+     * Flushes, the {@link Appendable} itself is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
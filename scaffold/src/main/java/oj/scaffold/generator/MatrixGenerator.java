@@ -0,0 +1,96 @@
+package oj.scaffold.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Seeded int matrices, written as [[1,2],[3,4]] or built as {@code int[][]}.
+ * Sparse ones come from {@link #density(double)}: every cell is 0 unless it is picked, which makes grids
+ * of islands, obstacles or weights. The same seed and settings give the same matrix through every method.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+public final class MatrixGenerator {
+    private final long seed;
+    private int minValue = 0;
+    private int maxValue = 9;
+    private double density = 1;
+
+    public MatrixGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Picked cells are uniform in [min, max], [0, 9] by default.
+     */
+    public MatrixGenerator values(int min, int max) {
+        Values.checkRange(min, max);
+        this.minValue = min;
+        this.maxValue = max;
+        return this;
+    }
+
+    /**
+     * Chance of a cell being picked, the others are 0, 1 by default.
+     */
+    public MatrixGenerator density(double density) {
+        Values.checkRate(density);
+        this.density = density;
+        return this;
+    }
+
+    /**
+     * Writes row by row, constant memory whatever the size.
+     */
+    public void write(int rows, int columns, Appendable out) throws IOException {
+        checkSize(rows, columns);
+        LiteralWriter writer = new LiteralWriter(out);
+        Random random = new Random(seed);
+        writer.append('[');
+        for (int i = 0; i < rows; i++) {
+            writer.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    writer.append(',');
+                }
+                writer.append(next(random));
+            }
+            writer.append(']');
+        }
+        writer.append(']').flush();
+    }
+
+    public void write(int rows, int columns, Path file) throws IOException {
+        try (Writer writer = Values.newWriter(file)) {
+            write(rows, columns, writer);
+        }
+    }
+
+    public int[][] build(int rows, int columns) {
+        checkSize(rows, columns);
+        Random random = new Random(seed);
+        int[][] matrix = new int[rows][columns];
+        for (int[] row : matrix) {
+            for (int j = 0; j < columns; j++) {
+                row[j] = next(random);
+            }
+        }
+        return matrix;
+    }
+
+    private int next(Random random) {
+        if (density < 1 && random.nextDouble() >= density) {
+            return 0;
+        }
+        return Values.next(random, minValue, maxValue);
+    }
+
+    private static void checkSize(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Bad size: " + rows + " x " + columns);
+        }
+    }
+}
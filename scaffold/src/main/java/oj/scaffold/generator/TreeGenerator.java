@@ -0,0 +1,209 @@
+package oj.scaffold.generator;
+
+import oj.scaffold.TreeNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Seeded trees of a given node count and {@link Shape}, written as LeetCode level order text or built as
+ * {@link TreeNode}s. The same seed and settings give the same tree through every method.
+ * <p>
+ * Slots are produced one by one in level order: writing the text needs constant memory,
+ * building needs only the nodes themselves plus a queue as wide as the widest level.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+public final class TreeGenerator {
+    public enum Shape {
+        /**
+         * Every level full but the last, the most balanced shape.
+         */
+        COMPLETE,
+        /**
+         * Every node has a left child only, depth equals size.
+         */
+        LEFT_SKEWED,
+        /**
+         * Every node has a right child only, depth equals size.
+         */
+        RIGHT_SKEWED,
+        /**
+         * Every free slot is empty with {@link #nullRate(double)}.
+         */
+        RANDOM
+    }
+
+    private final long seed;
+    private int minValue = -10000;
+    private int maxValue = 10000;
+    private double nullRate = 0.3;
+
+    public TreeGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Node values are uniform in [min, max], [-10000, 10000] by default.
+     */
+    public TreeGenerator values(int min, int max) {
+        Values.checkRange(min, max);
+        this.minValue = min;
+        this.maxValue = max;
+        return this;
+    }
+
+    /**
+     * Chance of a free slot staying empty in {@link Shape#RANDOM} trees, 0.3 by default.
+     */
+    public TreeGenerator nullRate(double rate) {
+        Values.checkRate(rate);
+        this.nullRate = rate;
+        return this;
+    }
+
+    /**
+     * Writes the tree like [1,null,2,3], trailing nulls trimmed.
+     */
+    public void write(int size, Shape shape, Appendable out) throws IOException {
+        final LiteralWriter writer = new LiteralWriter(out);
+        writer.append('[');
+        generate(size, shape, new SlotSink() {
+            private boolean first = true;
+
+            @Override
+            public void value(int value) throws IOException {
+                separator();
+                writer.append(value);
+            }
+
+            @Override
+            public void nullSlot() throws IOException {
+                separator();
+                writer.append("null");
+            }
+
+            private void separator() throws IOException {
+                if (!first) {
+                    writer.append(',');
+                }
+                first = false;
+            }
+        });
+        writer.append(']').flush();
+    }
+
+    public void write(int size, Shape shape, Path file) throws IOException {
+        try (Writer writer = Values.newWriter(file)) {
+            write(size, shape, writer);
+        }
+    }
+
+    /**
+     * @return root, null for size 0.
+     */
+    public TreeNode build(int size, Shape shape) {
+        BuildSink sink = new BuildSink();
+        try {
+            generate(size, shape, sink);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sink.root;
+    }
+
+    private void generate(int size, Shape shape, SlotSink sink) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("Bad size: " + size);
+        }
+        if (size == 0) {
+            return;
+        }
+        Random random = new Random(seed);
+        sink.value(Values.next(random, minValue, maxValue));
+        switch (shape) {
+            case COMPLETE:
+                for (int i = 1; i < size; i++) {
+                    sink.value(Values.next(random, minValue, maxValue));
+                }
+                break;
+            case LEFT_SKEWED:
+                for (int i = 1; i < size; i++) {
+                    if (i > 1) {
+                        sink.nullSlot();
+                    }
+                    sink.value(Values.next(random, minValue, maxValue));
+                }
+                break;
+            case RIGHT_SKEWED:
+                for (int i = 1; i < size; i++) {
+                    sink.nullSlot();
+                    sink.value(Values.next(random, minValue, maxValue));
+                }
+                break;
+            case RANDOM:
+                // free child slots of the nodes so far, one is always kept so the tree can grow to size.
+                long free = 2;
+                for (int i = 1; i < size; ) {
+                    if (free > 1 && random.nextDouble() < nullRate) {
+                        sink.nullSlot();
+                        free--;
+                    } else {
+                        sink.value(Values.next(random, minValue, maxValue));
+                        free++;
+                        i++;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    private interface SlotSink {
+        void value(int value) throws IOException;
+
+        void nullSlot() throws IOException;
+    }
+
+    /**
+     * Links nodes as slots arrive, parents waiting for children sit in a queue.
+     */
+    private static final class BuildSink implements SlotSink {
+        TreeNode root;
+        private final ArrayDeque<TreeNode> parents = new ArrayDeque<>();
+        private boolean rightSide;
+
+        @Override
+        public void value(int value) {
+            TreeNode node = new TreeNode(value);
+            if (root == null) {
+                root = node;
+            } else if (rightSide) {
+                parents.getFirst().right = node;
+            } else {
+                parents.getFirst().left = node;
+            }
+            if (root != node) {
+                nextSlot();
+            }
+            parents.addLast(node);
+        }
+
+        @Override
+        public void nullSlot() {
+            nextSlot();
+        }
+
+        private void nextSlot() {
+            if (rightSide) {
+                parents.removeFirst();
+            }
+            rightSide = !rightSide;
+        }
+    }
+}
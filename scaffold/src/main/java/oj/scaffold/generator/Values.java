@@ -0,0 +1,47 @@
+package oj.scaffold.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Helpers shared by the generators.
+ *
+ * @author zsmallx
+ * @since 2020/06/07
+ */
+final class Values {
+    private Values() {
+    }
+
+    /**
+     * @return uniform in [min, max], both included.
+     */
+    static int next(Random random, int min, int max) {
+        long range = (long) max - min + 1;
+        if (range <= Integer.MAX_VALUE) {
+            return min + random.nextInt((int) range);
+        }
+        return (int) (min + (random.nextLong() >>> 1) % range);
+    }
+
+    static void checkRange(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Bad value range: [" + min + ", " + max + "]");
+        }
+    }
+
+    static void checkRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Bad rate: " + rate);
+        }
+    }
+
+    static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16);
+    }
+}
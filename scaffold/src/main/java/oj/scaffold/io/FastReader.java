@@ -0,0 +1,348 @@
+package oj.scaffold.io;
+
+import oj.scaffold.DoubleConversion;
+import oj.scaffold.IntListList;
+import oj.scaffold.IntMatrix;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Whitespace separated tokens of ACM style judges, Codeforces or AtCoder, read from stdin or any stream.
+ * <p>
+ * Bytes go through one reusable 64K buffer and numbers are parsed straight from it, so reading ints, longs
+ * and doubles allocates nothing. The bulk readers return the same types as {@link oj.scaffold.OjUtils}
+ * builds from LeetCode literals, so one solution can be fed from either input style.
+ * <p>
+ * Tokens are ASCII, any byte up to ' ' separates them. Reading past the last token throws
+ * {@link NoSuchElementException}, a malformed number {@link IllegalArgumentException},
+ * {@link IOException}s of the stream are rethrown as {@link UncheckedIOException}.
+ *
+ * @author zsmallx
+ * @since 2020/06/11
+ */
+public final class FastReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private final StringBuilder token = new StringBuilder();
+
+    public FastReader(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Reads the given text, handy to test a stdin solution.
+     */
+    public static FastReader of(String text) {
+        return new FastReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return true if another token follows.
+     */
+    public boolean hasNext() {
+        return skipWhitespace() >= 0;
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw new IllegalArgumentException("Bad input, int out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long nextLong() {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw new NoSuchElementException();
+        }
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            pos++;
+            c = peek();
+        }
+        if (!isDigit(c)) {
+            throw badNumber(c);
+        }
+        // accumulates negatively, so Long.MIN_VALUE fits.
+        long bound = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        do {
+            int digit = c - '0';
+            if (result < bound / 10 || result * 10 < bound + digit) {
+                throw new IllegalArgumentException("Bad input, long out of range");
+            }
+            result = result * 10 - digit;
+            pos++;
+            c = peek();
+        } while (isDigit(c));
+        if (c > ' ') {
+            throw badNumber(c);
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Plain and scientific notation, correctly rounded. The first 19 significant digits are converted in place
+     * by {@link DoubleConversion}, {@link Double#parseDouble(String)} is left for longer ones that could round
+     * the other way.
+     */
+    public double nextDouble() {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw new NoSuchElementException();
+        }
+        token.setLength(0);
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            token.append((char) c);
+            pos++;
+            c = peek();
+        }
+        long significand = 0;
+        int digits = 0;
+        int droppedDigits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenDot = false;
+        for (; ; c = peek()) {
+            if (isDigit(c)) {
+                seenDigit = true;
+                if (digits < DoubleConversion.MAX_DIGITS) {
+                    significand = significand * 10 + (c - '0');
+                    // leading zeros are not significant.
+                    digits += significand != 0 ? 1 : 0;
+                    if (seenDot) {
+                        exponent--;
+                    }
+                } else {
+                    droppedDigits++;
+                    if (!seenDot) {
+                        exponent++;
+                    }
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+            token.append((char) c);
+            pos++;
+        }
+        if (!seenDigit) {
+            throw badNumber(c);
+        }
+        if (c == 'e' || c == 'E') {
+            token.append('e');
+            pos++;
+            c = peek();
+            boolean negativeExponent = c == '-';
+            if (negativeExponent || c == '+') {
+                token.append((char) c);
+                pos++;
+                c = peek();
+            }
+            if (!isDigit(c)) {
+                throw badNumber(c);
+            }
+            int value = 0;
+            do {
+                value = Math.min(value * 10 + (c - '0'), 100000);
+                token.append((char) c);
+                pos++;
+                c = peek();
+            } while (isDigit(c));
+            exponent += negativeExponent ? -value : value;
+        }
+        if (c > ' ') {
+            throw badNumber(c);
+        }
+        double value = DoubleConversion.toDouble(negative, significand, exponent);
+        // the dropped digits only matter if they could round the other way.
+        if (droppedDigits > 0 && DoubleConversion.toDouble(negative, significand + 1, exponent) != value) {
+            return Double.parseDouble(token.toString());
+        }
+        return value;
+    }
+
+    /**
+     * @return next token, like a word or a row of a char grid.
+     */
+    public String next() {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw new NoSuchElementException();
+        }
+        token.setLength(0);
+        do {
+            token.append((char) c);
+            pos++;
+            c = peek();
+        } while (c > ' ');
+        return token.toString();
+    }
+
+    /**
+     * @return next token as chars, one row of a grid like "#..#".
+     */
+    public char[] nextChars() {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw new NoSuchElementException();
+        }
+        token.setLength(0);
+        do {
+            token.append((char) c);
+            pos++;
+            c = peek();
+        } while (c > ' ');
+        char[] chars = new char[token.length()];
+        token.getChars(0, chars.length, chars, 0);
+        return chars;
+    }
+
+    public int[] nextIntArray(int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = nextInt();
+        }
+        return values;
+    }
+
+    public long[] nextLongArray(int n) {
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = nextLong();
+        }
+        return values;
+    }
+
+    public double[] nextDoubleArray(int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = nextDouble();
+        }
+        return values;
+    }
+
+    /**
+     * Same result as {@link oj.scaffold.OjUtils#toIntMatrix(String)} of the LeetCode form.
+     */
+    public int[][] nextIntMatrix(int rows, int columns) {
+        int[][] matrix = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+            matrix[i] = nextIntArray(columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Same as {@link #nextIntMatrix(int, int)}, straight into one flat {@link IntMatrix}.
+     */
+    public IntMatrix nextFlatIntMatrix(int rows, int columns) {
+        IntMatrix matrix = new IntMatrix(rows, columns);
+        int[] data = matrix.data();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = nextInt();
+        }
+        return matrix;
+    }
+
+    /**
+     * A grid given as one token per row, like {@code #..#}, same result as
+     * {@link oj.scaffold.OjUtils#toCharMatrix(String)} of the LeetCode form.
+     */
+    public char[][] nextCharMatrix(int rows) {
+        char[][] matrix = new char[rows][];
+        for (int i = 0; i < rows; i++) {
+            matrix[i] = nextChars();
+        }
+        return matrix;
+    }
+
+    /**
+     * Rows prefixed by their length, like adjacency lists {@code k v1 .. vk}, same result as
+     * {@link oj.scaffold.OjUtils#toIntListList(String)} of the LeetCode form.
+     */
+    public IntListList nextIntListList(int rows) {
+        int[] offsets = new int[rows + 1];
+        int[] values = new int[16];
+        for (int i = 0; i < rows; i++) {
+            int size = nextInt();
+            if (size < 0) {
+                throw new IllegalArgumentException("Bad input, row size " + size);
+            }
+            int end = offsets[i] + size;
+            if (end > values.length) {
+                values = Arrays.copyOf(values, Math.max(end, values.length << 1));
+            }
+            for (int j = offsets[i]; j < end; j++) {
+                values[j] = nextInt();
+            }
+            offsets[i + 1] = end;
+        }
+        return new IntListList(Arrays.copyOf(values, offsets[rows]), offsets);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return first char of the next token without consuming it, or -1 at the end of input.
+     */
+    private int skipWhitespace() {
+        int c;
+        while ((c = peek()) >= 0 && c <= ' ') {
+            pos++;
+        }
+        return c;
+    }
+
+    private int peek() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos] & 0xff;
+    }
+
+    private boolean fill() {
+        pos = 0;
+        limit = 0;
+        try {
+            int n;
+            do {
+                n = in.read(buffer, 0, buffer.length);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static IllegalArgumentException badNumber(int c) {
+        return new IllegalArgumentException("Bad input, not a number near "
+                + (c >= 0 ? "'" + (char) c + "'" : "end of input"));
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+}
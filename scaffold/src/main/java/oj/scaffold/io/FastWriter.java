@@ -0,0 +1,234 @@
+package oj.scaffold.io;
+
+import oj.scaffold.DecimalDigits;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output of ACM style judges, formatted into one reusable 64K byte buffer and written in large chunks.
+ * Numbers are formatted in place, nothing is allocated per value but for {@link #print(double)}.
+ * <p>
+ * Nothing reaches the stream before {@link #flush()} or {@link #close()}, forgetting both loses the output.
+ * {@link IOException}s of the stream are rethrown as {@link UncheckedIOException}.
+ *
+ * @author zsmallx
+ * @since 2020/06/11
+ */
+public final class FastWriter implements Flushable, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final char[] digits = new char[DecimalDigits.MAX_LENGTH];
+    private int count;
+
+    public FastWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public FastWriter print(char c) {
+        if (c < 0x80) {
+            ensure(1);
+            buffer[count++] = (byte) c;
+            return this;
+        }
+        return print(String.valueOf(c));
+    }
+
+    public FastWriter print(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // rare, everything from here on goes through the encoder.
+                write(text.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            ensure(1);
+            buffer[count++] = (byte) c;
+        }
+        return this;
+    }
+
+    public FastWriter print(int value) {
+        return print((long) value);
+    }
+
+    public FastWriter print(long value) {
+        ensure(DecimalDigits.MAX_LENGTH);
+        for (int i = DecimalDigits.toDigits(value, digits); i < digits.length; i++) {
+            buffer[count++] = (byte) digits[i];
+        }
+        return this;
+    }
+
+    /**
+     * Shortest text that reads back the same double, as {@link Double#toString(double)}.
+     */
+    public FastWriter print(double value) {
+        return print(Double.toString(value));
+    }
+
+    /**
+     * Fixed point with {@code decimals} digits after the point, like {@code String.format("%.6f", value)}
+     * but rounded half up from the binary value, so a decimal tie such as 1.005 may end one unit lower.
+     * A value rounding to zero prints without sign. Formatted in place while {@code value * 10^decimals} fits a long.
+     */
+    public FastWriter print(double value, int decimals) {
+        if (decimals < 0 || decimals > 18) {
+            throw new IllegalArgumentException("Bad decimals: " + decimals);
+        }
+        double scale = Math.pow(10, decimals);
+        double scaled = Math.abs(value) * scale + 0.5;
+        if (Double.isNaN(value) || scaled >= Long.MAX_VALUE) {
+            return print(String.format("%." + decimals + "f", value));
+        }
+        long units = (long) scaled;
+        if (value < 0 && units != 0) {
+            print('-');
+        }
+        long divisor = (long) scale;
+        print(units / divisor);
+        if (decimals > 0) {
+            print('.');
+            long fraction = units % divisor;
+            ensure(decimals);
+            for (int i = count + decimals - 1; i >= count; i--) {
+                buffer[i] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            count += decimals;
+        }
+        return this;
+    }
+
+    public FastWriter println() {
+        return print('\n');
+    }
+
+    public FastWriter println(int value) {
+        return print(value).println();
+    }
+
+    public FastWriter println(long value) {
+        return print(value).println();
+    }
+
+    public FastWriter println(String text) {
+        return print(text).println();
+    }
+
+    /**
+     * Values on one line separated by spaces.
+     */
+    public FastWriter println(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                print(' ');
+            }
+            print(values[i]);
+        }
+        return println();
+    }
+
+    public FastWriter println(long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                print(' ');
+            }
+            print(values[i]);
+        }
+        return println();
+    }
+
+    /**
+     * One row per line, values separated by spaces, what {@link FastReader#nextIntMatrix(int, int)} reads back.
+     */
+    public FastWriter println(int[][] matrix) {
+        for (int[] row : matrix) {
+            println(row);
+        }
+        return this;
+    }
+
+    /**
+     * One row per line without separators, what {@link FastReader#nextCharMatrix(int)} reads back.
+     */
+    public FastWriter println(char[][] grid) {
+        for (char[] row : grid) {
+            for (char c : row) {
+                print(c);
+            }
+            println();
+        }
+        return this;
+    }
+
+    /**
+     * Writes the buffer and flushes the stream.
+     */
+    @Override
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes, then closes the stream.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void write(byte[] bytes) {
+        if (bytes.length > buffer.length - count) {
+            drain();
+            if (bytes.length > buffer.length) {
+                try {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.length - count < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (count == 0) {
+            return;
+        }
+        try {
+            out.write(buffer, 0, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        count = 0;
+    }
+}
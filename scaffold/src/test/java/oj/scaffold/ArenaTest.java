@@ -0,0 +1,109 @@
+package oj.scaffold;
+
+import oj.scaffold.generator.TreeGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ArenaTest {
+
+    @Test
+    public void testTreeArena_parse() {
+        String[] inputs = {"[]", "[1]", "[1,null,2,3]", "[5,4,8,11,null,13,4,7,2,null,null,null,1]", "[1,2]"};
+        TreeArena arena = new TreeArena(1);
+        for (String input : inputs) {
+            arena.parse(input);
+            Assert.assertEquals(input, arena.toString());
+            Assert.assertEquals(input, OjUtils.treeToString(arena.toTree()));
+            Assert.assertEquals(input, TreeArena.of(OjUtils.newTreeFromString(input)).toString());
+        }
+        arena.parse("[1,null,2,3]");
+        Assert.assertEquals(3, arena.size());
+        Assert.assertEquals(3, arena.height());
+        Assert.assertEquals(TreeArena.NIL, arena.left(arena.root()));
+        Assert.assertEquals(2, arena.val(arena.right(arena.root())));
+        Assert.assertEquals("[2,3]", OjUtils.treeToString(arena.toTree(arena.right(arena.root()))));
+    }
+
+    @Test
+    public void testTreeArena_nullRoot() {
+        Assert.assertEquals("[]", TreeArena.of("[null]").toString());
+        Assert.assertNull(TreeArena.of("[null]").toTree());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTreeArena_noParent() {
+        TreeArena.of("[1,null,null,2]");
+    }
+
+    @Test
+    public void testTreeArena_deepSkewed() throws IOException {
+        StringBuilder text = new StringBuilder();
+        new TreeGenerator(3).write(300000, TreeGenerator.Shape.LEFT_SKEWED, text);
+        TreeArena arena = TreeArena.of(text.toString());
+        Assert.assertEquals(300000, arena.height());
+        TreeNode root = arena.toTree();
+        Assert.assertEquals(text.toString(), OjUtils.treeToString(root));
+        Assert.assertEquals(text.toString(), arena.load(root).toString());
+    }
+
+    @Test
+    public void testTreeArena_reusesArrays() {
+        TreeArena arena = new TreeArena();
+        arena.parse("[1,2,3,4,5]");
+        arena.parse("[7]");
+        Assert.assertEquals(1, arena.size());
+        Assert.assertEquals(TreeArena.NIL, arena.left(0));
+        int child = arena.newNode(8);
+        arena.setRight(arena.root(), child);
+        Assert.assertEquals("[7,null,8]", arena.toString());
+    }
+
+    @Test
+    public void testTreeArena_sharedOrLoopingNode() {
+        TreeArena arena = TreeArena.of("[1,2]");
+        arena.setRight(arena.root(), 1);
+        try {
+            arena.toString();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            arena.height();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+        arena.setRight(arena.root(), TreeArena.NIL);
+        arena.setLeft(1, arena.root());
+        try {
+            arena.toTree();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testListArena() {
+        ListArena arena = ListArena.of("[3,2,0,-4]");
+        Assert.assertEquals("[3,2,0,-4]", arena.toString());
+        Assert.assertEquals(ListArena.NIL, arena.cycleEntry());
+        arena.parse("[3,2,0,-4]", 1);
+        Assert.assertEquals(1, arena.cycleEntry());
+        Assert.assertArrayEquals(new int[]{3, 2, 0, -4}, arena.toArray());
+        ListNode head = arena.toList();
+        ListNodeUtils.Cycle cycle = ListNodeUtils.detectCycle(head);
+        Assert.assertEquals(1, cycle.entryIndex);
+        Assert.assertEquals(3, cycle.length);
+        ListArena copy = ListArena.of(head);
+        Assert.assertEquals(1, copy.cycleEntry());
+        Assert.assertArrayEquals(new int[]{3, 2, 0, -4}, copy.toArray());
+        Assert.assertNull(ListArena.of("[]").toList());
+        Assert.assertArrayEquals(new int[]{5}, ListNodeUtils.toArray(new ListArena().parse("[5]", 0).toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testListArena_badPos() {
+        new ListArena().parse("[1,2]", 2);
+    }
+}
@@ -0,0 +1,103 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class BatchRunnerTest {
+    private static final Function<int[][], Integer> SUM = new Function<int[][], Integer>() {
+        @Override
+        public Integer apply(int[][] matrix) {
+            int sum = 0;
+            for (int[] row : matrix) {
+                for (int value : row) {
+                    sum += value;
+                }
+            }
+            return sum;
+        }
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRun_inputOrder() {
+        List<Judge.Case<int[][], Integer>> cases = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            cases.add(Judge.Case.parsed("[[" + i + "],[" + i + "]]", OjUtils::toIntMatrix, 2 * i));
+        }
+        List<Judge.Result> results = new BatchRunner<>(SUM).parallelism(8).assertAccepted(cases.iterator());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(2 * i, results.get(i).output);
+        }
+    }
+
+    @Test
+    public void testRun_fixtureFile() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, Arrays.asList("[[1,2]]", "3", "", "[[]]", "0", "[[1]]", "2", "[[x]]", "0"),
+                StandardCharsets.UTF_8);
+        List<Judge.Result> results = new BatchRunner<>(SUM).run(file, OjUtils::toIntMatrix, Integer::valueOf);
+        Assert.assertEquals(4, results.size());
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(0).verdict);
+        Assert.assertEquals("line 1", results.get(0).name);
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(1).verdict);
+        Assert.assertEquals(Judge.Verdict.WRONG_ANSWER, results.get(2).verdict);
+        Assert.assertEquals(Judge.Verdict.RUNTIME_ERROR, results.get(3).verdict);
+    }
+
+    @Test
+    public void testRun_timeoutAbandonsStuckCase() {
+        Function<Integer, Integer> spin = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                if (value < 0) {
+                    long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                    // ignores interrupts on purpose.
+                    while (System.nanoTime() < until) {
+                        Thread.yield();
+                    }
+                }
+                return value;
+            }
+        };
+        long start = System.nanoTime();
+        List<Judge.Result> results = new BatchRunner<>(spin).parallelism(1).virtualThreads(false)
+                .timeout(50, TimeUnit.MILLISECONDS)
+                .run(Arrays.asList(
+                        Judge.Case.parsed("-1", Integer::valueOf, -1),
+                        Judge.Case.parsed("1", Integer::valueOf, 1)).iterator());
+        Assert.assertEquals(Judge.Verdict.TIME_LIMIT_EXCEEDED, results.get(0).verdict);
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(1).verdict);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void testRun_memoryLimitEnforcedByDefault() {
+        Function<Integer, Integer> allocate = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer size) {
+                return new int[size].length;
+            }
+        };
+        List<Judge.Result> results = new BatchRunner<>(allocate).memoryLimit(1 << 20)
+                .run(Arrays.asList(
+                        Judge.Case.parsed("4000000", Integer::valueOf, 4000000),
+                        Judge.Case.parsed("1", Integer::valueOf, 1)).iterator());
+        Assert.assertTrue(results.get(0).allocatedBytes >= 0);
+        Assert.assertEquals(Judge.Verdict.MEMORY_LIMIT_EXCEEDED, results.get(0).verdict);
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(1).verdict);
+    }
+}
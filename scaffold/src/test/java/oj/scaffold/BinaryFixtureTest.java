@@ -0,0 +1,103 @@
+package oj.scaffold;
+
+import oj.scaffold.generator.MatrixGenerator;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class BinaryFixtureTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIntRows_roundTrip() throws IOException {
+        String[] inputs = {"[]", "[[]]", "[[1,2,3],[4,5,6]]", "[[1],[],[-2147483648,2147483647,0,-1]]", "[[64,-64,-65,8192]]"};
+        for (String input : inputs) {
+            Path text = text(input);
+            Path binary = folder.newFile().toPath();
+            BinaryFixture.convert(text, BinaryFixture.Kind.INT_ROWS, binary);
+            Assert.assertArrayEquals(input, OjUtils.toIntMatrix(input), BinaryFixture.readIntMatrix(binary));
+            Assert.assertEquals(input, OjUtils.toIntListList(input), BinaryFixture.readIntListList(binary));
+        }
+    }
+
+    @Test
+    public void testFlatIntMatrix() throws IOException {
+        Path binary = folder.newFile().toPath();
+        BinaryFixture.write(new int[][]{{1, 2}, {3, 4}, {5, 6}}, binary);
+        IntMatrix matrix = BinaryFixture.readFlatIntMatrix(binary);
+        Assert.assertEquals(3, matrix.rows());
+        Assert.assertEquals(2, matrix.columns());
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, matrix.data());
+
+        BinaryFixture.write(new int[0][], binary);
+        Assert.assertEquals(0, BinaryFixture.readFlatIntMatrix(binary).rows());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFlatIntMatrix_ragged() throws IOException {
+        Path binary = folder.newFile().toPath();
+        BinaryFixture.write(new int[][]{{1, 2}, {3}}, binary);
+        BinaryFixture.readFlatIntMatrix(binary);
+    }
+
+    @Test
+    public void testTree_roundTrip() throws IOException {
+        String[] inputs = {"[]", "[1]", "[1,null,2,3]", "[5,4,8,11,null,13,4,7,2,null,null,null,1]", "[-1,null,-2,null,-3]"};
+        for (String input : inputs) {
+            Path binary = folder.newFile().toPath();
+            BinaryFixture.convert(text(input), BinaryFixture.Kind.TREE, binary);
+            Assert.assertEquals(input, OjUtils.treeToString(BinaryFixture.readTree(binary)));
+            Assert.assertEquals(input, BinaryFixture.readLevelOrder(binary).toString());
+        }
+    }
+
+    @Test
+    public void testSmallerThanText() throws IOException {
+        Path text = folder.newFile().toPath();
+        new MatrixGenerator(1).values(-1000, 1000).write(300, 300, text);
+        Path binary = folder.newFile().toPath();
+        BinaryFixture.convert(text, BinaryFixture.Kind.INT_ROWS, binary);
+        Assert.assertTrue(Files.size(binary) * 2 < Files.size(text));
+        Assert.assertArrayEquals(OjUtils.toIntMatrix(text), BinaryFixture.readIntMatrix(binary));
+    }
+
+    @Test
+    public void testBadFiles() throws IOException {
+        Path binary = folder.newFile().toPath();
+        BinaryFixture.write(new int[][]{{1, 200}, {3}}, binary);
+        try {
+            BinaryFixture.readTree(binary);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("expect TREE"));
+        }
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 1));
+        try {
+            BinaryFixture.readIntMatrix(binary);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("Bad fixture"));
+        }
+        try {
+            BinaryFixture.readIntMatrix(text("[[1]]"));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("Not a binary fixture"));
+        }
+    }
+
+    private Path text(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,141 @@
+package oj.scaffold;
+
+import oj.scaffold.ComplexityEstimator.Complexity;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+public class ComplexityEstimatorTest {
+    /**
+     * Set by {@code gradle test -PtimingTests}, the tests timing real code are too noisy for every build.
+     */
+    private static final boolean TIMING_TESTS = Boolean.getBoolean("oj.scaffold.timingTests");
+    private static final int[] SIZES = {1000, 2000, 4000, 8000, 16000, 32000};
+
+    private static final IntFunction<int[]> DESCENDING = new IntFunction<int[]>() {
+        @Override
+        public int[] apply(int n) {
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = n - i;
+            }
+            return values;
+        }
+    };
+
+    /**
+     * Seeded by the size, so every size always gets the same shuffled values.
+     */
+    private static final IntFunction<int[]> SHUFFLED = new IntFunction<int[]>() {
+        @Override
+        public int[] apply(int n) {
+            Random random = new Random(n);
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt();
+            }
+            return values;
+        }
+    };
+
+    /**
+     * @param noise relative error, alternating up and down.
+     */
+    private static double[] syntheticNanos(Complexity complexity, int[] sizes, double noise) {
+        double[] nanos = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            nanos[i] = 5e6 * complexity.relativeCost(sizes[i], sizes[sizes.length - 1])
+                    * (i % 2 == 0 ? 1 + noise : 1 - noise);
+        }
+        return nanos;
+    }
+
+    @Test
+    public void testFit_syntheticTimings() {
+        for (Complexity expected : new Complexity[]{Complexity.CONSTANT, Complexity.N, Complexity.N_LOG_N,
+                Complexity.N_SQUARED}) {
+            ComplexityEstimator.Estimate estimate =
+                    ComplexityEstimator.fit(SIZES, syntheticNanos(expected, SIZES, 0.03));
+            Assert.assertEquals(estimate.toString(), expected, estimate.best);
+            Assert.assertTrue(estimate.toString(), estimate.confidence > 0.3);
+        }
+    }
+
+    @Test
+    public void testFit_exponential() {
+        int[] sizes = {10, 12, 14, 16, 18};
+        double[] nanos = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            nanos[i] = Math.pow(2, sizes[i]) * 10;
+        }
+        Assert.assertEquals(Complexity.EXPONENTIAL, ComplexityEstimator.fit(sizes, nanos).best);
+    }
+
+    @Test
+    public void testCheckAtMost_syntheticTimings() {
+        ComplexityEstimator.Estimate quadratic =
+                ComplexityEstimator.fit(SIZES, syntheticNanos(Complexity.N_SQUARED, SIZES, 0.03));
+        AssertionError rejected = null;
+        try {
+            ComplexityEstimator.checkAtMost(quadratic, Complexity.N_LOG_N);
+        } catch (AssertionError expected) {
+            rejected = expected;
+        }
+        Assert.assertNotNull("quadratic timings accepted as N_LOG_N", rejected);
+        Assert.assertTrue(rejected.getMessage(), rejected.getMessage().startsWith("Expected at most N_LOG_N"));
+        ComplexityEstimator.checkAtMost(ComplexityEstimator.fit(SIZES,
+                syntheticNanos(Complexity.N_LOG_N, SIZES, 0.03)), Complexity.N_LOG_N);
+        ComplexityEstimator.checkAtMost(ComplexityEstimator.fit(SIZES,
+                syntheticNanos(Complexity.N, SIZES, 0.03)), Complexity.N_LOG_N);
+    }
+
+    @Test
+    public void testAssertComplexityAtMost_realTimings() {
+        Assume.assumeTrue(TIMING_TESTS);
+        Function<int[], Integer> bubbleSort = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] values) {
+                for (int i = 0; i < values.length; i++) {
+                    for (int j = 0; j + 1 < values.length - i; j++) {
+                        if (values[j] > values[j + 1]) {
+                            int swap = values[j];
+                            values[j] = values[j + 1];
+                            values[j + 1] = swap;
+                        }
+                    }
+                }
+                return values[0];
+            }
+        };
+        Function<int[], Integer> librarySort = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] values) {
+                Arrays.sort(values);
+                return values[0];
+            }
+        };
+        ComplexityEstimator<int[]> quadratic = new ComplexityEstimator<>(bubbleSort, SHUFFLED)
+                .sizes(500, 4000, 2).trials(3);
+        AssertionError rejected = null;
+        try {
+            quadratic.assertComplexityAtMost(Complexity.N_LOG_N);
+        } catch (AssertionError expected) {
+            rejected = expected;
+        }
+        Assert.assertNotNull("bubble sort accepted as N_LOG_N", rejected);
+        Assert.assertTrue(rejected.getMessage(), rejected.getMessage().startsWith("Expected at most N_LOG_N"));
+        new ComplexityEstimator<>(librarySort, SHUFFLED)
+                .sizes(1 << 14, 1 << 18, 2)
+                .assertComplexityAtMost(Complexity.N_LOG_N);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizes_notIncreasing() {
+        new ComplexityEstimator<>(Function.<int[]>identity(), DESCENDING).sizes(4, 2, 8);
+    }
+}
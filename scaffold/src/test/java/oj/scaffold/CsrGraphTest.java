@@ -0,0 +1,92 @@
+package oj.scaffold;
+
+import oj.scaffold.generator.GraphGenerator;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CsrGraphTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParse_directed() {
+        CsrGraph graph = CsrGraph.parse("[[0,1],[2,0],[0,2],[1,2]]", -1, true);
+        Assert.assertEquals(3, graph.nodes());
+        Assert.assertEquals(4, graph.arcs());
+        Assert.assertFalse(graph.weighted());
+        Assert.assertArrayEquals(new int[]{1, 2}, graph.neighbors(0));
+        Assert.assertArrayEquals(new int[]{2}, graph.neighbors(1));
+        Assert.assertArrayEquals(new int[]{0}, graph.neighbors(2));
+        Assert.assertArrayEquals(new int[]{0, 2, 3, 4}, graph.offsets());
+        Assert.assertEquals(0, graph.weight(0));
+    }
+
+    @Test
+    public void testParse_undirectedWeighted() throws IOException {
+        String text = " [ [0,1,4] , [0,2,1],[2,1,-2] ] ";
+        CsrGraph graph = CsrGraph.parse(new StringReader(text), 5, false);
+        Assert.assertEquals(5, graph.nodes());
+        Assert.assertEquals(6, graph.arcs());
+        Assert.assertTrue(graph.weighted());
+        final List<String> arcs = new ArrayList<>();
+        graph.forEachNeighbor(2, new CsrGraph.NeighborConsumer() {
+            @Override
+            public void accept(int target, int weight) {
+                arcs.add(target + ":" + weight);
+            }
+        });
+        Assert.assertEquals(Arrays.asList("0:1", "1:-2"), arcs);
+        Assert.assertEquals(0, graph.degree(4));
+        int total = 0;
+        for (int i = graph.start(1); i < graph.end(1); i++) {
+            total += graph.weight(i);
+        }
+        Assert.assertEquals(2, total);
+    }
+
+    @Test
+    public void testParse_empty() {
+        CsrGraph graph = CsrGraph.parse("[]", 2, false);
+        Assert.assertEquals(2, graph.nodes());
+        Assert.assertEquals(0, graph.arcs());
+        Assert.assertEquals(0, CsrGraph.parse("[]", -1, true).nodes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_mixedRows() {
+        CsrGraph.parse("[[0,1],[1,2,3]]", -1, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_nodeOutOfRange() {
+        CsrGraph.parse("[[0,3]]", 3, true);
+    }
+
+    @Test
+    public void testParse_sameAsEdges() throws IOException {
+        GraphGenerator generator = new GraphGenerator(11).weights(1, 100);
+        Path file = temporaryFolder.newFile("graph.txt").toPath();
+        generator.write(2000, 10000, file);
+        int[][] edges = generator.build(2000, 10000);
+        CsrGraph parsed = CsrGraph.parse(file, 2000, false);
+        CsrGraph built = CsrGraph.of(edges, 2000, false);
+        Assert.assertArrayEquals(built.offsets(), parsed.offsets());
+        Assert.assertArrayEquals(built.targets(), parsed.targets());
+        Assert.assertArrayEquals(built.weights(), parsed.weights());
+        Assert.assertEquals(20000, parsed.arcs());
+        long degrees = 0;
+        for (int u = 0; u < parsed.nodes(); u++) {
+            degrees += parsed.degree(u);
+        }
+        Assert.assertEquals(20000, degrees);
+    }
+}
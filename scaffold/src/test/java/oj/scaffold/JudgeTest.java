@@ -0,0 +1,96 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class JudgeTest {
+    private static final Function<int[][], Integer> SUM = new Function<int[][], Integer>() {
+        @Override
+        public Integer apply(int[][] matrix) {
+            int sum = 0;
+            for (int[] row : matrix) {
+                for (int value : row) {
+                    sum += value;
+                }
+            }
+            return sum;
+        }
+    };
+
+    @Test
+    public void testAccepted() {
+        List<Judge.Result> results = new Judge<>(SUM).warmup(3).assertAccepted(Arrays.asList(
+                Judge.Case.parsed("[[1,2],[3]]", OjUtils::toIntMatrix, 6),
+                Judge.Case.parsed("[[]]", OjUtils::toIntMatrix, 0)));
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(Integer.valueOf(6), results.get(0).output);
+        Assert.assertTrue(results.get(0).nanos >= 0);
+    }
+
+    @Test
+    public void testWrongAnswerAndMatcher() {
+        List<Judge.Result> results = new Judge<>(new Function<String, List<List<Integer>>>() {
+            @Override
+            public List<List<Integer>> apply(String text) {
+                return OjUtils.toListList(text, OjUtils.INTEGER_CREATOR);
+            }
+        }).run(Arrays.asList(
+                Judge.Case.parsed("[[1],[2]]", Function.<String>identity(), Arrays.asList(
+                        Collections.singletonList(1), Collections.singletonList(2))),
+                Judge.Case.<String, List<List<Integer>>>parsed("[[1],[2]]", Function.<String>identity(),
+                        new OjUtils.ListListMatcher(OjUtils.toListList("[[2],[1]]", OjUtils.INTEGER_CREATOR))),
+                Judge.Case.parsed("[[1],[2]]", Function.<String>identity(), Collections.<List<Integer>>emptyList())));
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(0).verdict);
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(1).verdict);
+        Assert.assertEquals(Judge.Verdict.WRONG_ANSWER, results.get(2).verdict);
+    }
+
+    @Test
+    public void testTimeLimitExceeded() {
+        Judge<Integer, Integer> judge = new Judge<>(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer millis) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return millis;
+            }
+        }).timeLimit(100, TimeUnit.MILLISECONDS);
+        List<Judge.Result> results = judge.run(Arrays.asList(
+                Judge.Case.parsed("5000", Integer::valueOf, 5000),
+                Judge.Case.parsed("0", Integer::valueOf, 0)));
+        Assert.assertEquals(Judge.Verdict.TIME_LIMIT_EXCEEDED, results.get(0).verdict);
+        Assert.assertEquals(Judge.Verdict.ACCEPTED, results.get(1).verdict);
+    }
+
+    @Test
+    public void testMemoryLimitExceededAndRuntimeError() {
+        Judge<Integer, Integer> judge = new Judge<>(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer size) {
+                return new int[size].length;
+            }
+        }).memoryLimit(1 << 20);
+        List<Judge.Result> results = judge.run(Arrays.asList(
+                Judge.Case.parsed("4000000", Integer::valueOf, 4000000),
+                Judge.Case.parsed("-1", Integer::valueOf, -1)));
+        if (results.get(0).allocatedBytes >= 0) {
+            Assert.assertEquals(Judge.Verdict.MEMORY_LIMIT_EXCEEDED, results.get(0).verdict);
+        }
+        Assert.assertEquals(Judge.Verdict.RUNTIME_ERROR, results.get(1).verdict);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testAssertAccepted_fails() {
+        new Judge<>(SUM).assertAccepted(Collections.singletonList(
+                Judge.Case.parsed("[[1,2]]", OjUtils::toIntMatrix, 4)));
+    }
+}
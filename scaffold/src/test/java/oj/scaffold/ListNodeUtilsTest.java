@@ -0,0 +1,94 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+public class ListNodeUtilsTest {
+
+    @Test
+    public void testDetectCycle_none() {
+        Assert.assertNull(ListNodeUtils.detectCycle(null));
+        Assert.assertNull(ListNodeUtils.detectCycle(ListNodeUtils.fromArray(1, 2, 3)));
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, ListNodeUtils.toArray(ListNodeUtils.fromArray(1, 2, 3)));
+    }
+
+    @Test
+    public void testDetectCycle_entryAndLength() {
+        for (int size = 1; size < 40; size++) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = i * 10;
+            }
+            for (int pos = 0; pos < size; pos++) {
+                ListNode head = ListNodeUtils.fromArray(values, pos);
+                ListNodeUtils.Cycle cycle = ListNodeUtils.detectCycle(head);
+                Assert.assertEquals(pos, cycle.entryIndex);
+                Assert.assertEquals(size - pos, cycle.length);
+                Assert.assertEquals(pos * 10, cycle.entry.val);
+                Assert.assertArrayEquals(values, ListNodeUtils.toArray(head));
+            }
+        }
+    }
+
+    @Test
+    public void testStream_stopsAtCycle() {
+        ListNode head = ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1);
+        Assert.assertArrayEquals(new int[]{3, 2, 0, -4}, ListNodeUtils.stream(head).toArray());
+        Assert.assertEquals(-4, ListNodeUtils.stream(head).min().getAsInt());
+        Assert.assertEquals(4, ListNodeUtils.stream(head).count());
+        Assert.assertArrayEquals(new int[]{7, 7}, ListNodeUtils.stream(ListNodeUtils.fromArray(new int[]{7, 7}, 0)).toArray());
+        Assert.assertArrayEquals(new int[]{1, 2}, ListNodeUtils.stream(ListNodeUtils.fromArray(1, 2)).toArray());
+        Assert.assertEquals(0, ListNodeUtils.stream(null).count());
+    }
+
+    @Test
+    public void testIterator_lazy() {
+        ListNode head = ListNodeUtils.fromArray(1, 2, 3);
+        PrimitiveIterator.OfInt iterator = ListNodeUtils.iterator(head);
+        Assert.assertEquals(1, iterator.nextInt());
+        // read as consumed, so a change further down shows up.
+        head.next.next.val = 30;
+        Assert.assertEquals(2, iterator.nextInt());
+        Assert.assertEquals(30, iterator.nextInt());
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testSetLoopAt() {
+        ListNode head = ListNodeUtils.fromArray(1);
+        OjUtils.setListNodeLoopAt(head, 0);
+        Assert.assertSame(head, head.next);
+        head = ListNodeUtils.fromArray(1, 2, 3);
+        OjUtils.setListNodeLoopAt(head, -1);
+        Assert.assertNull(ListNodeUtils.detectCycle(head));
+        OjUtils.setListNodeLoopAt(head, 2);
+        Assert.assertEquals(2, ListNodeUtils.detectCycle(head).entryIndex);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetLoopAt_badPos() {
+        OjUtils.setListNodeLoopAt(ListNodeUtils.fromArray(1, 2, 3), 3);
+    }
+
+    @Test
+    public void testSetLoopAt_alreadyLoopedAnywhere() {
+        for (int size = 1; size < 20; size++) {
+            int[] values = new int[size];
+            for (int pos = 0; pos < size; pos++) {
+                try {
+                    ListNodeUtils.setLoopAt(ListNodeUtils.fromArray(values, pos), 0);
+                    Assert.fail("size " + size + " pos " + pos);
+                } catch (IllegalArgumentException e) {
+                    Assert.assertEquals("List already loops at " + pos, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetLoopAt_alreadyLooped() {
+        OjUtils.setListNodeLoopAt(ListNodeUtils.fromArray(new int[]{1, 2, 3}, 0), 1);
+    }
+}
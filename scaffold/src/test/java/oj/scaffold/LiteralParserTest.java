@@ -0,0 +1,105 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class LiteralParserTest {
+
+    @Test
+    public void testEvents() {
+        LiteralParser parser = new LiteralParser(" [1, [\"a,]\\\"b\", null], true, -2.5e1, 3000000000, [] ] ");
+        List<String> events = new ArrayList<>();
+        while (parser.hasNext()) {
+            LiteralParser.Event event = parser.next();
+            switch (event) {
+                case INT:
+                    events.add("INT " + parser.intValue());
+                    break;
+                case LONG:
+                    events.add("LONG " + parser.longValue());
+                    break;
+                case DOUBLE:
+                    events.add("DOUBLE " + parser.doubleValue());
+                    break;
+                case STRING:
+                    events.add("STRING " + parser.stringValue());
+                    break;
+                case BOOLEAN:
+                    events.add("BOOLEAN " + parser.booleanValue());
+                    break;
+                default:
+                    events.add(event.name());
+            }
+        }
+        Assert.assertEquals(Arrays.asList("START_ARRAY", "INT 1", "START_ARRAY", "STRING a,]\"b", "NULL", "END_ARRAY",
+                "BOOLEAN true", "DOUBLE -25.0", "LONG 3000000000", "START_ARRAY", "END_ARRAY", "END_ARRAY"), events);
+    }
+
+    @Test
+    public void testNumbers() {
+        Assert.assertEquals(Integer.MIN_VALUE, Binders.parse("-2147483648", Binders.INTEGER).intValue());
+        Assert.assertEquals(Long.MIN_VALUE, Binders.parse("-9223372036854775808", Binders.LONG).longValue());
+        Assert.assertEquals(Long.MAX_VALUE, Binders.parse("9223372036854775807", Binders.LONG).longValue());
+        Assert.assertEquals(9223372036854775808.0, Binders.parse("9223372036854775808", Binders.DOUBLE), 0);
+        Assert.assertEquals(-0.5, Binders.parse("-0.5", Binders.DOUBLE), 0);
+        Assert.assertEquals(1e-3, Binders.parse("1E-3", Binders.DOUBLE), 0);
+        Assert.assertEquals(0.1, Binders.parse("0.1", Binders.DOUBLE), 0);
+    }
+
+    @Test
+    public void testBadInput() {
+        String[] inputs = {"", "[1,]", "[,1]", "[1 2]", "[1]]", "[[1]", "nul", "truex", "-", "1.", "1e", "\"a", "[1] x"};
+        for (String input : inputs) {
+            try {
+                Binders.parse(input, Binders.listOf(Binders.INTEGER));
+                Assert.fail(input);
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSkipValue() {
+        LiteralParser parser = new LiteralParser("[[1,[2,3]],4]");
+        parser.next();
+        parser.next();
+        parser.skipValue();
+        Assert.assertEquals(LiteralParser.Event.INT, parser.next());
+        Assert.assertEquals(4, parser.intValue());
+        Assert.assertEquals(LiteralParser.Event.END_ARRAY, parser.next());
+        Assert.assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void testBinders() {
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, Binders.parse("[1,2,3]", Binders.intArray()));
+        Assert.assertArrayEquals(new int[][]{{1}, {}, {2, 3}}, Binders.parse("[[1],[],[2,3]]", Binders.intMatrix()));
+        Assert.assertArrayEquals(new int[][][]{{{1}}, {{2, 3}, {}}},
+                Binders.parse("[[[1]],[[2,3],[]]]", Binders.arrayOf(Binders.intMatrix(), int[][].class)));
+        Assert.assertArrayEquals(new char[][]{{'1', ','}, {'"'}}, Binders.parse("[[\"1\",\",\"],[\"\\\"\"]]", Binders.charMatrix()));
+        Assert.assertArrayEquals(new String[]{"a b", null, "\u00e9"}, Binders.parse("[\"a b\",null,\"\\u00e9\"]", Binders.stringArray()));
+        Assert.assertArrayEquals(new boolean[]{true, false}, Binders.parse("[true,false]", Binders.booleanArray()));
+        Assert.assertArrayEquals(new double[]{1, 2.5}, Binders.parse("[1,2.5]", Binders.doubleArray()), 0);
+        Assert.assertArrayEquals(new long[]{1, 10000000000L}, Binders.parse("[1,10000000000]", Binders.longArray()));
+        Assert.assertEquals(Arrays.asList(Arrays.asList(1, null), Collections.<Integer>emptyList()),
+                Binders.parse("[[1,null],[]]", Binders.listOf(Binders.listOf(Binders.INTEGER))));
+        Assert.assertEquals("[1,null,2,3]", OjUtils.treeToString(Binders.parse("[1,null,2,3]", Binders.tree())));
+        Assert.assertArrayEquals(new int[]{3, 2}, ListNodeUtils.toArray(Binders.parse("[3,2]", Binders.listNode())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinders_nullInPrimitiveArray() {
+        Binders.parse("[1,null]", Binders.intArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinders_typeMismatch() {
+        Binders.parse("[\"1\"]", Binders.intArray());
+    }
+}
@@ -0,0 +1,141 @@
+package oj.scaffold;
+
+import oj.scaffold.collections.IntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+import java.util.stream.StreamSupport;
+
+public class LiteralRowsTest {
+
+    @Test
+    public void testIntRows() {
+        List<int[]> rows = new ArrayList<>();
+        for (int[] row : LiteralRows.intRows(" [ [2] , [1,1],[] ,[-3] ] ")) {
+            rows.add(row);
+        }
+        Assert.assertArrayEquals(OjUtils.toIntMatrix("[[2],[1,1],[],[-3]]"), rows.toArray(new int[0][]));
+        Assert.assertFalse(LiteralRows.intRows("[]").iterator().hasNext());
+    }
+
+    @Test
+    public void testIntRows_reusedBuffer() {
+        IntArrayList buffer = new IntArrayList();
+        List<String> rows = new ArrayList<>();
+        for (IntArrayList row : LiteralRows.intRows(new StringReader("[[1,2,3],[4]]"), buffer)) {
+            Assert.assertSame(buffer, row);
+            rows.add(row.toString());
+        }
+        Assert.assertEquals(Arrays.asList("[1,2,3]", "[4]"), rows);
+    }
+
+    @Test
+    public void testRows_creator() {
+        Iterable<List<String>> rows = LiteralRows.rows("[[\"put\",\"a\"],[\"get\"]]", OjUtils.STRING_CREATOR);
+        List<List<String>> all = new ArrayList<>();
+        for (List<String> row : rows) {
+            all.add(row);
+        }
+        Assert.assertEquals(OjUtils.toListList("[[\"put\",\"a\"],[\"get\"]]", OjUtils.STRING_CREATOR), all);
+        // a CharSequence can be iterated again.
+        Assert.assertEquals(Arrays.asList("put", "a"), rows.iterator().next());
+
+        List<Integer> buffer = new ArrayList<>();
+        Iterator<List<Integer>> reused = LiteralRows.rows("[[1],[2,3]]", OjUtils.INTEGER_CREATOR, buffer).iterator();
+        Assert.assertEquals(Arrays.asList(1), reused.next());
+        Assert.assertSame(buffer, reused.next());
+        Assert.assertEquals(Arrays.asList(2, 3), buffer);
+        Assert.assertFalse(reused.hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRows_readerOnce() {
+        Iterable<int[]> rows = LiteralRows.intRows(new StringReader("[[1]]"));
+        rows.iterator();
+        rows.iterator();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testRows_exhausted() {
+        Iterator<int[]> rows = LiteralRows.intRows("[[1]]").iterator();
+        rows.next();
+        rows.next();
+    }
+
+    @Test
+    public void testRows_badInputFailsAtItsRow() {
+        Iterator<int[]> rows = LiteralRows.intRows("[[1],[2]x").iterator();
+        Assert.assertArrayEquals(new int[]{1}, rows.next());
+        Assert.assertArrayEquals(new int[]{2}, rows.next());
+        try {
+            rows.hasNext();
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // the trailing x.
+        }
+    }
+
+    @Test
+    public void testIntRowSpliterator_parallel() {
+        int rowCount = 100000;
+        StringBuilder text = new StringBuilder("[");
+        long expected = 0;
+        for (int i = 0; i < rowCount; i++) {
+            text.append(i == 0 ? "[" : ",[").append(i).append(',').append(-i / 2).append(']');
+            expected += i - i / 2;
+        }
+        text.append(']');
+        ToLongFunction<int[]> rowSum = new ToLongFunction<int[]>() {
+            @Override
+            public long applyAsLong(int[] row) {
+                return row[0] + row[1];
+            }
+        };
+        Assert.assertEquals(expected, StreamSupport.stream(LiteralRows.intRowSpliterator(text), true)
+                .mapToLong(rowSum).sum());
+        Assert.assertEquals(rowCount, StreamSupport.stream(
+                LiteralRows.rowSpliterator(new StringReader(text.toString()), OjUtils.INTEGER_CREATOR), true).count());
+    }
+
+    @Test
+    public void testIntRows_neverHoldsWholeInput() {
+        // about 100MB of rows, produced on the fly.
+        final int rowCount = 10000000;
+        Reader reader = new Reader() {
+            private final char[] row = "[7,8,9],".toCharArray();
+            // [ then the rows without the last comma, then ].
+            private final long length = (long) row.length * rowCount + 1;
+            private long position;
+
+            @Override
+            public int read(char[] buffer, int offset, int count) {
+                if (position == length) {
+                    return -1;
+                }
+                int read = (int) Math.min(count, length - position);
+                for (int i = 0; i < read; i++, position++) {
+                    buffer[offset + i] = position == 0 ? '[' : position == length - 1 ? ']'
+                            : row[(int) ((position - 1) % row.length)];
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        long sum = 0;
+        for (IntArrayList row : LiteralRows.intRows(reader, new IntArrayList())) {
+            sum += row.get(2);
+        }
+        Assert.assertEquals(9L * rowCount, sum);
+    }
+}
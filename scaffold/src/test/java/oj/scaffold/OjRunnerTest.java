@@ -0,0 +1,117 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.InitializationError;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(OjRunner.class)
+public class OjRunnerTest {
+
+    @OjCase({"[[1,3,1],[1,5,1],[4,2,1]]", "7"})
+    @OjCase({"[[1,2,3],[4,5,6]]", "12"})
+    public void minPathSum(int[][] grid, int expected) {
+        int columns = grid[0].length;
+        int[] sums = new int[columns];
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < columns; j++) {
+                int best = i == 0 ? (j == 0 ? 0 : sums[j - 1]) : j == 0 ? sums[j] : Math.min(sums[j], sums[j - 1]);
+                sums[j] = best + grid[i][j];
+            }
+        }
+        Assert.assertEquals(expected, sums[columns - 1]);
+    }
+
+    @OjCase({"[[\"1\",\"0\"],[\"0\",\"1\"]]", "2"})
+    public void charGrid(char[][] grid, int ones) {
+        int count = 0;
+        for (char[] row : grid) {
+            for (char c : row) {
+                count += c == '1' ? 1 : 0;
+            }
+        }
+        Assert.assertEquals(ones, count);
+    }
+
+    @OjCase({"[3,9,20,null,null,15,7]", "3"})
+    @OjCase({"[]", "0"})
+    public void tree(TreeNode root, int height) {
+        Assert.assertEquals(height, TreeArena.of(root).height());
+    }
+
+    @OjCase({"[1,2,3]", "[3,2,1]"})
+    public void list(ListNode head, int[] reversed) {
+        int[] values = ListNodeUtils.toArray(head);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(reversed[values.length - 1 - i], values[i]);
+        }
+    }
+
+    @OjCase({"[[\"a,b\",\"c\"],[]]", "[\"a,b\",\"c\"]"})
+    public void listList(List<List<String>> lists, String[] first) {
+        Assert.assertEquals(Arrays.asList(first), lists.get(0));
+        Assert.assertTrue(lists.get(1).isEmpty());
+    }
+
+    @OjFixture("two_sum.txt")
+    public void twoSum(int[] nums, int target, int[] expected) {
+        Assert.assertEquals(target, nums[expected[0]] + nums[expected[1]]);
+    }
+
+    @Test
+    public void testRunner_everyCaseReportedAlone() throws InitializationError {
+        OjRunner runner = new OjRunner(Failing.class);
+        Assert.assertEquals(3, runner.testCount());
+        Result result = new JUnitCore().run(Request.runner(runner));
+        Assert.assertEquals(3, result.getRunCount());
+        Assert.assertEquals(2, result.getFailureCount());
+        Assert.assertEquals("odd[1: x](oj.scaffold.OjRunnerTest$Failing)",
+                result.getFailures().get(0).getDescription().getDisplayName());
+        Assert.assertTrue(result.getFailures().get(0).getException() instanceof IllegalArgumentException);
+        Assert.assertEquals("odd[2: 2](oj.scaffold.OjRunnerTest$Failing)",
+                result.getFailures().get(1).getDescription().getDisplayName());
+    }
+
+    @Test(expected = InitializationError.class)
+    public void testRunner_unsupportedType() throws InitializationError {
+        new OjRunner(Unsupported.class);
+    }
+
+    @Test(expected = InitializationError.class)
+    public void testRunner_wrongLiteralCount() throws InitializationError {
+        new OjRunner(WrongCount.class);
+    }
+
+    /**
+     * Run only by {@link #testRunner_everyCaseReportedAlone()}.
+     */
+    @Ignore
+    @RunWith(OjRunner.class)
+    public static class Failing {
+        @OjCase({"1"})
+        @OjCase({"x"})
+        @OjCase({"2"})
+        public void odd(int value) {
+            Assert.assertEquals(1, value % 2);
+        }
+    }
+
+    public static class Unsupported {
+        @OjCase({"1"})
+        public void object(Object value) {
+        }
+    }
+
+    public static class WrongCount {
+        @OjCase({"1", "2"})
+        public void one(int value) {
+        }
+    }
+}
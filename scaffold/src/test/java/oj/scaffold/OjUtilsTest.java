@@ -1,14 +1,33 @@
 package oj.scaffold;
 
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 public class OjUtilsTest {
     public static final boolean DEBUG = false;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testToIntMatrix_empty1dMatrix() {
         Assert.assertArrayEquals(new int[][]{}, OjUtils.toIntMatrix("[]"));
@@ -24,6 +43,281 @@ public class OjUtilsTest {
         Assert.assertArrayEquals(new int[][]{{1}}, OjUtils.toIntMatrix("[[1]]"));
     }
 
+    @Test
+    public void testToIntMatrix_signedAndBounds() {
+        Assert.assertArrayEquals(new int[][]{{-1, 2147483647}, {}, {-2147483648, 0}},
+                OjUtils.toIntMatrix("[ [-1 , +2147483647],\n[ ],\n[-2147483648,0] ]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToIntMatrix_overflow() {
+        OjUtils.toIntMatrix("[[2147483648]]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToIntMatrix_badElement() {
+        OjUtils.toIntMatrix("[[1,a]]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToIntMatrix_unclosed() {
+        OjUtils.toIntMatrix("[[1,2]");
+    }
+
+    @Test
+    public void testToIntMatrix_reader_crossesWindow() throws IOException {
+        int[][] expected = new int[3000][];
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = new int[]{i, -i};
+            builder.append(i == 0 ? "" : ",\n").append("[").append(i).append(", -").append(i).append("]");
+        }
+        builder.append("]");
+        Assert.assertArrayEquals(expected, OjUtils.toIntMatrix(new StringReader(builder.toString())));
+    }
+
+    @Test
+    public void testToIntMatrix_streams() throws IOException {
+        byte[] bytes = "[[1,2],[3]]".getBytes(StandardCharsets.UTF_8);
+        int[][] expected = {{1, 2}, {3}};
+        Assert.assertArrayEquals(expected, OjUtils.toIntMatrix(new ByteArrayInputStream(bytes)));
+        Assert.assertArrayEquals(expected, OjUtils.toIntMatrix(ByteBuffer.wrap(bytes)));
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, bytes);
+        Assert.assertArrayEquals(expected, OjUtils.toIntMatrix(file));
+        Assert.assertNull(OjUtils.toIntMatrix(new StringReader("  ")));
+    }
+
+    @Test
+    public void testBlankInput() throws IOException {
+        for (String blank : new String[]{"", "  ", " \n\t "}) {
+            Assert.assertNull(OjUtils.toIntMatrix(blank));
+            Assert.assertNull(OjUtils.toIntMatrix(new StringReader(blank)));
+            Assert.assertNull(OjUtils.toCharMatrix(blank));
+            Assert.assertNull(OjUtils.toListList(blank, OjUtils.STRING_CREATOR));
+            Assert.assertNull(OjUtils.toListList(new StringReader(blank), OjUtils.STRING_CREATOR));
+            Assert.assertNull(OjUtils.toFlatIntMatrix(blank));
+            Assert.assertNull(OjUtils.toIntListList(new StringReader(blank)));
+            Assert.assertNull(OjUtils.toLongMatrix(blank));
+            Assert.assertNull(OjUtils.toDoubleArray(new StringReader(blank)));
+        }
+        Assert.assertNull(OjUtils.toIntMatrix((String) null));
+    }
+
+    @Test
+    public void testToFlatIntMatrix() {
+        IntMatrix matrix = OjUtils.toFlatIntMatrix("[[1, 2, 3],\n [4, 5, 6]]");
+        Assert.assertEquals(2, matrix.rows());
+        Assert.assertEquals(3, matrix.columns());
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6}, matrix.data());
+        Assert.assertEquals(6, matrix.get(1, 2));
+        matrix.row(1).put(0, 40);
+        Assert.assertEquals(40, matrix.getUnchecked(1, 0));
+        Assert.assertArrayEquals(new int[][]{{1, 2, 3}, {40, 5, 6}}, matrix.toIntMatrix());
+        Assert.assertEquals(IntMatrix.of(matrix.toIntMatrix()), matrix);
+        Assert.assertEquals("[[1,2,3],[40,5,6]]", matrix.toString());
+    }
+
+    @Test
+    public void testToFlatIntMatrix_empty() {
+        Assert.assertEquals(new IntMatrix(0, 0), OjUtils.toFlatIntMatrix("[]"));
+        Assert.assertEquals(new IntMatrix(1, 0), OjUtils.toFlatIntMatrix("[[]]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToFlatIntMatrix_jagged() {
+        OjUtils.toFlatIntMatrix("[[1,2],[3]]");
+    }
+
+    @Test
+    public void testToLongMatrix() throws IOException {
+        long[][] expected = {{-9223372036854775808L, 9223372036854775807L}, {}, {10000000000L, 0}};
+        String text = "[[-9223372036854775808, +9223372036854775807],\n[ ],\n[10000000000,0]]";
+        Assert.assertArrayEquals(expected, OjUtils.toLongMatrix(text));
+        Assert.assertArrayEquals(expected, OjUtils.toLongMatrix(new StringReader(text)));
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        Assert.assertArrayEquals(expected, OjUtils.toLongMatrix(file));
+        Assert.assertArrayEquals(new long[]{1, -2, 3000000000L}, OjUtils.toLongArray("[1,-2,3000000000]"));
+        Assert.assertArrayEquals(new long[0], OjUtils.toLongArray("[]"));
+        Assert.assertNull(OjUtils.toLongMatrix(new StringReader(" ")));
+    }
+
+    @Test
+    public void testToLongListList() throws IOException {
+        String text = "[[10000000000, -2],[],[9223372036854775807]]";
+        LongListList lists = OjUtils.toLongListList(text);
+        Assert.assertEquals(3, lists.size());
+        Assert.assertEquals(0, lists.rowSize(1));
+        Assert.assertEquals(10000000000L, lists.get(0, 0));
+        Assert.assertArrayEquals(new long[]{10000000000L, -2, 9223372036854775807L}, lists.values());
+        Assert.assertEquals(LongListList.of(new long[][]{{10000000000L, -2}, {}, {Long.MAX_VALUE}}), lists);
+        Assert.assertEquals(OjUtils.toListList(text, OjUtils.LONG_CREATOR), lists.asLists());
+        Assert.assertEquals(lists.asLists().hashCode(), lists.hashCode());
+        Assert.assertEquals("[[10000000000,-2],[],[9223372036854775807]]", lists.toString());
+        Assert.assertEquals(lists, OjUtils.toLongListList(new StringReader(text)));
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(lists, OjUtils.toLongListList(file));
+        Assert.assertNull(OjUtils.toLongListList(" "));
+    }
+
+    @Test
+    public void testToLongMatrix_overflowPosition() {
+        try {
+            OjUtils.toLongMatrix("[[1],[9223372036854775808]]");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Bad input, long overflow at 6", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testToDoubleMatrix() throws IOException {
+        double[][] expected = {{1.5, -2}, {}, {3e-4, 0.1, 1e22, 123456.789}};
+        String text = "[[1.5, -2],[],\n[3E-4, 0.1, 1e+22, 123456.789]]";
+        Assert.assertTrue(Arrays.deepEquals(expected, OjUtils.toDoubleMatrix(text)));
+        Assert.assertTrue(Arrays.deepEquals(expected, OjUtils.toDoubleMatrix(new StringReader(text))));
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(Arrays.deepEquals(expected, OjUtils.toDoubleMatrix(file)));
+        Assert.assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(OjUtils.toDoubleArray("[-0.0]")[0]));
+        Assert.assertNull(OjUtils.toDoubleArray(""));
+    }
+
+    @Test
+    public void testToDoubleArray_correctlyRounded() {
+        String[] edges = {
+                "9007199254740993", "9007199254740995", "2.2250738585072011e-308", "2.2250738585072012e-308",
+                "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "1.7976931348623157e308",
+                "1.7976931348623158e308", "0.1000000000000000055511151231257827021181583404541015625",
+                "9007199254740992.000000000000000000000001", "1e-400", "0.0000000000000000000000000000001",
+                "123456789012345678901234567890e-10", "00012.50"
+        };
+        StringBuilder builder = new StringBuilder("[");
+        List<String> literals = new ArrayList<>(Arrays.asList(edges));
+        Random random = new Random(25);
+        for (int i = 0; i < 20000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                literals.add(Double.toString(value));
+                // fewer digits than the shortest form, so most land between two doubles.
+                literals.add(new BigDecimal(value).round(new MathContext(1 + i % 17)).toString());
+            }
+            literals.add((random.nextInt(2000000) - 1000000) + "." + random.nextInt(1000));
+        }
+        for (String literal : literals) {
+            builder.append(builder.length() == 1 ? "" : ",").append(literal);
+        }
+        double[] values = OjUtils.toDoubleArray(builder.append("]").toString());
+        Assert.assertEquals(literals.size(), values.length);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(literals.get(i), Double.doubleToLongBits(Double.parseDouble(literals.get(i))),
+                    Double.doubleToLongBits(values[i]));
+        }
+    }
+
+    @Test
+    public void testToDoubleMatrix_overflowPosition() {
+        try {
+            OjUtils.toDoubleMatrix("[[1.5],[2, -1.8e308]]");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Bad input, double overflow at 11", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToDoubleMatrix_badElement() {
+        OjUtils.toDoubleMatrix("[[1.]]");
+    }
+
+    @Test
+    public void testToListList_longAndDoubleCreators() {
+        Assert.assertEquals(Arrays.asList(Arrays.asList(4294967296L, -1L)),
+                OjUtils.toListList("[[4294967296,-1]]", OjUtils.LONG_CREATOR));
+        Assert.assertEquals(Arrays.asList(Arrays.asList(0.5, 2.0)),
+                OjUtils.toListList("[[0.5,2]]", OjUtils.DOUBLE_CREATOR));
+        try {
+            OjUtils.LONG_CREATOR.create("92233720368547758070");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Bad input, long overflow at 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNewTreeFromArrays_sparse() {
+        // children of null nodes are omitted: 1 -> right 2 -> left 3
+        TreeNode root = OjUtils.newTreeFromArrays(1, null, 2, 3);
+        Assert.assertNull(root.left);
+        Assert.assertEquals(2, root.right.val);
+        Assert.assertEquals(3, root.right.left.val);
+        Assert.assertNull(root.right.right);
+    }
+
+    @Test
+    public void testConvertTreeAsArrays_trimsTrailingNulls() {
+        TreeNode root = OjUtils.newTreeFromArrays(1, null, 2, 3);
+        Assert.assertArrayEquals(new Integer[]{1, null, 2, 3}, OjUtils.convertTreeAsArrays(root));
+        Assert.assertEquals("[1,null,2,3]", OjUtils.treeToString(root));
+        Assert.assertEquals(LevelOrderArray.of(1, null, 2, 3), OjUtils.convertTreeAsLevelOrder(root));
+        Assert.assertArrayEquals(new Integer[0], OjUtils.convertTreeAsArrays(null));
+        Assert.assertEquals("[]", OjUtils.treeToString(null));
+    }
+
+    @Test
+    public void testWriteTree_byteBufferAndAppendable() throws IOException {
+        String text = "[-2147483648,2147483647,0,null,-5,6,null,null,7]";
+        TreeNode root = OjUtils.newTreeFromString(text);
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+        OjUtils.writeTree(root, bytes);
+        Assert.assertEquals(text, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+        StringWriter writer = new StringWriter();
+        OjUtils.writeTree(root, writer);
+        Assert.assertEquals(text, writer.toString());
+    }
+
+    @Test
+    public void testConvertTreeAsLevelOrder_wideTree() {
+        Integer[] values = new Integer[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 7 == 3 ? null : i;
+        }
+        TreeNode root = OjUtils.newTreeFromArrays(values);
+        Assert.assertEquals(LevelOrderArray.of(values), OjUtils.convertTreeAsLevelOrder(root));
+    }
+
+    @Test
+    public void testNewTreeFromString_degenerate() {
+        int depth = 100000;
+        StringBuilder builder = new StringBuilder("[0");
+        for (int i = 1; i < depth; i++) {
+            builder.append(",null,").append(i);
+        }
+        TreeNode node = OjUtils.newTreeFromString(builder.append(']').toString());
+        for (int i = 0; i < depth; i++) {
+            Assert.assertNull(node.left);
+            Assert.assertEquals(i, node.val);
+            node = node.right;
+        }
+        Assert.assertNull(node);
+    }
+
+    @Test
+    public void testNewTreeFromArrays_empty() {
+        Assert.assertNull(OjUtils.newTreeFromArrays());
+        Assert.assertNull(OjUtils.newTreeFromString("[]"));
+        Assert.assertNull(OjUtils.newTreeFromString(""));
+        Assert.assertNull(OjUtils.newTreeFromString("  \n"));
+        Assert.assertNull(OjUtils.newTreeFromArrays(new int[1], LevelOrderArray.of((Integer) null).nulls()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewTreeFromArrays_orphanValue() {
+        OjUtils.newTreeFromArrays(1, null, null, 2);
+    }
+
     @Test
     public void testToCharMatrix_2d() {
         Assert.assertArrayEquals(new char[][]{{'1', '0', '1', '0', '0'},
@@ -174,6 +468,49 @@ public class OjUtilsTest {
                 "]", OjUtils.STRING_CREATOR));
     }
 
+    @Test
+    public void testToListList_stringCreator_delimitersInQuotes() {
+        List<List<String>> lists = new ArrayList<>();
+        List<String> list = new ArrayList<>();
+        list.add("a,b");
+        list.add("[c]");
+        lists.add(list);
+        Assert.assertEquals(lists, OjUtils.toListList("[[\"a,b\", \"[c]\"]]", OjUtils.STRING_CREATOR));
+    }
+
+    @Test
+    public void testToListList_byteBuffer_utf8() {
+        List<List<String>> lists = new ArrayList<>();
+        lists.add(Arrays.asList("\u4f60\u597d", "a"));
+        ByteBuffer bytes = ByteBuffer.allocateDirect(64);
+        bytes.put("[[\"\u4f60\u597d\",\"a\"]]".getBytes(StandardCharsets.UTF_8)).flip();
+        Assert.assertEquals(lists, OjUtils.toListList(bytes, OjUtils.STRING_CREATOR));
+        Assert.assertEquals(0, bytes.position());
+    }
+
+    @Test
+    public void testToIntListList_jagged() {
+        IntListList lists = OjUtils.toIntListList("[[1, 2, 3], [], [-4]]");
+        Assert.assertEquals(3, lists.size());
+        Assert.assertEquals(0, lists.rowSize(1));
+        Assert.assertEquals(-4, lists.get(2, 0));
+        Assert.assertArrayEquals(new int[][]{{1, 2, 3}, {}, {-4}}, lists.toIntMatrix());
+        Assert.assertEquals("[[1,2,3],[],[-4]]", lists.toString());
+        Assert.assertEquals(OjUtils.toListList("[[1, 2, 3], [], [-4]]", OjUtils.INTEGER_CREATOR), lists.asLists());
+        Assert.assertEquals(IntListList.of(new int[][]{{1, 2, 3}, {}, {-4}}), lists);
+    }
+
+    @Test
+    public void testToIntListList_empty() {
+        Assert.assertEquals(0, OjUtils.toIntListList("[]").size());
+        Assert.assertEquals(1, OjUtils.toIntListList("[[]]").size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testToIntListList_viewReadOnly() {
+        OjUtils.toIntListList("[[1]]").asLists().get(0).set(0, 2);
+    }
+
     @Test
     public void testToListList_matrix() {
         List<List<Integer>> lists = new ArrayList<>();
@@ -229,4 +566,129 @@ public class OjUtilsTest {
                     "     ]", OjUtils.INTEGER_CREATOR));
         }
     }
+
+    @Test
+    public void testListListMatcher_outerOrderIgnored() {
+        List<List<Integer>> target = OjUtils.toListList("[[1,2],[3],[1,2]]", OjUtils.INTEGER_CREATOR);
+        Assert.assertThat(OjUtils.toListList("[[3],[1,2],[1,2]]", OjUtils.INTEGER_CREATOR),
+                new OjUtils.ListListMatcher(target));
+        Assert.assertThat(OjUtils.toIntListList("[[1,2],[1,2],[3]]").asLists(), new OjUtils.ListListMatcher(target));
+    }
+
+    @Test
+    public void testListListMatcher_multiplicity() {
+        OjUtils.ListListMatcher matcher = new OjUtils.ListListMatcher(
+                OjUtils.toListList("[[1],[2]]", OjUtils.INTEGER_CREATOR));
+        List<List<Integer>> actual = OjUtils.toListList("[[1],[1]]", OjUtils.INTEGER_CREATOR);
+        Assert.assertFalse(matcher.matches(actual));
+        StringDescription description = new StringDescription();
+        matcher.describeMismatch(actual, description);
+        Assert.assertEquals("missing 1 inner list(s), like [[2]], extra 1 inner list(s), like [[1]]",
+                description.toString());
+    }
+
+    @Test
+    public void testListListMatcher_innerOrder() {
+        List<List<Integer>> target = OjUtils.toListList("[[1,2,2],[3]]", OjUtils.INTEGER_CREATOR);
+        List<List<Integer>> actual = OjUtils.toListList("[[3],[2,1,2]]", OjUtils.INTEGER_CREATOR);
+        Assert.assertFalse(new OjUtils.ListListMatcher(target).matches(actual));
+        Assert.assertTrue(new OjUtils.ListListMatcher(target, true).matches(actual));
+        Assert.assertFalse(new OjUtils.ListListMatcher(target, true)
+                .matches(OjUtils.toListList("[[3],[2,1,1]]", OjUtils.INTEGER_CREATOR)));
+    }
+
+    @Test
+    public void testTreeMatcher_pathOfFirstDifference() {
+        OjUtils.TreeMatcher matcher = new OjUtils.TreeMatcher(OjUtils.newTreeFromString("[1,2,3,null,4]"));
+        Assert.assertTrue(matcher.matches(OjUtils.newTreeFromString("[1,2,3,null,4]")));
+        Assert.assertEquals("root.left.right expected 4 but was 5",
+                mismatch(matcher, OjUtils.newTreeFromString("[1,2,3,null,5]")));
+        Assert.assertEquals("root.left.left expected null but was 6",
+                mismatch(matcher, OjUtils.newTreeFromString("[1,2,3,6,4]")));
+        Assert.assertEquals("root.right expected 3 but was null",
+                mismatch(matcher, OjUtils.newTreeFromString("[1,2,null,null,4]")));
+        Assert.assertEquals("root expected 1 but was null", mismatch(matcher, null));
+        Assert.assertTrue(new OjUtils.TreeMatcher(null).matches(null));
+    }
+
+    @Test
+    public void testTreeMatcher_sharedAndLoopingNodes() {
+        TreeNode shared = new TreeNode(2);
+        TreeNode actual = new TreeNode(1);
+        actual.left = shared;
+        actual.right = shared;
+        OjUtils.TreeMatcher matcher = new OjUtils.TreeMatcher(OjUtils.newTreeFromString("[1,2,2]"));
+        Assert.assertEquals("root.right is a node already reached, shared or looping back", mismatch(matcher, actual));
+        actual.right = actual;
+        Assert.assertFalse(new OjUtils.TreeMatcher(OjUtils.newTreeFromString("[1,2,1,null,null,2]")).matches(actual));
+    }
+
+    @Test
+    public void testTreeMatcher_deepTree() {
+        int depth = 1000000;
+        TreeArena arena = new TreeArena(depth);
+        int parent = arena.newNode(0);
+        arena.setRoot(parent);
+        for (int i = 1; i < depth; i++) {
+            int child = arena.newNode(i);
+            arena.setRight(parent, child);
+            parent = child;
+        }
+        TreeNode expected = arena.toTree();
+        Assert.assertTrue(new OjUtils.TreeMatcher(expected).matches(arena.toTree()));
+        arena.setVal(parent, -1);
+        String mismatch = mismatch(new OjUtils.TreeMatcher(expected), arena.toTree());
+        Assert.assertTrue(mismatch, mismatch.startsWith("root...(999983 more).right.right"));
+        Assert.assertTrue(mismatch, mismatch.endsWith(" expected 999999 but was -1"));
+        Assert.assertNotEquals(OjUtils.TreeMatcher.structuralHash(expected),
+                OjUtils.TreeMatcher.structuralHash(arena.toTree()));
+    }
+
+    @Test
+    public void testTreeMatcher_structuralHash() {
+        Assert.assertEquals(OjUtils.TreeMatcher.structuralHash(OjUtils.newTreeFromString("[1,2,null,3]")),
+                OjUtils.TreeMatcher.structuralHash(OjUtils.newTreeFromString("[1,2,null,3]")));
+        Assert.assertNotEquals(OjUtils.TreeMatcher.structuralHash(OjUtils.newTreeFromString("[1,2]")),
+                OjUtils.TreeMatcher.structuralHash(OjUtils.newTreeFromString("[1,null,2]")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTreeMatcher_structuralHashLooping() {
+        TreeNode root = OjUtils.newTreeFromString("[1,2,3]");
+        root.right.left = root;
+        OjUtils.TreeMatcher.structuralHash(root);
+    }
+
+    @Test
+    public void testListNodeMatcher() {
+        OjUtils.ListNodeMatcher matcher = new OjUtils.ListNodeMatcher(ListNodeUtils.fromArray(1, 2, 3));
+        Assert.assertTrue(matcher.matches(ListNodeUtils.fromArray(1, 2, 3)));
+        Assert.assertEquals("differs at index 1: expected 2 but was 5",
+                mismatch(matcher, ListNodeUtils.fromArray(1, 5, 3)));
+        Assert.assertEquals("ended after 2 nodes, expected 3", mismatch(matcher, ListNodeUtils.fromArray(1, 2)));
+        Assert.assertEquals("did not end after 3 nodes", mismatch(matcher, ListNodeUtils.fromArray(1, 2, 3, 4)));
+        Assert.assertEquals("did not end after 3 nodes", mismatch(matcher, ListNodeUtils.fromArray(new int[]{1, 2, 3}, 0)));
+        Assert.assertTrue(new OjUtils.ListNodeMatcher(null).matches(null));
+    }
+
+    @Test
+    public void testListNodeMatcher_cycle() {
+        OjUtils.ListNodeMatcher matcher = new OjUtils.ListNodeMatcher(ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1));
+        Assert.assertTrue(matcher.matches(ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1)));
+        Assert.assertEquals("did not loop back to index 1 after 4 nodes",
+                mismatch(matcher, ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 2)));
+        Assert.assertEquals("did not loop back to index 1 after 4 nodes",
+                mismatch(matcher, ListNodeUtils.fromArray(3, 2, 0, -4)));
+        Assert.assertEquals(OjUtils.ListNodeMatcher.structuralHash(ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1)),
+                OjUtils.ListNodeMatcher.structuralHash(ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1)));
+        Assert.assertNotEquals(OjUtils.ListNodeMatcher.structuralHash(ListNodeUtils.fromArray(new int[]{3, 2, 0, -4}, 1)),
+                OjUtils.ListNodeMatcher.structuralHash(ListNodeUtils.fromArray(3, 2, 0, -4)));
+    }
+
+    private static String mismatch(Matcher<Object> matcher, Object actual) {
+        Assert.assertFalse(matcher.matches(actual));
+        StringDescription description = new StringDescription();
+        matcher.describeMismatch(actual, description);
+        return description.toString();
+    }
 }
@@ -0,0 +1,95 @@
+package oj.scaffold;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelLiteralParserTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static String randomJagged(int rows, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder("[ ");
+        for (int i = 0; i < rows; i++) {
+            builder.append(i == 0 ? "[" : " ,\n[");
+            int columns = random.nextInt(6);
+            for (int j = 0; j < columns; j++) {
+                builder.append(j == 0 ? "" : ", ").append(random.nextInt());
+            }
+            builder.append(']');
+        }
+        return builder.append(" ]").toString();
+    }
+
+    @Test
+    public void testIntMatrix_sameAsSequential() {
+        String text = randomJagged(2000, 7);
+        int[][] expected = OjUtils.toIntMatrix(text);
+        Assert.assertArrayEquals(expected, ParallelLiteralParser.intMatrix(
+                ParallelLiteralParser.Text.of(text), POOL, 0, 64));
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        Assert.assertArrayEquals(expected, ParallelLiteralParser.intMatrix(
+                ParallelLiteralParser.Text.of(bytes), POOL, 0, 64));
+        Assert.assertEquals(OjUtils.toIntListList(text), ParallelLiteralParser.intListList(
+                ParallelLiteralParser.Text.of(text), POOL, 0, 64));
+        Assert.assertArrayEquals(expected, OjUtils.toIntMatrixParallel(text));
+    }
+
+    @Test
+    public void testIntListList_flatWithBlankRows() {
+        String text = "[[1, 2],[ ],[-3],[\n],[4,5,6]]";
+        IntListList expected = OjUtils.toIntListList(text);
+        Assert.assertEquals(expected, ParallelLiteralParser.intListList(ParallelLiteralParser.Text.of(text), POOL, 0, 1));
+        Assert.assertEquals(expected, ParallelLiteralParser.intListList(ParallelLiteralParser.Text.of(text), POOL, 0, 64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntListList_trailingComma() {
+        ParallelLiteralParser.intListList(ParallelLiteralParser.Text.of("[[1],[2,],[3]]"), POOL, 0, 1);
+    }
+
+    @Test
+    public void testBlank() throws IOException {
+        Path file = Files.createTempFile("blank", ".txt");
+        try {
+            Files.write(file, " \n ".getBytes(StandardCharsets.UTF_8));
+            Assert.assertNull(OjUtils.toIntMatrix(file));
+            Assert.assertNull(OjUtils.toIntMatrixParallel(file));
+            Assert.assertNull(OjUtils.toIntListListParallel(file));
+            Assert.assertNull(OjUtils.toListListParallel(file, OjUtils.STRING_CREATOR));
+        } finally {
+            Files.delete(file);
+        }
+        Assert.assertNull(OjUtils.toIntMatrixParallel("  "));
+    }
+
+    @Test
+    public void testListList_quotedBrackets() {
+        String text = "[[\"a]\",\"b,[\"],[],[\"\\\"]\"]]";
+        Assert.assertEquals(OjUtils.toListList(text, OjUtils.STRING_CREATOR), ParallelLiteralParser.listList(
+                ParallelLiteralParser.Text.of(text), OjUtils.STRING_CREATOR, POOL, 0, 1));
+    }
+
+    @Test
+    public void testIntMatrix_empty() {
+        Assert.assertArrayEquals(new int[0][], ParallelLiteralParser.intMatrix(
+                ParallelLiteralParser.Text.of(" [ ] "), POOL, 0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntMatrix_missingCommaBetweenChunks() {
+        ParallelLiteralParser.intMatrix(ParallelLiteralParser.Text.of("[[1],[2] [3]]"), POOL, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntMatrix_badValueInChunk() {
+        ParallelLiteralParser.intMatrix(ParallelLiteralParser.Text.of("[[1],[2,x],[3]]"), POOL, 0, 1);
+    }
+}
@@ -0,0 +1,314 @@
+package oj.scaffold;
+
+import oj.scaffold.generator.MatrixGenerator;
+import oj.scaffold.generator.TreeGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class StressTesterTest {
+    private static final Function<Random, int[]> SMALL_ARRAYS = new Function<Random, int[]>() {
+        @Override
+        public int[] apply(Random random) {
+            int[] values = new int[1 + random.nextInt(8)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(41) - 20;
+            }
+            return values;
+        }
+    };
+
+    private static final Function<int[], Integer> MAX_SUBARRAY_BRUTE = new Function<int[], Integer>() {
+        @Override
+        public Integer apply(int[] nums) {
+            if (nums.length == 0) {
+                throw new IllegalArgumentException("empty");
+            }
+            int best = Integer.MIN_VALUE;
+            for (int i = 0; i < nums.length; i++) {
+                for (int j = i, sum = 0; j < nums.length; j++) {
+                    sum += nums[j];
+                    best = Math.max(best, sum);
+                }
+            }
+            return best;
+        }
+    };
+
+    /**
+     * Kadane, wrong when every value is negative.
+     */
+    private static final Function<int[], Integer> MAX_SUBARRAY_BUGGY = new Function<int[], Integer>() {
+        @Override
+        public Integer apply(int[] nums) {
+            int best = 0;
+            int sum = 0;
+            for (int num : nums) {
+                sum = Math.max(0, sum + num);
+                best = Math.max(best, sum);
+            }
+            return best;
+        }
+    };
+
+    @Test
+    public void testShrinksToMinimalArray() {
+        StressTester.Counterexample<int[]> counterexample = new StressTester<>(StressTester.intArray(),
+                MAX_SUBARRAY_BRUTE, MAX_SUBARRAY_BUGGY)
+                .generator(SMALL_ARRAYS)
+                .cases(100000)
+                .run();
+        Assert.assertNotNull(counterexample);
+        Assert.assertEquals("[-1]", counterexample.literal);
+        Assert.assertEquals("-1", counterexample.expected);
+        Assert.assertEquals("0", counterexample.actual);
+        Assert.assertTrue(counterexample.toString(), counterexample.toString().contains("\n[-1]\n"));
+    }
+
+    @Test
+    public void testFirstFailureWhateverTheThreads() {
+        StressTester<int[], Integer> tester = new StressTester<>(StressTester.intArray(),
+                MAX_SUBARRAY_BRUTE, MAX_SUBARRAY_BUGGY).generator(SMALL_ARRAYS).seed(7);
+        long sequential = tester.parallelism(1).run().caseIndex;
+        Assert.assertEquals(sequential, tester.parallelism(4).run().caseIndex);
+        Assert.assertArrayEquals(SMALL_ARRAYS.apply(new Random(tester.run().caseSeed)), tester.run().original);
+    }
+
+    @Test
+    public void testAgreeing() {
+        Assert.assertNull(new StressTester<>(StressTester.intArray(), MAX_SUBARRAY_BRUTE, MAX_SUBARRAY_BRUTE)
+                .generator(SMALL_ARRAYS)
+                .cases(5000)
+                .run());
+    }
+
+    @Test
+    public void testCandidateModifyingInputAndThrowing() {
+        Function<int[], Integer> sortingThenFailing = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] nums) {
+                Arrays.sort(nums);
+                if (nums.length > 3) {
+                    throw new IllegalStateException("boom");
+                }
+                return MAX_SUBARRAY_BRUTE.apply(new int[]{nums[nums.length - 1]});
+            }
+        };
+        Function<int[], Integer> maxElement = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] nums) {
+                return Arrays.stream(nums).max().getAsInt();
+            }
+        };
+        StressTester.Counterexample<int[]> counterexample = new StressTester<>(StressTester.intArray(),
+                maxElement, sortingThenFailing).generator(SMALL_ARRAYS).run();
+        Assert.assertEquals("[0,0,0,0]", counterexample.literal);
+        Assert.assertTrue(counterexample.actual, counterexample.actual.contains("boom"));
+    }
+
+    @Test
+    public void testShrinksMatrix() {
+        Function<int[][], Long> sum = new Function<int[][], Long>() {
+            @Override
+            public Long apply(int[][] matrix) {
+                long total = 0;
+                for (int[] row : matrix) {
+                    for (int value : row) {
+                        total += value;
+                    }
+                }
+                return total;
+            }
+        };
+        Function<int[][], Long> sumButLastColumn = new Function<int[][], Long>() {
+            @Override
+            public Long apply(int[][] matrix) {
+                long total = 0;
+                for (int[] row : matrix) {
+                    for (int j = 0; j < row.length - (row.length > 1 ? 1 : 0); j++) {
+                        total += row[j];
+                    }
+                }
+                return total;
+            }
+        };
+        StressTester.Counterexample<int[][]> counterexample = new StressTester<>(StressTester.intMatrix(), sum,
+                sumButLastColumn)
+                .generator(new Function<Random, int[][]>() {
+                    @Override
+                    public int[][] apply(Random random) {
+                        return new MatrixGenerator(random.nextLong())
+                                .build(1 + random.nextInt(5), 1 + random.nextInt(5));
+                    }
+                })
+                .run();
+        Assert.assertEquals("[[0,1]]", counterexample.literal);
+    }
+
+    @Test
+    public void testShrinksTree() {
+        Function<TreeNode, Integer> height = new Function<TreeNode, Integer>() {
+            @Override
+            public Integer apply(TreeNode root) {
+                return TreeArena.of(root).height();
+            }
+        };
+        Function<TreeNode, Integer> leftHeight = new Function<TreeNode, Integer>() {
+            @Override
+            public Integer apply(TreeNode root) {
+                int height = 0;
+                for (TreeNode node = root; node != null; node = node.left) {
+                    height++;
+                }
+                return height;
+            }
+        };
+        StressTester.Counterexample<TreeNode> counterexample = new StressTester<>(StressTester.tree(), height,
+                leftHeight)
+                .generator(new Function<Random, TreeNode>() {
+                    @Override
+                    public TreeNode apply(Random random) {
+                        return new TreeGenerator(random.nextLong())
+                                .build(random.nextInt(12), TreeGenerator.Shape.RANDOM);
+                    }
+                })
+                .run();
+        Assert.assertEquals("[0,null,0]", counterexample.literal);
+    }
+
+    @Test
+    public void testShrinksListNodeAndListList() {
+        Function<ListNode, Integer> sum = new Function<ListNode, Integer>() {
+            @Override
+            public Integer apply(ListNode head) {
+                return ListNodeUtils.stream(head).sum();
+            }
+        };
+        Function<ListNode, Integer> sumButLast = new Function<ListNode, Integer>() {
+            @Override
+            public Integer apply(ListNode head) {
+                int[] values = ListNodeUtils.toArray(head);
+                int total = 0;
+                for (int i = 0; i < values.length - (values.length > 2 ? 1 : 0); i++) {
+                    total += values[i];
+                }
+                return total;
+            }
+        };
+        StressTester.Counterexample<ListNode> list = new StressTester<>(StressTester.listNode(), sum, sumButLast)
+                .generator(new Function<Random, ListNode>() {
+                    @Override
+                    public ListNode apply(Random random) {
+                        return ListNodeUtils.fromArray(SMALL_ARRAYS.apply(random));
+                    }
+                })
+                .run();
+        Assert.assertTrue(list.literal, list.literal.equals("[0,0,1]") || list.literal.equals("[0,0,-1]"));
+
+        Function<List<List<Integer>>, Integer> rows = new Function<List<List<Integer>>, Integer>() {
+            @Override
+            public Integer apply(List<List<Integer>> lists) {
+                return lists.size();
+            }
+        };
+        Function<List<List<Integer>>, Integer> nonEmptyRows = new Function<List<List<Integer>>, Integer>() {
+            @Override
+            public Integer apply(List<List<Integer>> lists) {
+                int count = 0;
+                for (List<Integer> row : lists) {
+                    count += row.isEmpty() ? 0 : 1;
+                }
+                return count;
+            }
+        };
+        StressTester.Counterexample<List<List<Integer>>> listList = new StressTester<>(
+                StressTester.<Integer>listList(), rows, nonEmptyRows)
+                .generator(new Function<Random, List<List<Integer>>>() {
+                    @Override
+                    public List<List<Integer>> apply(Random random) {
+                        return OjUtils.toListList("[[1,2],[],[3]]", OjUtils.INTEGER_CREATOR);
+                    }
+                })
+                .run();
+        Assert.assertEquals("[[]]", listList.literal);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReferenceFailingOnGeneratedInput() {
+        new StressTester<>(StressTester.intArray(), MAX_SUBARRAY_BRUTE, MAX_SUBARRAY_BRUTE)
+                .generator(new Function<Random, int[]>() {
+                    @Override
+                    public int[] apply(Random random) {
+                        return new int[0];
+                    }
+                })
+                .run();
+    }
+
+    @Test
+    public void testReferenceFailureStopsEveryWorker() {
+        final int parallelism = 4;
+        final AtomicLong started = new AtomicLong();
+        final AtomicLong finished = new AtomicLong();
+        final CountDownLatch othersHeld = new CountDownLatch(parallelism - 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<int[], Integer> zero = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] nums) {
+                return 0;
+            }
+        };
+        Function<int[], Integer> failingLater = new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] nums) {
+                long call = started.incrementAndGet();
+                try {
+                    if (call == 1000) {
+                        // fails only once the other workers are held inside a case.
+                        await(othersHeld);
+                        throw new IllegalArgumentException("boom");
+                    }
+                    if (call > 1000) {
+                        othersHeld.countDown();
+                        await(release);
+                    }
+                    return zero.apply(nums);
+                } finally {
+                    finished.incrementAndGet();
+                }
+            }
+        };
+        try {
+            new StressTester<>(StressTester.intArray(), failingLater, zero)
+                    .generator(SMALL_ARRAYS)
+                    .cases(Long.MAX_VALUE)
+                    .parallelism(parallelism)
+                    .run();
+            Assert.fail("reference failure not reported");
+        } catch (IllegalStateException expected) {
+            Assert.assertTrue(expected.getMessage(), expected.getMessage().startsWith("Reference failed"));
+        }
+        // run() must have waited for the held workers, the release only comes now.
+        long running = started.get() - finished.get();
+        release.countDown();
+        Assert.assertEquals("calls still running after run()", 0, running);
+    }
+
+    /**
+     * Bounded, run() joins the held workers before the test can release them.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(200, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
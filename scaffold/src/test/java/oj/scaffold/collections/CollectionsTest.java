@@ -0,0 +1,189 @@
+package oj.scaffold.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+public class CollectionsTest {
+
+    @Test
+    public void testIntArrayList() {
+        IntArrayList list = IntArrayList.of(3, 1, 2);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(103, list.size());
+        Assert.assertEquals(1, list.get(1));
+        Assert.assertEquals(99, list.removeLast());
+        Assert.assertEquals(2, list.set(2, -5));
+        Assert.assertTrue(list.contains(-5));
+        list.sort();
+        Assert.assertEquals(-5, list.get(0));
+        Assert.assertEquals(IntArrayList.of(1, 2), IntArrayList.of(1, 2));
+        Assert.assertEquals("[1,2]", IntArrayList.of(1, 2).toString());
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIntArrayList_outOfBounds() {
+        IntArrayList.of(1).get(1);
+    }
+
+    @Test
+    public void testIntArrayDeque_againstArrayDeque() {
+        Random random = new Random(1);
+        IntArrayDeque deque = new IntArrayDeque(1);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 100000; i++) {
+            int op = random.nextInt(5);
+            if (op == 0) {
+                deque.addFirst(i);
+                expected.addFirst(i);
+            } else if (op == 1 || op == 2) {
+                deque.addLast(i);
+                expected.addLast(i);
+            } else if (!expected.isEmpty()) {
+                int actual = op == 3 ? deque.removeFirst() : deque.removeLast();
+                Assert.assertEquals((int) (op == 3 ? expected.removeFirst() : expected.removeLast()), actual);
+            }
+            Assert.assertEquals(expected.size(), deque.size());
+        }
+        int[] values = new int[expected.size()];
+        int i = 0;
+        for (int value : expected) {
+            values[i++] = value;
+        }
+        Assert.assertArrayEquals(values, deque.toArray());
+        Assert.assertEquals(values[0], deque.get(0));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIntArrayDeque_empty() {
+        new IntArrayDeque().removeFirst();
+    }
+
+    @Test
+    public void testIntIntHashMap_againstHashMap() {
+        Random random = new Random(2);
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            // small key range so removes hit and probe chains get long.
+            int key = random.nextInt(2000) - 1000;
+            int op = random.nextInt(4);
+            if (op == 0) {
+                map.put(key, i);
+                expected.put(key, i);
+            } else if (op == 1) {
+                Integer old = expected.get(key);
+                expected.put(key, (old == null ? 0 : old) + 3);
+                Assert.assertEquals((int) expected.get(key), map.addTo(key, 3));
+            } else if (op == 2) {
+                Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+                Assert.assertEquals(expected.containsKey(key) ? (int) expected.get(key) : -1, map.getOrDefault(key, -1));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        final Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(new IntIntHashMap.EntryConsumer() {
+            @Override
+            public void accept(int key, int value) {
+                actual.put(key, value);
+            }
+        });
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.size(), map.keys().length);
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    public void testLongHashSet_againstHashSet() {
+        Random random = new Random(3);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200000; i++) {
+            long key = IntPair.of(random.nextInt(40) - 20, random.nextInt(40) - 20);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                Assert.assertEquals(expected.add(key), set.add(key));
+            }
+            Assert.assertEquals(expected.size(), set.size());
+            Assert.assertEquals(expected.contains(key ^ 1), set.contains(key ^ 1));
+        }
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        Long[] sorted = expected.toArray(new Long[0]);
+        Arrays.sort(sorted);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals((long) sorted[i], values[i]);
+        }
+    }
+
+    @Test
+    public void testIntHeap_againstPriorityQueue() {
+        Random random = new Random(4);
+        IntHeap min = new IntHeap();
+        IntHeap max = IntHeap.maxHeap();
+        final int[] dist = new int[1000];
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = random.nextInt(100);
+        }
+        IntHeap byDist = new IntHeap(new IntComparator() {
+            @Override
+            public int compare(int a, int b) {
+                return Integer.compare(dist[a], dist[b]);
+            }
+        });
+        PriorityQueue<Integer> expectedMin = new PriorityQueue<>();
+        PriorityQueue<Integer> expectedMax = new PriorityQueue<>(Collections.<Integer>reverseOrder());
+        PriorityQueue<Integer> expectedByDist = new PriorityQueue<>(new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Integer.compare(dist[a], dist[b]);
+            }
+        });
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                min.add(value);
+                max.add(value);
+                byDist.add(value);
+                expectedMin.add(value);
+                expectedMax.add(value);
+                expectedByDist.add(value);
+            } else if (!expectedMin.isEmpty()) {
+                Assert.assertEquals((int) expectedMin.poll(), min.poll());
+                Assert.assertEquals((int) expectedMax.poll(), max.poll());
+                Assert.assertEquals(dist[expectedByDist.poll()], dist[byDist.poll()]);
+            }
+            Assert.assertEquals(expectedMin.size(), min.size());
+        }
+    }
+
+    @Test
+    public void testIntPair() {
+        long pair = IntPair.of(-1, Integer.MIN_VALUE);
+        Assert.assertEquals(-1, IntPair.first(pair));
+        Assert.assertEquals(Integer.MIN_VALUE, IntPair.second(pair));
+        Assert.assertTrue(IntPair.compare(IntPair.of(1, -1), IntPair.of(1, 0)) < 0);
+        Assert.assertTrue(IntPair.compare(IntPair.of(-1, 5), IntPair.of(0, 0)) < 0);
+        Assert.assertEquals("(-1, -2147483648)", IntPair.toString(pair));
+    }
+}
@@ -0,0 +1,168 @@
+package oj.scaffold.generator;
+
+import oj.scaffold.ListNode;
+import oj.scaffold.ListNodeUtils;
+import oj.scaffold.OjUtils;
+import oj.scaffold.TreeNode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class GeneratorsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testTree_writeMatchesBuild() throws IOException {
+        for (TreeGenerator.Shape shape : TreeGenerator.Shape.values()) {
+            for (int size = 0; size < 50; size++) {
+                TreeGenerator generator = new TreeGenerator(size * 31L).values(-5, 5);
+                StringBuilder text = new StringBuilder();
+                generator.write(size, shape, text);
+                TreeNode root = generator.build(size, shape);
+                Assert.assertEquals(text.toString(), OjUtils.treeToString(root));
+                Assert.assertEquals(text.toString(), OjUtils.treeToString(OjUtils.newTreeFromString(text.toString())));
+                Assert.assertEquals(size, count(root));
+            }
+        }
+    }
+
+    @Test
+    public void testTree_shapes() throws IOException {
+        StringBuilder text = new StringBuilder();
+        new TreeGenerator(1).values(7, 7).write(3, TreeGenerator.Shape.LEFT_SKEWED, text);
+        Assert.assertEquals("[7,7,null,7]", text.toString());
+        text.setLength(0);
+        new TreeGenerator(1).values(7, 7).write(3, TreeGenerator.Shape.RIGHT_SKEWED, text);
+        Assert.assertEquals("[7,null,7,null,7]", text.toString());
+        text.setLength(0);
+        new TreeGenerator(1).values(7, 7).write(3, TreeGenerator.Shape.COMPLETE, text);
+        Assert.assertEquals("[7,7,7]", text.toString());
+    }
+
+    @Test
+    public void testTree_largeToFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        new TreeGenerator(42).write(200000, TreeGenerator.Shape.RANDOM, file);
+        TreeNode root = OjUtils.newTreeFromString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Assert.assertEquals(200000, count(root));
+    }
+
+    @Test
+    public void testList() throws IOException {
+        ListGenerator generator = new ListGenerator(7).values(-100, 100);
+        StringBuilder text = new StringBuilder();
+        generator.write(1000, text);
+        ListNode head = generator.build(1000, 500);
+        Assert.assertEquals(500, ListNodeUtils.detectCycle(head).entryIndex);
+        Assert.assertEquals(text.toString(), Arrays.toString(ListNodeUtils.toArray(head)).replace(" ", ""));
+        Assert.assertNull(generator.build(0, -1));
+
+        int[] sorted = ListNodeUtils.toArray(new ListGenerator(3).sorted(true).values(0, 1000).build(500, -1));
+        for (int i = 1; i < sorted.length; i++) {
+            Assert.assertTrue(sorted[i - 1] <= sorted[i]);
+            Assert.assertTrue(sorted[i] <= 1000);
+        }
+    }
+
+    @Test
+    public void testMatrix() throws IOException {
+        MatrixGenerator generator = new MatrixGenerator(5).values(1, 1).density(0.25);
+        Path file = folder.newFile().toPath();
+        generator.write(300, 400, file);
+        int[][] matrix = generator.build(300, 400);
+        Assert.assertArrayEquals(matrix, OjUtils.toIntMatrix(file));
+        int ones = 0;
+        for (int[] row : matrix) {
+            for (int value : row) {
+                ones += value;
+            }
+        }
+        Assert.assertEquals(0.25, ones / (300.0 * 400), 0.01);
+
+        StringBuilder text = new StringBuilder();
+        new MatrixGenerator(5).write(0, 3, text);
+        Assert.assertEquals("[]", text.toString());
+        text.setLength(0);
+        new MatrixGenerator(5).values(Integer.MIN_VALUE, Integer.MIN_VALUE).write(1, 2, text);
+        Assert.assertEquals("[[-2147483648,-2147483648]]", text.toString());
+    }
+
+    @Test
+    public void testGraph_connectedAndSimple() throws IOException {
+        GraphGenerator generator = new GraphGenerator(11).weights(1, 9);
+        int nodes = 200;
+        int[][] edges = generator.build(nodes, 1000);
+        StringBuilder text = new StringBuilder();
+        generator.write(nodes, 1000, text);
+        Assert.assertArrayEquals(edges, OjUtils.toIntMatrix(text.toString()));
+
+        int[] parent = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            parent[i] = i;
+        }
+        Set<Long> seen = new HashSet<>();
+        int components = nodes;
+        for (int[] edge : edges) {
+            Assert.assertEquals(3, edge.length);
+            Assert.assertNotEquals(edge[0], edge[1]);
+            Assert.assertTrue(edge[2] >= 1 && edge[2] <= 9);
+            Assert.assertTrue(seen.add((long) Math.min(edge[0], edge[1]) * nodes + Math.max(edge[0], edge[1])));
+            int a = find(parent, edge[0]);
+            int b = find(parent, edge[1]);
+            if (a != b) {
+                parent[a] = b;
+                components--;
+            }
+        }
+        Assert.assertEquals(1, components);
+        Assert.assertEquals(6, new GraphGenerator(1).build(4, 6).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraph_tooManyEdges() {
+        new GraphGenerator(1).build(4, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraph_tooFewEdges() {
+        new GraphGenerator(1).build(4, 2);
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            node = parent[node] = parent[parent[node]];
+        }
+        return node;
+    }
+
+    private static int count(TreeNode root) {
+        if (root == null) {
+            return 0;
+        }
+        int count = 0;
+        ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            TreeNode node = queue.poll();
+            count++;
+            if (node.left != null) {
+                queue.add(node.left);
+            }
+            if (node.right != null) {
+                queue.add(node.right);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,131 @@
+package oj.scaffold.io;
+
+import oj.scaffold.IntListList;
+import oj.scaffold.OjUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class FastIoTest {
+
+    @Test
+    public void testReader_tokens() {
+        FastReader reader = FastReader.of("  3 -2147483648\r\n9223372036854775807\tabc\n-0.5 1e3 +7 ");
+        Assert.assertEquals(3, reader.nextInt());
+        Assert.assertEquals(Integer.MIN_VALUE, reader.nextInt());
+        Assert.assertEquals(Long.MAX_VALUE, reader.nextLong());
+        Assert.assertEquals("abc", reader.next());
+        Assert.assertEquals(-0.5, reader.nextDouble(), 0);
+        Assert.assertEquals(1000, reader.nextDouble(), 0);
+        Assert.assertEquals(7, reader.nextInt());
+        Assert.assertFalse(reader.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testReader_end() {
+        FastReader.of(" 1 ").nextIntArray(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReader_intOverflow() {
+        FastReader.of("2147483648").nextInt();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReader_badNumber() {
+        FastReader.of("12a").nextInt();
+    }
+
+    @Test
+    public void testReader_doublesMatchParseDouble() {
+        Random random = new Random(5);
+        StringBuilder text = new StringBuilder();
+        String[] values = new String[2000];
+        for (int i = 0; i < values.length; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+            values[i] = i % 3 == 0 ? String.format("%.6f", value) : Double.toString(value);
+            text.append(values[i]).append(i % 7 == 0 ? '\n' : ' ');
+        }
+        text.append("0.1 123456789012345678901234567890 0.000000000000000000000000001");
+        FastReader reader = FastReader.of(text.toString());
+        for (String value : values) {
+            Assert.assertEquals(value, Double.parseDouble(value), reader.nextDouble(), 0);
+        }
+        Assert.assertEquals(0.1, reader.nextDouble(), 0);
+        Assert.assertEquals(123456789012345678901234567890.0, reader.nextDouble(), 0);
+        Assert.assertEquals(1e-27, reader.nextDouble(), 0);
+    }
+
+    @Test
+    public void testReader_doublesBeyondNineteenDigits() {
+        String[] values = {"9007199254740993", "1.00000000000000011102230246251565404236316680908203125",
+                "1.00000000000000011102230246251565404236316680908203126", "2.2250738585072011e-308",
+                "-0.0", "4.9e-324", "1.7976931348623157e308", "-1e400", "0.00000000000000000000012345678901234567890123"};
+        StringBuilder text = new StringBuilder();
+        for (String value : values) {
+            text.append(value).append(' ');
+        }
+        FastReader reader = FastReader.of(text.toString());
+        for (String value : values) {
+            Assert.assertEquals(value, Double.parseDouble(value), reader.nextDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testReader_sameShapesAsLiterals() {
+        FastReader reader = FastReader.of("2 3\n1 2 3\n4 5 6\n#.\n.#\n3\n2 1 2\n0\n1 7\n");
+        int rows = reader.nextInt();
+        int columns = reader.nextInt();
+        Assert.assertArrayEquals(OjUtils.toIntMatrix("[[1,2,3],[4,5,6]]"), reader.nextIntMatrix(rows, columns));
+        Assert.assertArrayEquals(OjUtils.toCharMatrix("[[\"#\",\".\"],[\".\",\"#\"]]"), reader.nextCharMatrix(2));
+        IntListList lists = reader.nextIntListList(reader.nextInt());
+        Assert.assertEquals(OjUtils.toIntListList("[[1,2],[],[7]]"), lists);
+    }
+
+    @Test
+    public void testReader_acrossBuffers() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            text.append(i - 50000).append(' ');
+        }
+        FastReader reader = new FastReader(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+        int[] flat = reader.nextFlatIntMatrix(1000, 100).data();
+        for (int i = 0; i < flat.length; i++) {
+            Assert.assertEquals(i - 50000, flat[i]);
+        }
+    }
+
+    @Test
+    public void testWriter() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FastWriter writer = new FastWriter(bytes);
+        writer.print(Integer.MIN_VALUE).print(' ').print(Long.MIN_VALUE).println()
+                .println(new int[][]{{1, 2}, {3}})
+                .println(new char[][]{{'#', '.'}})
+                .print(3.14159, 2).print(' ').print(-0.0001, 2).print(' ').print(2.5, 0).print(' ').print(1.5)
+                .println("\u00e9");
+        writer.flush();
+        Assert.assertEquals("-2147483648 -9223372036854775808\n1 2\n3\n#.\n3.14 0.00 3 1.5\u00e9\n",
+                new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriter_roundTripLarge() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FastWriter writer = new FastWriter(bytes);
+        long[] values = new long[200000];
+        Random random = new Random(6);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        writer.println(values);
+        writer.close();
+        FastReader reader = new FastReader(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertArrayEquals(values, reader.nextLongArray(values.length));
+    }
+}